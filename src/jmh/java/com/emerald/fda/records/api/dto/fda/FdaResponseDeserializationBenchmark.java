@@ -0,0 +1,46 @@
+package com.emerald.fda.records.api.dto.fda;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Deserialization of OpenFDA search responses, from a single page of results up to the 1000 results of
+ * one fan-out page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FdaResponseDeserializationBenchmark {
+    @Param({"10", "1000"})
+    private int results;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        payload = objectMapper.writeValueAsBytes(FdaResponses.response(results));
+    }
+
+    @Benchmark
+    public FdaResponseDto deserialize() throws IOException {
+        return objectMapper.readValue(payload, FdaResponseDto.class);
+    }
+}
@@ -0,0 +1,64 @@
+package com.emerald.fda.records.api.dto.fda;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Builds OpenFDA search responses shaped like those of the drugsfda endpoint: every result has a few
+ * submissions, products with their active ingredients and the harmonized {@code openfda} fields.
+ */
+public final class FdaResponses {
+    private FdaResponses() {
+    }
+
+    /**
+     * Builds a response with the given number of results.
+     *
+     * @param resultCount the number of results
+     * @return the response
+     */
+    public static FdaResponseDto response(int resultCount) {
+        var meta = new MetaDto(
+                "Do not rely on openFDA to make decisions regarding medical care.",
+                "https://open.fda.gov/terms/",
+                "https://open.fda.gov/license/",
+                "2025-03-04",
+                new ResultsMetaDto(0, resultCount, 25000));
+
+        return new FdaResponseDto(meta, IntStream.range(0, resultCount).mapToObj(FdaResponses::result).toList());
+    }
+
+    private static DrugApplicationResultDto result(int index) {
+        String applicationNumber = "ANDA%06d".formatted(index);
+        String splId = "%08x-1a2b-4c3d-8e9f-%012x".formatted(index, index * 7919L);
+
+        var submissions = IntStream.rangeClosed(1, 4)
+                .mapToObj(number -> new SubmissionDto("SUPPL", String.valueOf(number), "AP",
+                        "20%02d%02d15".formatted(10 + number, number), "LABELING", "Labeling"))
+                .toList();
+
+        var products = IntStream.rangeClosed(1, 3)
+                .mapToObj(number -> new ProductDto("%03d".formatted(number), "No", "IBUPROFEN AND FAMOTIDINE",
+                        List.of(new ActiveIngredientDto("IBUPROFEN", "800MG"),
+                                new ActiveIngredientDto("FAMOTIDINE", "26.6MG")),
+                        "No", "TABLET, FILM COATED", "ORAL", "Prescription"))
+                .toList();
+
+        var openFda = new OpenFdaDto(
+                List.of(applicationNumber),
+                List.of("IBUPROFEN AND FAMOTIDINE"),
+                List.of("IBUPROFEN AND FAMOTIDINE"),
+                List.of("Par Pharmaceutical, Inc."),
+                List.of("49884-%03d".formatted(index % 1000)),
+                List.of("HUMAN PRESCRIPTION DRUG"),
+                List.of("ORAL"),
+                List.of("FAMOTIDINE", "IBUPROFEN"),
+                List.of("1112390", "1112392"),
+                List.of(splId),
+                List.of("%08x-5e6f-4a7b-9c8d-%012x".formatted(index, index * 104729L)),
+                List.of("49884-%03d-11".formatted(index % 1000), "49884-%03d-02".formatted(index % 1000)),
+                List.of("5QZO15J2Z8", "WK2XYI10QM"));
+
+        return new DrugApplicationResultDto(submissions, applicationNumber, "PAR PHARM INC", openFda, products);
+    }
+}
@@ -0,0 +1,65 @@
+package com.emerald.fda.records.api.dto.response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Serialization of a page of stored drug application records, as returned by the list endpoint.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageResponseSerializationBenchmark {
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private PageResponseDto<DrugApplicationRecordDto> page;
+
+    @Setup
+    public void setUp() {
+        List<DrugApplicationRecordDto> content = IntStream.range(0, pageSize)
+                .mapToObj(index -> new DrugApplicationRecordDto(
+                        "ANDA%06d".formatted(index),
+                        "Par Pharmaceutical, Inc.",
+                        "IBUPROFEN AND FAMOTIDINE",
+                        productNumbers(index)))
+                .toList();
+
+        page = new PageResponseDto<>(content, 0, pageSize, 25000, 25000 / pageSize);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    private static Set<String> productNumbers(int index) {
+        var productNumbers = new TreeSet<String>();
+        for (int number = 1; number <= 1 + index % 5; number++) {
+            productNumbers.add("%03d".formatted(number));
+        }
+        return productNumbers;
+    }
+}
@@ -0,0 +1,107 @@
+package com.emerald.fda.records.api.service;
+
+import com.emerald.fda.records.api.FdaRecordsApiApplication;
+import com.emerald.fda.records.api.dto.request.StoreDrugApplicationRecordDto;
+import com.emerald.fda.records.api.dto.response.BatchStoreResponseDto;
+import com.emerald.fda.records.api.entity.DrugApplicationRecord;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Storing drug application records in the embedded H2 database, one at a time and in batches. Results are
+ * per record, so the batched and single saves compare directly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DrugApplicationRecordSaveBenchmark {
+    private static final int EXISTING_RECORDS = 1000;
+    private static final int BATCH_SIZE = 100;
+    private static final Set<String> PRODUCT_NUMBERS = Set.of("001", "002", "003");
+
+    private ConfigurableApplicationContext context;
+
+    private DrugApplicationRecordsService recordsService;
+
+    private DrugApplicationRecordsBatchService batchService;
+
+    private long nextApplicationNumber = EXISTING_RECORDS;
+
+    private int nextExistingRecord;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(FdaRecordsApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.main.banner-mode=off",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+        recordsService = context.getBean(DrugApplicationRecordsService.class);
+        batchService = context.getBean(DrugApplicationRecordsBatchService.class);
+
+        batchService.saveDrugApplicationRecords(IntStream.range(0, EXISTING_RECORDS)
+                .mapToObj(DrugApplicationRecordSaveBenchmark::record)
+                .toList());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public DrugApplicationRecord saveNew() {
+        var record = record(nextApplicationNumber++);
+        return recordsService.saveDrugApplicationRecord(
+                record.applicationNumber(), record.manufacturerName(), record.substanceName(), record.productNumbers());
+    }
+
+    /**
+     * Updates an existing record, changing its substance name on every pass over the existing records so that
+     * each save writes a change rather than finding the record unchanged.
+     */
+    @Benchmark
+    public DrugApplicationRecord saveExisting() {
+        int pass = nextExistingRecord / EXISTING_RECORDS + 1;
+        var record = record(nextExistingRecord++ % EXISTING_RECORDS);
+        return recordsService.saveDrugApplicationRecord(
+                record.applicationNumber(), record.manufacturerName(), record.substanceName() + " " + pass,
+                record.productNumbers());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public BatchStoreResponseDto saveNewBatch() {
+        List<StoreDrugApplicationRecordDto> records = IntStream.range(0, BATCH_SIZE)
+                .mapToObj(index -> record(nextApplicationNumber++))
+                .toList();
+        return batchService.saveDrugApplicationRecords(records);
+    }
+
+    private static StoreDrugApplicationRecordDto record(long index) {
+        return new StoreDrugApplicationRecordDto(
+                "ANDA%06d".formatted(index), "Par Pharmaceutical, Inc.", "IBUPROFEN AND FAMOTIDINE", PRODUCT_NUMBERS);
+    }
+}
@@ -0,0 +1,65 @@
+package com.emerald.fda.records.api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.util.UriTemplateHandler;
+
+/**
+ * Building the OpenFDA search query and URI of a search: the URI string that the blocking client's
+ * {@code RestTemplate} expands and encodes once more, and the encoded URI of the non-blocking client.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FdaSearchUriBenchmark {
+    private static final String MANUFACTURER_NAME = "  Par Pharmaceutical,   Inc. ";
+
+    /**
+     * The brand name of the search, none when empty.
+     */
+    @Param({"", "Ibuprofen and Famotidine"})
+    private String brandName;
+
+    private FdaClientService fdaClientService;
+
+    // the default URI template handler of RestTemplate
+    private final UriTemplateHandler uriTemplateHandler = new DefaultUriBuilderFactory();
+
+    @Setup
+    public void setUp() {
+        // only the search building is benchmarked, so the client runs without its HTTP and resilience parts
+        fdaClientService = new FdaClientService(null, null, null, "https://api.fda.gov/drug/drugsfda.json",
+                false, 0, Duration.ZERO, Duration.ZERO, Duration.ofSeconds(5), null, null, null, null, null, null,
+                null, null, 0, null, new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public URI blockingSearchUri() {
+        var key = fdaClientService.buildSearchKey(MANUFACTURER_NAME, brandName, 0, 100);
+        return uriTemplateHandler.expand(fdaClientService.buildSearchUri(key).toUriString(), Map.of());
+    }
+
+    @Benchmark
+    public URI nonBlockingSearchUri() {
+        var key = fdaClientService.buildSearchKey(MANUFACTURER_NAME, brandName, 0, 100);
+        return fdaClientService.buildSearchUri(key).encode().toUri();
+    }
+}
@@ -0,0 +1,43 @@
+package com.emerald.fda.records.api.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * The endpoints the load generator sends requests to.
+ */
+enum Endpoint {
+    /**
+     * {@code GET /search}, answered from the search cache or the OpenFDA stub.
+     */
+    SEARCH("search"),
+    /**
+     * {@code POST}, storing one of the records.
+     */
+    STORE("store"),
+    /**
+     * {@code GET} of a page of stored records.
+     */
+    LIST("list"),
+    /**
+     * {@code GET /{applicationNumber}} of one of the stored records.
+     */
+    GET("get");
+
+    private final String name;
+
+    Endpoint(String name) {
+        this.name = name;
+    }
+
+    String displayName() {
+        return name;
+    }
+
+    static Endpoint fromName(String name) {
+        return Arrays.stream(values())
+                .filter(endpoint -> endpoint.name.equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown endpoint " + name
+                        + ", expected one of " + Arrays.stream(values()).map(Endpoint::displayName).toList()));
+    }
+}
@@ -0,0 +1,42 @@
+package com.emerald.fda.records.api.loadtest;
+
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+
+/**
+ * A log-normal latency distribution with the given median and 99th percentile, which like the latencies
+ * of a real API has most calls close to the median and a long tail of slow ones.
+ *
+ * @param median the median latency
+ * @param p99    the 99th percentile latency, no less than the median
+ */
+record LatencyDistribution(Duration median, Duration p99) {
+    // the 99th percentile of the standard normal distribution
+    private static final double Z_99 = 2.3263;
+
+    LatencyDistribution {
+        if (p99.compareTo(median) < 0) {
+            throw new IllegalArgumentException("The p99 latency " + p99 + " is below the median " + median);
+        }
+    }
+
+    /**
+     * Draws a latency.
+     *
+     * @param random the random generator
+     * @return the latency in nanoseconds
+     */
+    long sampleNanos(RandomGenerator random) {
+        if (median.isZero()) {
+            return 0;
+        }
+
+        double sigma = Math.log((double) p99.toNanos() / median.toNanos()) / Z_99;
+        return (long) (median.toNanos() * Math.exp(sigma * random.nextGaussian()));
+    }
+
+    @Override
+    public String toString() {
+        return "median " + median.toMillis() + " ms, p99 " + p99.toMillis() + " ms";
+    }
+}
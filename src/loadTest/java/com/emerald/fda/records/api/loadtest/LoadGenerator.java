@@ -0,0 +1,202 @@
+package com.emerald.fda.records.api.loadtest;
+
+import com.emerald.fda.records.api.dto.request.StoreDrugApplicationRecordDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Sends a mix of requests to the application at a fixed rate. Requests are sent on schedule whether or not
+ * the earlier ones were answered, and their latency is measured from the time they were due, so a server
+ * that stalls shows in the latencies instead of slowing the load down.
+ */
+final class LoadGenerator implements AutoCloseable {
+    private static final long HIGHEST_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final int PAGE_SIZE = 20;
+
+    private final LoadTestOptions options;
+    private final String baseUrl;
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient client;
+    private final Endpoint[] weightedEndpoints;
+
+    LoadGenerator(LoadTestOptions options, String baseUrl) {
+        this.options = options;
+        this.baseUrl = baseUrl;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(executor)
+                .build();
+        this.weightedEndpoints = options.mix().entrySet().stream()
+                .flatMap(weight -> IntStream.range(0, weight.getValue()).mapToObj(i -> weight.getKey()))
+                .toArray(Endpoint[]::new);
+
+        if (weightedEndpoints.length == 0) {
+            throw new IllegalArgumentException("The traffic mix has no endpoint with a positive weight");
+        }
+    }
+
+    /**
+     * Stores the records that get-by-id requests look up, in one batch.
+     */
+    void seed() throws Exception {
+        var records = IntStream.range(0, options.records()).mapToObj(LoadGenerator::record).toList();
+        var request = HttpRequest.newBuilder(URI.create(baseUrl + "/batch"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(records)))
+                .build();
+
+        var response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Seeding " + records.size() + " records failed with " + response.statusCode());
+        }
+    }
+
+    /**
+     * Sends the traffic mix at a rate rising from a tenth of the configured rate to the full rate, so that
+     * the application warms up without a burst of slow first requests tripping its circuit breaker.
+     *
+     * @param duration how long requests are sent
+     */
+    void warmUp(Duration duration) {
+        send(duration, true);
+    }
+
+    /**
+     * Sends the traffic mix at the configured rate for the given time and waits for the last answers.
+     *
+     * @param duration how long requests are sent
+     * @return the statistics of every endpoint
+     */
+    Map<Endpoint, EndpointStats> run(Duration duration) {
+        return send(duration, false);
+    }
+
+    private Map<Endpoint, EndpointStats> send(Duration duration, boolean rampUp) {
+        var stats = new EnumMap<Endpoint, EndpointStats>(Endpoint.class);
+        options.mix().keySet().forEach(endpoint -> stats.put(endpoint, new EndpointStats()));
+
+        Set<CompletableFuture<?>> inFlight = ConcurrentHashMap.newKeySet();
+        var random = ThreadLocalRandom.current();
+        long durationNanos = duration.toNanos();
+        long startNanos = System.nanoTime();
+
+        for (long elapsedNanos = 0; elapsedNanos < durationNanos; ) {
+            long dueNanos = startNanos + elapsedNanos;
+            long waitNanos = dueNanos - System.nanoTime();
+            if (waitNanos > 0) {
+                LockSupport.parkNanos(waitNanos);
+            }
+
+            var endpoint = weightedEndpoints[random.nextInt(weightedEndpoints.length)];
+            var endpointStats = stats.get(endpoint);
+
+            CompletableFuture<?> sent = client.sendAsync(request(endpoint, random), HttpResponse.BodyHandlers.discarding())
+                    .handle((response, failure) -> {
+                        endpointStats.record(failure != null ? 0 : response.statusCode(), System.nanoTime() - dueNanos);
+                        return null;
+                    });
+            inFlight.add(sent);
+            sent.whenComplete((ignored, failure) -> inFlight.remove(sent));
+
+            double rate = rampUp ? options.rate() * (0.1 + 0.9 * elapsedNanos / durationNanos) : options.rate();
+            elapsedNanos += (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        }
+
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).join();
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        client.close();
+        executor.shutdownNow();
+    }
+
+    private HttpRequest request(Endpoint endpoint, RandomGenerator random) {
+        return switch (endpoint) {
+            case SEARCH -> get("/search?manufacturerName="
+                    + URLEncoder.encode("Manufacturer " + random.nextInt(options.searches()), StandardCharsets.UTF_8)
+                    + "&skip=0&limit=10");
+            case STORE -> {
+                try {
+                    yield newRequest("")
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofByteArray(
+                                    objectMapper.writeValueAsBytes(record(random.nextInt(options.records())))))
+                            .build();
+                } catch (JsonProcessingException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            }
+            case LIST -> get("?page=" + random.nextInt(Math.max(1, options.records() / PAGE_SIZE)) + "&size=" + PAGE_SIZE);
+            case GET -> get("/" + applicationNumber(random.nextInt(options.records())));
+        };
+    }
+
+    private HttpRequest get(String path) {
+        return newRequest(path).GET().build();
+    }
+
+    private HttpRequest.Builder newRequest(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(options.requestTimeout());
+    }
+
+    private static StoreDrugApplicationRecordDto record(int index) {
+        return new StoreDrugApplicationRecordDto(applicationNumber(index), "Manufacturer " + index % 100,
+                "SUBSTANCE " + index % 250, Set.copyOf(List.of("001", "%03d".formatted(2 + index % 5))));
+    }
+
+    private static String applicationNumber(int index) {
+        return "LOAD%06d".formatted(index);
+    }
+
+    /**
+     * The latencies and response statuses of one endpoint. Requests that got no response, for instance
+     * because they timed out, count with status 0.
+     */
+    static final class EndpointStats {
+        private final Histogram latencies = new ConcurrentHistogram(HIGHEST_LATENCY_MICROS, 3);
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        void record(int status, long latencyNanos) {
+            latencies.recordValue(Math.min(HIGHEST_LATENCY_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+            statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+        }
+
+        Histogram latencies() {
+            return latencies;
+        }
+
+        Map<Integer, Long> statuses() {
+            var counts = new TreeMap<Integer, Long>();
+            statuses.forEach((status, count) -> counts.put(status, count.sum()));
+            return counts;
+        }
+    }
+}
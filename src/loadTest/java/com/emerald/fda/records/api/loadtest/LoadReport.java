@@ -0,0 +1,59 @@
+package com.emerald.fda.records.api.loadtest;
+
+import com.emerald.fda.records.api.loadtest.LoadGenerator.EndpointStats;
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Prints the throughput, error rate and latency percentiles of every endpoint after a load test run.
+ */
+final class LoadReport {
+    private LoadReport() {
+    }
+
+    /**
+     * Prints the report.
+     *
+     * @param out        the stream to print to
+     * @param options    the options of the run
+     * @param stats      the statistics of every endpoint
+     * @param stubCalls  the OpenFDA calls the stub answered during the run
+     * @param stubErrors the OpenFDA calls the stub failed during the run
+     */
+    static void print(PrintStream out, LoadTestOptions options, Map<Endpoint, EndpointStats> stats,
+                      long stubCalls, long stubErrors) {
+        double seconds = options.duration().toNanos() / 1e9;
+
+        out.printf("%nLoad test: %.0f s at %d requests/s; OpenFDA stub latency %s, error rate %.1f%% (status %d)%n",
+                seconds, options.rate(), options.stubLatency(), options.stubErrorRate() * 100, options.stubErrorStatus());
+        out.printf("OpenFDA stub: %d calls (%.1f/s), %d failed%n%n", stubCalls, stubCalls / seconds, stubErrors);
+        out.printf("%-8s %9s %10s %8s %10s %10s %10s %10s  %s%n",
+                "endpoint", "requests", "req/s", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "statuses");
+
+        stats.forEach((endpoint, endpointStats) -> {
+            var latencies = endpointStats.latencies();
+            var statuses = endpointStats.statuses();
+            long requests = latencies.getTotalCount();
+            long errors = statuses.entrySet().stream()
+                    .filter(status -> status.getKey() < 200 || status.getKey() >= 400)
+                    .mapToLong(Map.Entry::getValue)
+                    .sum();
+
+            out.printf("%-8s %9d %10.1f %7.1f%% %10.1f %10.1f %10.1f %10.1f  %s%n",
+                    endpoint.displayName(), requests, requests / seconds,
+                    requests > 0 ? errors * 100.0 / requests : 0,
+                    millis(latencies.getValueAtPercentile(50)),
+                    millis(latencies.getValueAtPercentile(99)),
+                    millis(latencies.getValueAtPercentile(99.9)),
+                    millis(latencies.getMaxValue()),
+                    statuses.entrySet().stream()
+                            .map(status -> (status.getKey() == 0 ? "no response" : status.getKey()) + "=" + status.getValue())
+                            .collect(Collectors.joining(", ")));
+        });
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
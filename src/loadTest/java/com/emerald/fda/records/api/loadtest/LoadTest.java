@@ -0,0 +1,77 @@
+package com.emerald.fda.records.api.loadtest;
+
+import com.emerald.fda.records.api.FdaRecordsApiApplication;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Load test of the application against an embedded stand-in for the OpenFDA API. Starts the stub and the
+ * application, stores the records the traffic reads, runs the traffic mix for the warmup and then for the
+ * measured duration, and prints the report of the measured part. Run with {@code ./gradlew loadTest}, see
+ * {@link LoadTestOptions} for the options.
+ */
+public final class LoadTest {
+    private static final List<String> DEFAULT_APPLICATION_ARGS = List.of(
+            "--server.port=0",
+            // the stub has no quota to pace the calls to
+            "--openfda.api.rate-limit.enabled=false",
+            "--spring.jpa.show-sql=false",
+            "--spring.main.banner-mode=off",
+            "--logging.level.root=ERROR");
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        var options = LoadTestOptions.parse(args);
+
+        try (var stub = new OpenFdaStub(options);
+             var context = startApplication(options, stub);
+             var generator = new LoadGenerator(options, baseUrl(context))) {
+
+            System.out.printf("Serving %d recorded OpenFDA responses; storing %d records%n",
+                    stub.recordingCount(), options.records());
+            generator.seed();
+
+            if (!options.warmup().isZero()) {
+                System.out.printf("Warming up for %d s%n", options.warmup().toSeconds());
+                generator.warmUp(options.warmup());
+            }
+
+            System.out.printf("Measuring for %d s%n", options.duration().toSeconds());
+            long stubCalls = stub.calls();
+            long stubErrors = stub.errors();
+            var stats = generator.run(options.duration());
+
+            LoadReport.print(System.out, options, stats, stub.calls() - stubCalls, stub.errors() - stubErrors);
+        }
+    }
+
+    /**
+     * Starts the application against the stub. Application arguments replace the defaults for the same
+     * property, since Spring would join repeated command line properties into a list.
+     */
+    private static ConfigurableApplicationContext startApplication(LoadTestOptions options, OpenFdaStub stub) {
+        var args = new ArrayList<String>();
+
+        for (String defaultArg : DEFAULT_APPLICATION_ARGS) {
+            String property = defaultArg.substring(0, defaultArg.indexOf('=') + 1);
+            if (options.applicationArgs().stream().noneMatch(arg -> arg.startsWith(property))) {
+                args.add(defaultArg);
+            }
+        }
+        options.applicationArgs().stream()
+                .filter(arg -> !arg.startsWith("--fda.api.base-url="))
+                .forEach(args::add);
+        args.add("--fda.api.base-url=" + stub.baseUrl());
+
+        return new SpringApplicationBuilder(FdaRecordsApiApplication.class).run(args.toArray(String[]::new));
+    }
+
+    private static String baseUrl(ConfigurableApplicationContext context) {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                + "/v1/drug-application-records";
+    }
+}
@@ -0,0 +1,102 @@
+package com.emerald.fda.records.api.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Options of a load test run, given as {@code --load.<name>=<value>} for the load generator and
+ * {@code --stub.<name>=<value>} for the OpenFDA stub. All other arguments are passed to the application.
+ *
+ * @param duration        how long the load is measured
+ * @param warmup          how long the load runs before it is measured
+ * @param rate            requests sent per second, on schedule whether or not earlier requests were answered
+ * @param mix             the relative weight of every endpoint in the traffic
+ * @param records         the number of stored records that get-by-id and store requests pick from
+ * @param searches        the number of distinct searches, which decides how many searches the cache answers
+ * @param requestTimeout  the time after which a request counts as failed
+ * @param stubLatency     the latency of the OpenFDA stub
+ * @param stubErrorRate   the share of OpenFDA calls answered with {@code stubErrorStatus}
+ * @param stubErrorStatus the status of failed OpenFDA calls
+ * @param stubRecordings  a directory of recorded OpenFDA responses to serve instead of the bundled ones
+ * @param applicationArgs the arguments passed to the application
+ */
+record LoadTestOptions(
+        Duration duration,
+        Duration warmup,
+        int rate,
+        Map<Endpoint, Integer> mix,
+        int records,
+        int searches,
+        Duration requestTimeout,
+        LatencyDistribution stubLatency,
+        double stubErrorRate,
+        int stubErrorStatus,
+        Path stubRecordings,
+        List<String> applicationArgs
+) {
+    /**
+     * Parses the command line arguments.
+     *
+     * @param args the arguments
+     * @return the options
+     * @throws IllegalArgumentException if an option is unknown or invalid
+     */
+    static LoadTestOptions parse(String... args) {
+        var options = new HashMap<String, String>();
+        var applicationArgs = new ArrayList<String>();
+
+        for (String arg : args) {
+            if (arg.startsWith("--load.") || arg.startsWith("--stub.")) {
+                int separator = arg.indexOf('=');
+                if (separator < 0) {
+                    throw new IllegalArgumentException("Expected --name=value but got " + arg);
+                }
+                options.put(arg.substring(2, separator), arg.substring(separator + 1));
+            } else {
+                applicationArgs.add(arg);
+            }
+        }
+
+        var parsed = new LoadTestOptions(
+                Duration.parse(options.getOrDefault("load.duration", "PT60S")),
+                Duration.parse(options.getOrDefault("load.warmup", "PT10S")),
+                Integer.parseInt(options.getOrDefault("load.rate", "100")),
+                parseMix(options.getOrDefault("load.mix", "search:40,get:30,list:20,store:10")),
+                Integer.parseInt(options.getOrDefault("load.records", "1000")),
+                Integer.parseInt(options.getOrDefault("load.searches", "50")),
+                Duration.parse(options.getOrDefault("load.request-timeout", "PT30S")),
+                new LatencyDistribution(
+                        Duration.parse(options.getOrDefault("stub.latency-median", "PT0.08S")),
+                        Duration.parse(options.getOrDefault("stub.latency-p99", "PT0.4S"))),
+                Double.parseDouble(options.getOrDefault("stub.error-rate", "0")),
+                Integer.parseInt(options.getOrDefault("stub.error-status", "503")),
+                options.containsKey("stub.recordings") ? Path.of(options.get("stub.recordings")) : null,
+                List.copyOf(applicationArgs));
+
+        options.keySet().removeAll(List.of("load.duration", "load.warmup", "load.rate", "load.mix", "load.records",
+                "load.searches", "load.request-timeout", "stub.latency-median", "stub.latency-p99",
+                "stub.error-rate", "stub.error-status", "stub.recordings"));
+        if (!options.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options " + options.keySet());
+        }
+        return parsed;
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String mix) {
+        var weights = new EnumMap<Endpoint, Integer>(Endpoint.class);
+
+        for (String entry : mix.split(",")) {
+            var parts = entry.strip().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected endpoint:weight but got " + entry);
+            }
+            weights.put(Endpoint.fromName(parts[0].strip()), Integer.parseInt(parts[1].strip()));
+        }
+        return weights;
+    }
+}
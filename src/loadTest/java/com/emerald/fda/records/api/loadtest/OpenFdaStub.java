@@ -0,0 +1,170 @@
+package com.emerald.fda.records.api.loadtest;
+
+import com.emerald.fda.records.api.dto.fda.FdaResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Stands in for the OpenFDA drugsfda endpoint. Every search is answered after a latency drawn from the
+ * configured distribution, with one of the recorded responses picked by the search query, or with the
+ * configured error status at the configured rate. Responses are gzip-compressed when the client accepts it,
+ * as OpenFDA does.
+ */
+final class OpenFdaStub implements AutoCloseable {
+    private static final List<String> BUNDLED_RECORDINGS = List.of(
+            "openfda/drugsfda-ibuprofen.json",
+            "openfda/drugsfda-atorvastatin.json",
+            "openfda/drugsfda-amoxicillin.json");
+    private static final byte[] ERROR_RESPONSE = """
+            {"error": {"code": "SERVER_ERROR", "message": "Check your request and try again"}}
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private final List<Recording> recordings;
+    private final LatencyDistribution latency;
+    private final double errorRate;
+    private final int errorStatus;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    OpenFdaStub(LoadTestOptions options) throws IOException {
+        this.recordings = loadRecordings(options.stubRecordings());
+        this.latency = options.stubLatency();
+        this.errorRate = options.stubErrorRate();
+        this.errorStatus = options.stubErrorStatus();
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 4096);
+        this.server.createContext("/", this::handle);
+        this.server.setExecutor(executor);
+        this.server.start();
+    }
+
+    /**
+     * Returns the URL that the application is configured with in place of the OpenFDA drugsfda endpoint.
+     *
+     * @return the URL
+     */
+    String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/drug/drugsfda.json";
+    }
+
+    long calls() {
+        return calls.get();
+    }
+
+    long errors() {
+        return errors.get();
+    }
+
+    int recordingCount() {
+        return recordings.size();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            calls.incrementAndGet();
+            var random = ThreadLocalRandom.current();
+
+            try {
+                Thread.sleep(latency.sampleNanos(random) / 1_000_000);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+
+            if (random.nextDouble() < errorRate) {
+                errors.incrementAndGet();
+                exchange.sendResponseHeaders(errorStatus, ERROR_RESPONSE.length);
+                exchange.getResponseBody().write(ERROR_RESPONSE);
+                return;
+            }
+
+            var query = Objects.requireNonNullElse(exchange.getRequestURI().getRawQuery(), "");
+            var recording = recordings.get(Math.floorMod(query.hashCode(), recordings.size()));
+            var acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            byte[] body = recording.body();
+
+            if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+                body = recording.gzippedBody();
+            }
+
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        }
+    }
+
+    /**
+     * Loads the recordings of a directory, or the bundled ones. Every recording must read as an
+     * {@link FdaResponseDto}, so that the stub only serves responses the application can parse.
+     */
+    private static List<Recording> loadRecordings(Path directory) throws IOException {
+        var bodies = new ArrayList<byte[]>();
+
+        if (directory != null) {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (var file : files.filter(path -> path.toString().endsWith(".json")).sorted().toList()) {
+                    bodies.add(Files.readAllBytes(file));
+                }
+            }
+            if (bodies.isEmpty()) {
+                throw new IllegalArgumentException("No .json recordings in " + directory);
+            }
+        } else {
+            for (String resource : BUNDLED_RECORDINGS) {
+                try (InputStream in = OpenFdaStub.class.getClassLoader().getResourceAsStream(resource)) {
+                    bodies.add(Objects.requireNonNull(in, resource).readAllBytes());
+                }
+            }
+        }
+
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        var recordings = new ArrayList<Recording>(bodies.size());
+        for (byte[] body : bodies) {
+            objectMapper.readValue(body, FdaResponseDto.class);
+            recordings.add(new Recording(body, gzip(body)));
+        }
+        return recordings;
+    }
+
+    private static byte[] gzip(byte[] body) {
+        var out = new ByteArrayOutputStream();
+        try (var gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+
+    private record Recording(byte[] body, byte[] gzippedBody) {}
+}
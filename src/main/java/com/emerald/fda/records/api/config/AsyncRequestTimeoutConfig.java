@@ -0,0 +1,40 @@
+package com.emerald.fda.records.api.config;
+
+import java.util.concurrent.Callable;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Lifts the asynchronous request timeout for handlers annotated with {@link UnlimitedAsyncTimeout}, while
+ * every other asynchronous request keeps {@code spring.mvc.async.request-timeout}.
+ */
+@Configuration
+public class AsyncRequestTimeoutConfig implements WebMvcConfigurer {
+    private static final long NO_TIMEOUT = -1;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                // called before the asynchronous processing starts, while its timeout can still be changed
+                if (request instanceof AsyncWebRequest asyncRequest && hasUnlimitedTimeout(request)) {
+                    asyncRequest.setTimeout(NO_TIMEOUT);
+                }
+            }
+        });
+    }
+
+    private static boolean hasUnlimitedTimeout(NativeWebRequest request) {
+        return request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                instanceof HandlerMethod handlerMethod
+                && handlerMethod.hasMethodAnnotation(UnlimitedAsyncTimeout.class);
+    }
+}
@@ -0,0 +1,71 @@
+package com.emerald.fda.records.api.config;
+
+import com.emerald.fda.records.api.entity.DrugApplicationRecord;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configures the Caffeine-backed JCache regions of the Hibernate second-level cache, which keeps drug
+ * application records, their product numbers and the results of the paged listing queries between
+ * transactions.
+ * <p>
+ * The entity and collection regions hold up to {@code maximum-size} entries each and the query results
+ * region up to {@code query-maximum-size} results, all expiring {@code time-to-live} after they were put.
+ * The update timestamps region, against which cached query results are checked, is never evicted.
+ * Hibernate fails to start rather than create a region missing here.
+ */
+@Configuration
+public class HibernateCacheConfig {
+    @Value("${fda.records.second-level-cache.maximum-size:10000}")
+    private long maximumSize;
+
+    @Value("${fda.records.second-level-cache.query-maximum-size:1000}")
+    private long queryMaximumSize;
+
+    @Value("${fda.records.second-level-cache.time-to-live:PT1H}")
+    private Duration timeToLive;
+
+    /**
+     * Creates the cache manager of the second-level cache regions. Every application context gets its own,
+     * so contexts sharing a JVM, as tests do, do not share regions.
+     *
+     * @return the cache manager
+     */
+    @Bean
+    public CacheManager hibernateCacheManager() {
+        var cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("fda-records-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        cacheManager.createCache(DrugApplicationRecord.CACHE_REGION, region(maximumSize));
+        cacheManager.createCache(DrugApplicationRecord.PRODUCT_NUMBERS_CACHE_REGION, region(maximumSize));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, region(queryMaximumSize));
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<>());
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private CaffeineConfiguration<Object, Object> region(long regionMaximumSize) {
+        var configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(regionMaximumSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(timeToLive.toNanos()));
+        return configuration;
+    }
+}
@@ -0,0 +1,183 @@
+package com.emerald.fda.records.api.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Configures the circuit breaker and bulkhead guarding the calls to the OpenFDA API.
+ * <p>
+ * The circuit breaker opens when too many recent calls failed or were slow, so that searches fail fast
+ * (or are answered with the last known response) instead of each waiting for the read timeout. The
+ * bulkhead bounds how many calls may be waiting on OpenFDA at once, so a degraded API cannot tie up
+ * every request thread.
+ */
+@Configuration
+@Slf4j
+public class ResilienceConfig {
+    public static final String OPEN_FDA = "openfda";
+    public static final String OPEN_FDA_ASYNC = "openfda-async";
+
+    @Value("${openfda.api.circuit-breaker.failure-rate-threshold:50}")
+    private float failureRateThreshold;
+
+    @Value("${openfda.api.circuit-breaker.slow-call-rate-threshold:50}")
+    private float slowCallRateThreshold;
+
+    @Value("${openfda.api.circuit-breaker.slow-call-duration:PT0.8S}")
+    private Duration slowCallDuration;
+
+    @Value("${openfda.api.circuit-breaker.sliding-window-size:20}")
+    private int slidingWindowSize;
+
+    @Value("${openfda.api.circuit-breaker.minimum-number-of-calls:10}")
+    private int minimumNumberOfCalls;
+
+    @Value("${openfda.api.circuit-breaker.wait-in-open-state:PT30S}")
+    private Duration waitInOpenState;
+
+    @Value("${openfda.api.circuit-breaker.permitted-calls-in-half-open-state:3}")
+    private int permittedCallsInHalfOpenState;
+
+    @Value("${openfda.api.bulkhead.max-concurrent-calls:20}")
+    private int maxConcurrentCalls;
+
+    @Value("${openfda.api.bulkhead.max-wait:PT0.1S}")
+    private Duration maxWait;
+
+    /**
+     * Creates the circuit breaker registry. Client errors other than 429 are answers to bad queries, not
+     * signs of a degraded API, so they do not count as failures; neither do calls rejected by the bulkhead.
+     *
+     * @return the circuit breaker registry
+     */
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry() {
+        return CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slowCallDurationThreshold(slowCallDuration)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .waitDurationInOpenState(waitInOpenState)
+                .permittedNumberOfCallsInHalfOpenState(permittedCallsInHalfOpenState)
+                .recordException(ResilienceConfig::isOpenFdaFailure)
+                .ignoreExceptions(BulkheadFullException.class)
+                .build());
+    }
+
+    /**
+     * Creates the circuit breaker for OpenFDA API calls and counts its state transitions as
+     * {@code openfda.circuit-breaker.transitions}.
+     *
+     * @param registry      the circuit breaker registry
+     * @param meterRegistry the meter registry
+     * @return the circuit breaker
+     */
+    @Bean
+    public CircuitBreaker openFdaCircuitBreaker(CircuitBreakerRegistry registry, MeterRegistry meterRegistry) {
+        var circuitBreaker = registry.circuitBreaker(OPEN_FDA);
+
+        circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            var transition = event.getStateTransition();
+            log.warn("OpenFDA circuit breaker changed from {} to {}", transition.getFromState(), transition.getToState());
+
+            Counter.builder("openfda.circuit-breaker.transitions")
+                    .description("State transitions of the OpenFDA circuit breaker")
+                    .tag("from", transition.getFromState().name())
+                    .tag("to", transition.getToState().name())
+                    .register(meterRegistry)
+                    .increment();
+        });
+
+        return circuitBreaker;
+    }
+
+    /**
+     * Publishes the state, call outcomes and failure rates of the circuit breakers as
+     * {@code resilience4j.circuitbreaker.*} meters.
+     *
+     * @param registry the circuit breaker registry
+     * @return the meter binder
+     */
+    @Bean
+    public MeterBinder circuitBreakerMetrics(CircuitBreakerRegistry registry) {
+        return TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry);
+    }
+
+    /**
+     * Creates the bulkhead registry. A call waits at most {@code max-wait} for a free slot before it is
+     * rejected.
+     *
+     * @return the bulkhead registry
+     */
+    @Bean
+    public BulkheadRegistry bulkheadRegistry() {
+        return BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(maxWait)
+                .build());
+    }
+
+    /**
+     * Creates the bulkhead for OpenFDA API calls.
+     *
+     * @param registry the bulkhead registry
+     * @return the bulkhead
+     */
+    @Bean
+    public Bulkhead openFdaBulkhead(BulkheadRegistry registry) {
+        return registry.bulkhead(OPEN_FDA);
+    }
+
+    /**
+     * Creates the bulkhead for non-blocking OpenFDA API calls. It has as many slots as the blocking one, but
+     * rejects a call at once when they are all taken: waiting for a slot would park the thread that completes
+     * the request quota permits, or the servlet thread, which non-blocking calls must never do.
+     *
+     * @param registry the bulkhead registry
+     * @return the bulkhead
+     */
+    @Bean
+    public Bulkhead openFdaAsyncBulkhead(BulkheadRegistry registry) {
+        return registry.bulkhead(OPEN_FDA_ASYNC, BulkheadConfig.from(registry.getDefaultConfig())
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+    }
+
+    /**
+     * Publishes the available and maximum concurrent calls of the bulkheads as {@code resilience4j.bulkhead.*}
+     * gauges.
+     *
+     * @param registry the bulkhead registry
+     * @return the meter binder
+     */
+    @Bean
+    public MeterBinder bulkheadMetrics(BulkheadRegistry registry) {
+        return TaggedBulkheadMetrics.ofBulkheadRegistry(registry);
+    }
+
+    private static boolean isOpenFdaFailure(Throwable ex) {
+        for (var cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpClientErrorException clientError) {
+                return clientError instanceof HttpClientErrorException.TooManyRequests;
+            }
+        }
+        return true;
+    }
+}
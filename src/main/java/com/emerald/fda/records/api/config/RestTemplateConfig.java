@@ -1,12 +1,51 @@
 package com.emerald.fda.records.api.config;
 
+import com.emerald.fda.records.api.service.FdaAdaptiveTimeouts;
+import com.emerald.fda.records.api.service.FdaPayloadMetrics;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.ObservationExecChainHandler;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.micrometer.observation.ObservationRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
 import java.time.Duration;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 
+/**
+ * Configures the HTTP client used to call the OpenFDA API.
+ * <p>
+ * Requests go through a pool of persistent connections so TLS handshakes are only paid when a
+ * connection is opened, and responses are requested gzip-compressed and decompressed transparently.
+ * A non-blocking client with its own pool and the same settings serves the asynchronous searches.
+ * The response timeout of each call is set by {@link FdaAdaptiveTimeouts} from the latencies of
+ * recent calls of the same size.
+ * <p>
+ * Both clients time every exchange as {@code httpcomponents.httpclient.request}, tagged with its status and
+ * outcome, and the RestTemplate reports the size and deserialization time of the bodies it reads to
+ * {@link FdaPayloadMetrics}.
+ */
 @Configuration
 public class RestTemplateConfig {
     @Value("${openfda.api.connect-timeout:1000}")
@@ -15,16 +54,216 @@ public class RestTemplateConfig {
     @Value("${openfda.api.read-timeout:1000}")
     private int readTimeout;
 
+    @Value("${openfda.api.compression:true}")
+    private boolean compression;
+
+    @Value("${openfda.api.pool.max-total:50}")
+    private int maxTotal;
+
+    @Value("${openfda.api.pool.max-per-route:20}")
+    private int maxPerRoute;
+
+    @Value("${openfda.api.pool.acquire-timeout:1000}")
+    private int acquireTimeout;
+
+    @Value("${openfda.api.pool.keep-alive:PT30S}")
+    private Duration keepAlive;
+
+    @Value("${openfda.api.pool.time-to-live:PT5M}")
+    private Duration timeToLive;
+
+    @Value("${openfda.api.pool.validate-after-inactivity:PT2S}")
+    private Duration validateAfterInactivity;
+
+    /**
+     * Creates the connection pool for OpenFDA API calls.
+     *
+     * @return the configured connection manager
+     */
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager openFdaConnectionManager() {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(connectionConfig())
+                .build();
+    }
+
+    /**
+     * Creates the pooled HTTP client for OpenFDA API calls. Idle connections are kept alive for reuse
+     * unless the server announces a shorter keep-alive, and are evicted once they exceed it.
+     *
+     * @param connectionManager the connection pool
+     * @return the configured HTTP client
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient openFdaHttpClient(PoolingHttpClientConnectionManager connectionManager,
+                                                 RequestConfig openFdaRequestConfig,
+                                                 ObservationRegistry observationRegistry) {
+        var builder = HttpClientBuilder.create()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(openFdaRequestConfig)
+                .addExecInterceptorLast("micrometer", new ObservationExecChainHandler(observationRegistry))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(keepAlive));
+
+        if (!compression) {
+            builder.disableContentCompression();
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Publishes the utilization of the OpenFDA connection pool as {@code httpcomponents.httpclient.pool.*} gauges.
+     *
+     * @param connectionManager the connection pool
+     * @return the meter binder
+     */
+    @Bean
+    public MeterBinder openFdaConnectionPoolMetrics(PoolingHttpClientConnectionManager connectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "openfda");
+    }
+
+    /**
+     * Creates the connection pool for non-blocking OpenFDA API calls.
+     *
+     * @return the configured connection manager
+     */
+    @Bean(destroyMethod = "close")
+    public PoolingAsyncClientConnectionManager openFdaAsyncConnectionManager() {
+        return PoolingAsyncClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(connectionConfig())
+                .build();
+    }
+
     /**
-     * Creates and configures a RestTemplate bean.
+     * Creates and starts the non-blocking HTTP client for OpenFDA API calls. Unlike the classic client it
+     * does not decompress responses itself, so it only asks for gzip and leaves decoding to the caller.
+     *
+     * @param connectionManager the connection pool
+     * @return the started HTTP client
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpAsyncClient openFdaAsyncHttpClient(PoolingAsyncClientConnectionManager connectionManager,
+                                                           RequestConfig openFdaRequestConfig,
+                                                           ObservationRegistry observationRegistry) {
+        var builder = HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(openFdaRequestConfig)
+                .addExecInterceptorLast("micrometer", new ObservationExecChainHandler(observationRegistry))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(keepAlive));
+
+        if (compression) {
+            builder.addRequestInterceptorFirst((request, entity, context) ->
+                    request.setHeader(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+        }
+
+        var client = builder.build();
+        client.start();
+        return client;
+    }
+
+    /**
+     * Publishes the utilization of the non-blocking OpenFDA connection pool as
+     * {@code httpcomponents.httpclient.pool.*} gauges.
+     *
+     * @param connectionManager the connection pool
+     * @return the meter binder
+     */
+    @Bean
+    public MeterBinder openFdaAsyncConnectionPoolMetrics(PoolingAsyncClientConnectionManager connectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "openfda-async");
+    }
+
+    /**
+     * Creates and configures a RestTemplate bean. Every call gets the response timeout of its size, and
+     * reports how long the response took to arrive; JSON bodies are read through {@link FdaPayloadMetrics}.
      *
      * @return the configured RestTemplate instance
      */
     @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
-        return builder
-                .connectTimeout(Duration.ofMillis(connectTimeout))
-                .readTimeout(Duration.ofMillis(readTimeout))
+    public RestTemplate restTemplate(RestTemplateBuilder builder,
+                                     CloseableHttpClient openFdaHttpClient,
+                                     FdaAdaptiveTimeouts adaptiveTimeouts,
+                                     FdaPayloadMetrics payloadMetrics) {
+        var restTemplate = builder
+                .requestFactory(() -> {
+                    var requestFactory = new HttpComponentsClientHttpRequestFactory(openFdaHttpClient);
+                    requestFactory.setHttpContextFactory((method, uri) -> {
+                        var context = HttpClientContext.create();
+                        context.setRequestConfig(adaptiveTimeouts.requestConfig(uri));
+                        return context;
+                    });
+                    return requestFactory;
+                })
+                .additionalInterceptors((request, body, execution) -> {
+                    long startedAt = System.nanoTime();
+                    var response = execution.execute(request, body);
+                    adaptiveTimeouts.record(request.getURI(), System.nanoTime() - startedAt);
+                    return response;
+                })
+                .build();
+
+        restTemplate.getMessageConverters().replaceAll(converter ->
+                converter instanceof MappingJackson2HttpMessageConverter jsonConverter
+                        ? new MeteredJsonHttpMessageConverter(jsonConverter, payloadMetrics)
+                        : converter);
+
+        return restTemplate;
+    }
+
+    /**
+     * Creates the request configuration shared by the OpenFDA clients.
+     *
+     * @return the request configuration
+     */
+    @Bean
+    public RequestConfig openFdaRequestConfig() {
+        return RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(acquireTimeout))
+                .setConnectionKeepAlive(TimeValue.of(keepAlive))
+                .build();
+    }
+
+    private ConnectionConfig connectionConfig() {
+        return ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout))
+                .setSocketTimeout(Timeout.ofMilliseconds(readTimeout))
+                .setTimeToLive(TimeValue.of(timeToLive))
+                .setValidateAfterInactivity(TimeValue.of(validateAfterInactivity))
                 .build();
     }
+
+    /**
+     * Reads JSON bodies like the converter it replaces, through {@link FdaPayloadMetrics}.
+     */
+    private static final class MeteredJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+        private final FdaPayloadMetrics payloadMetrics;
+
+        MeteredJsonHttpMessageConverter(MappingJackson2HttpMessageConverter converter, FdaPayloadMetrics payloadMetrics) {
+            super(converter.getObjectMapper());
+            setSupportedMediaTypes(converter.getSupportedMediaTypes());
+            this.payloadMetrics = payloadMetrics;
+        }
+
+        @Override
+        public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+            return payloadMetrics.deserialize(inputMessage.getBody(), body ->
+                    super.read(type, contextClass, new HttpInputMessage() {
+                        @Override
+                        public InputStream getBody() {
+                            return body;
+                        }
+
+                        @Override
+                        public org.springframework.http.HttpHeaders getHeaders() {
+                            return inputMessage.getHeaders();
+                        }
+                    }));
+        }
+    }
 }
@@ -0,0 +1,111 @@
+package com.emerald.fda.records.api.config;
+
+import com.emerald.fda.records.api.timing.RequestTiming;
+import com.emerald.fda.records.api.timing.ServerTimingFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.DispatcherType;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+/**
+ * Reports the stages of every request in the {@code Server-Timing} response header when
+ * {@code fda.records.server-timing.enabled} is set. Besides the stages the services record, the database
+ * time is taken from the repository invocations and the serialization time from the JSON message converter.
+ * <p>
+ * None of this is set up while server timing is disabled, so the services only find a timing that records
+ * nothing.
+ */
+@Configuration
+@ConditionalOnProperty(name = "fda.records.server-timing.enabled", havingValue = "true")
+public class ServerTimingConfig {
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(
+            @Value("${fda.records.server-timing.log-sample-rate:0}") double logSampleRate) {
+        var registration = new FilterRegistrationBean<>(new ServerTimingFilter(logSampleRate));
+        // first, so that the total covers the other filters
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
+        return registration;
+    }
+
+    /**
+     * Replaces the JSON message converter with one timing how long response bodies take to serialize.
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new TimedJsonHttpMessageConverter(objectMapper);
+    }
+
+    /**
+     * Records the time of every repository method call as the {@code db} stage.
+     */
+    @Bean
+    public static BeanPostProcessor repositoryTimingPostProcessor() {
+        RepositoryMethodInvocationListener listener = invocation -> RequestTiming.current()
+                .recordDuration("db", invocation.getDuration(TimeUnit.NANOSECONDS));
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactoryBean) {
+                    repositoryFactoryBean.addRepositoryFactoryCustomizer(factory -> factory.addInvocationListener(listener));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Serializes a response body into memory first while the request is timed, so that the
+     * {@code serialize} stage is recorded before the body, and with it the {@code Server-Timing} header,
+     * is written.
+     */
+    private static final class TimedJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+        TimedJsonHttpMessageConverter(ObjectMapper objectMapper) {
+            super(objectMapper);
+        }
+
+        @Override
+        protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+            var timing = RequestTiming.current();
+            if (!timing.isEnabled()) {
+                super.writeInternal(object, type, outputMessage);
+                return;
+            }
+
+            long startedAt = timing.now();
+            var body = new ByteArrayOutputStream();
+            super.writeInternal(object, type, new HttpOutputMessage() {
+                @Override
+                public OutputStream getBody() {
+                    return body;
+                }
+
+                @Override
+                public HttpHeaders getHeaders() {
+                    return outputMessage.getHeaders();
+                }
+            });
+            timing.record("serialize", startedAt);
+
+            body.writeTo(outputMessage.getBody());
+        }
+    }
+}
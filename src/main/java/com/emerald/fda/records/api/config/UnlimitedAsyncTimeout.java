@@ -0,0 +1,19 @@
+package com.emerald.fda.records.api.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a handler method whose asynchronous processing, such as writing a streamed response body, may run
+ * for as long as it takes instead of ending at {@code spring.mvc.async.request-timeout}.
+ *
+ * @see AsyncRequestTimeoutConfig
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface UnlimitedAsyncTimeout {
+}
@@ -1,22 +1,44 @@
 package com.emerald.fda.records.api.controller;
 
+import com.emerald.fda.records.api.config.UnlimitedAsyncTimeout;
 import com.emerald.fda.records.api.dto.fda.FdaResponseDto;
+import com.emerald.fda.records.api.dto.request.SearchCriteriaDto;
 import com.emerald.fda.records.api.dto.request.StoreDrugApplicationRecordDto;
+import com.emerald.fda.records.api.dto.response.BatchSearchResponseDto;
+import com.emerald.fda.records.api.dto.response.BatchStoreResponseDto;
+import com.emerald.fda.records.api.dto.response.CursorPageResponseDto;
+import com.emerald.fda.records.api.dto.response.DrugApplicationRecordDto;
 import com.emerald.fda.records.api.dto.response.PageResponseDto;
 import com.emerald.fda.records.api.entity.DrugApplicationRecord;
+import com.emerald.fda.records.api.service.DrugApplicationRecordResponseCache;
+import com.emerald.fda.records.api.service.DrugApplicationRecordResponseCache.CachedResponse;
+import com.emerald.fda.records.api.service.DrugApplicationRecordsBatchService;
+import com.emerald.fda.records.api.service.DrugApplicationRecordsExportService;
 import com.emerald.fda.records.api.service.DrugApplicationRecordsService;
+import com.emerald.fda.records.api.service.ResourceValidator;
+import com.emerald.fda.records.api.validation.SearchLimit;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -26,9 +48,16 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * REST controller for drug application operations.
+ * <p>
+ * Stored drug application records and pages of them carry a strong {@code ETag} and a {@code Last-Modified}
+ * time; a request whose {@code If-None-Match} or {@code If-Modified-Since} shows that the client's copy is
+ * current is answered with 304 Not Modified before anything is loaded. Searches carry a weak {@code ETag}
+ * and are answered with 304 Not Modified without serializing the response.
  */
 @RestController
 @RequestMapping("/v1/drug-application-records")
@@ -39,6 +68,9 @@ import org.springframework.web.bind.annotation.RestController;
 public class DrugApplicationRecordsController {
 
     private final DrugApplicationRecordsService service;
+    private final DrugApplicationRecordsBatchService batchService;
+    private final DrugApplicationRecordsExportService exportService;
+    private final DrugApplicationRecordResponseCache responseCache;
 
     /**
      * Searches for drug applications in the FDA database.
@@ -47,6 +79,7 @@ public class DrugApplicationRecordsController {
     @Operation(summary = "Search drug applications in FDA database")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Search completed successfully"),
+            @ApiResponse(responseCode = "304", description = "The client's copy of the search results is current"),
             @ApiResponse(responseCode = "400", description = "Invalid parameters provided"),
             @ApiResponse(responseCode = "503", description = "FDA API unavailable")
     })
@@ -60,14 +93,82 @@ public class DrugApplicationRecordsController {
             @Parameter(description = "Number of results to skip")
             @RequestParam(defaultValue = "0") @Min(0) int skip,
 
-            @Parameter(description = "Maximum number of results to return")
-            @RequestParam(defaultValue = "10") @Min(1) int limit) {
+            @Parameter(description = "Maximum number of results to return, at most openfda.api.fan-out.max-limit")
+            @RequestParam(defaultValue = "10") @SearchLimit int limit) {
 
         log.info("Received request to search drug application records with manufacturer: {}, brand: {}",
                 manufacturerName, brandName);
 
         FdaResponseDto response = service.searchDrugApplicationRecords(manufacturerName, brandName, skip, limit);
-        return ResponseEntity.ok(response);
+        return searchResponse(manufacturerName, brandName, skip, limit, response);
+    }
+
+    /**
+     * Searches for drug applications in the FDA database without holding a servlet thread while the
+     * FDA API is called.
+     */
+    @GetMapping("/search/async")
+    @Operation(summary = "Search drug applications in FDA database asynchronously")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Search completed successfully"),
+            @ApiResponse(responseCode = "304", description = "The client's copy of the search results is current"),
+            @ApiResponse(responseCode = "400", description = "Invalid parameters provided"),
+            @ApiResponse(responseCode = "503", description = "FDA API unavailable"),
+            @ApiResponse(responseCode = "504", description = "FDA API did not respond in time")
+    })
+    public CompletableFuture<ResponseEntity<FdaResponseDto>> searchDrugApplicationRecordAsync(
+            @Parameter(description = "FDA manufacturer name", required = true)
+            @RequestParam String manufacturerName,
+
+            @Parameter(description = "FDA brand name (optional)")
+            @RequestParam(required = false) String brandName,
+
+            @Parameter(description = "Number of results to skip")
+            @RequestParam(defaultValue = "0") @Min(0) int skip,
+
+            @Parameter(description = "Maximum number of results to return, at most openfda.api.fan-out.max-limit")
+            @RequestParam(defaultValue = "10") @SearchLimit int limit) {
+
+        log.info("Received request to search drug application records asynchronously with manufacturer: {}, brand: {}",
+                manufacturerName, brandName);
+
+        return service.searchDrugApplicationRecordsAsync(manufacturerName, brandName, skip, limit)
+                .thenApply(response -> searchResponse(manufacturerName, brandName, skip, limit, response));
+    }
+
+    /**
+     * Wraps search results with their weak ETag, which the response is compared against to answer
+     * 304 Not Modified instead of serializing it.
+     */
+    private static ResponseEntity<FdaResponseDto> searchResponse(String manufacturerName, String brandName,
+                                                                 int skip, int limit, FdaResponseDto response) {
+        var builder = ResponseEntity.ok();
+        ResourceValidator.ofSearch(manufacturerName, brandName, skip, limit, response)
+                .ifPresent(validator -> builder.eTag(validator.eTag()));
+        return builder.body(response);
+    }
+
+    /**
+     * Searches for drug applications in the FDA database for several manufacturer and brand name
+     * criteria at once.
+     */
+    @PostMapping("/search/batch")
+    @Operation(summary = "Search drug applications in FDA database for several manufacturers at once")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Search completed successfully; see the per-criteria results"),
+            @ApiResponse(responseCode = "400", description = "Empty or invalid search criteria provided"),
+            @ApiResponse(responseCode = "503", description = "FDA API unavailable")
+    })
+    public ResponseEntity<BatchSearchResponseDto> searchDrugApplicationRecordsBatch(
+            @Parameter(description = "Manufacturer and optional brand names to search for", required = true)
+            @RequestBody @NotEmpty List<@Valid SearchCriteriaDto> criteria,
+
+            @Parameter(description = "Maximum number of results to return per criteria")
+            @RequestParam(defaultValue = "10") @Min(1) @Max(1000) int limit) {
+
+        log.info("Received request to search drug application records for {} criteria", criteria.size());
+
+        return ResponseEntity.ok(service.searchDrugApplicationRecordsBatch(criteria, limit));
     }
 
     /**
@@ -79,7 +180,7 @@ public class DrugApplicationRecordsController {
             @ApiResponse(responseCode = "201", description = "Drug application record stored successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid drug application record data provided")
     })
-    public ResponseEntity<DrugApplicationRecord> storeSpecificDrugApplicationRecord(
+    public ResponseEntity<DrugApplicationRecordDto> storeSpecificDrugApplicationRecord(
             @Parameter(description = "Specific drug application record details to store", required = true)
             @RequestBody @Valid StoreDrugApplicationRecordDto applicationDto) {
 
@@ -92,7 +193,25 @@ public class DrugApplicationRecordsController {
                 applicationDto.productNumbers()
         );
 
-        return new ResponseEntity<>(savedApplication, HttpStatus.CREATED);
+        return new ResponseEntity<>(DrugApplicationRecordDto.from(savedApplication), HttpStatus.CREATED);
+    }
+
+    /**
+     * Stores a batch of drug application records in the system.
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Store a batch of drug application records")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed; see the per-record outcome"),
+            @ApiResponse(responseCode = "400", description = "Empty batch or more than 1000 records provided")
+    })
+    public ResponseEntity<BatchStoreResponseDto> storeDrugApplicationRecords(
+            @Parameter(description = "Drug application records to store, at most 1000", required = true)
+            @RequestBody @NotEmpty @Size(max = 1000) List<StoreDrugApplicationRecordDto> applicationDtos) {
+
+        log.info("Received request to store batch of {} drug applications", applicationDtos.size());
+
+        return ResponseEntity.ok(batchService.saveDrugApplicationRecords(applicationDtos));
     }
 
     /**
@@ -101,40 +220,186 @@ public class DrugApplicationRecordsController {
     @GetMapping
     @Operation(summary = "Get all drug application records stored in the system")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved drug application records")
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved drug application records"),
+            @ApiResponse(responseCode = "304", description = "The client's copy of the page is current")
     })
-    public ResponseEntity<PageResponseDto<DrugApplicationRecord>> getAllDrugApplicationRecords(
+    public ResponseEntity<PageResponseDto<DrugApplicationRecordDto>> getAllDrugApplicationRecords(
             @Parameter(description = "Page number (zero-based)")
             @RequestParam(defaultValue = "0") @Min(0) int page,
 
             @Parameter(description = "Page size")
-            @RequestParam(defaultValue = "10") @Min(1) int size) {
+            @RequestParam(defaultValue = "10") @Min(1) int size,
+
+            WebRequest webRequest) {
 
         log.info("Received request to get all drug applications, page: {}, size: {}", page, size);
 
         Pageable pageable = PageRequest.of(page, size);
+        if (isNotModified(webRequest, service.getDrugApplicationRecordsValidator(pageable))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+
         return ResponseEntity.ok(
                 PageResponseDto.from(service.getAllDrugApplicationRecords(pageable))
         );
     }
 
     /**
-     * Gets a drug application by its application number.
+     * Gets drug applications stored in the system using cursor-based pagination.
+     */
+    @GetMapping("/scroll")
+    @Operation(summary = "Get drug application records ordered by application number using a cursor")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved drug application records"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size provided")
+    })
+    public ResponseEntity<CursorPageResponseDto<DrugApplicationRecordDto>> scrollDrugApplicationRecords(
+            @Parameter(description = "Cursor returned as nextCursor by the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Page size")
+            @RequestParam(defaultValue = "10") @Min(1) int size,
+
+            @Parameter(description = "Whether to include the total number of records, which requires a count query")
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        log.info("Received request to scroll drug applications, cursor: {}, size: {}", cursor, size);
+
+        return ResponseEntity.ok(service.getDrugApplicationRecordsAfter(cursor, size, includeTotal));
+    }
+
+    /**
+     * Exports all drug applications stored in the system as newline-delimited JSON. The export is streamed
+     * for as long as it takes, regardless of the asynchronous request timeout.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @UnlimitedAsyncTimeout
+    @Operation(summary = "Export all drug application records as newline-delimited JSON")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Drug application records streamed one per line")
+    })
+    public ResponseEntity<StreamingResponseBody> exportDrugApplicationRecords() {
+        log.info("Received request to export all drug applications");
+
+        StreamingResponseBody body = outputStream -> exportService.exportDrugApplicationRecords(outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Gets a drug application by its application number. While the response cache is enabled, the response
+     * is written from the cached bytes, gzip-compressed when cached so and accepted by the client.
      */
     @GetMapping("/{applicationNumber}")
     @Operation(summary = "Get a drug application record by its application number")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved the drug application record"),
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the drug application record",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = DrugApplicationRecordDto.class))),
+            @ApiResponse(responseCode = "304", description = "The client's copy of the drug application record is current"),
             @ApiResponse(responseCode = "404", description = "Drug application record not found")
     })
-    public ResponseEntity<DrugApplicationRecord> getDrugApplicationRecordById(
+    public ResponseEntity<?> getDrugApplicationRecordById(
             @Parameter(description = "Application number", required = true)
-            @PathVariable String applicationNumber) {
+            @PathVariable String applicationNumber,
+
+            WebRequest webRequest) {
 
         log.info("Received request to get drug application record by ID: {}", applicationNumber);
 
+        if (responseCache.isEnabled()) {
+            return responseCache.get(applicationNumber)
+                    .map(cached -> cachedResponse(webRequest, cached))
+                    .orElse(ResponseEntity.notFound().build());
+        }
+
+        if (isNotModified(webRequest, service.getDrugApplicationValidator(applicationNumber))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+
         return service.getDrugApplicationById(applicationNumber)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
-}
\ No newline at end of file
+
+    /**
+     * Answers from a cached response, written as is by the byte array message converter.
+     */
+    private static ResponseEntity<?> cachedResponse(WebRequest webRequest, CachedResponse cached) {
+        boolean gzip = cached.gzipJson() != null && acceptsGzip(webRequest.getHeaderValues(HttpHeaders.ACCEPT_ENCODING));
+        var validator = gzip ? cached.validator().withContentCoding("gzip") : cached.validator();
+
+        if (isNotModified(webRequest, Optional.of(validator))) {
+            // a 304 varies like the 200 it stands for
+            var notModified = ResponseEntity.status(HttpStatus.NOT_MODIFIED);
+            if (cached.gzipJson() != null) {
+                notModified.varyBy(HttpHeaders.ACCEPT_ENCODING);
+            }
+            return notModified.build();
+        }
+
+        var builder = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        if (cached.gzipJson() != null) {
+            builder.varyBy(HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(gzip ? cached.gzipJson() : cached.json());
+    }
+
+    /**
+     * Checks whether the {@code Accept-Encoding} headers accept gzip: {@code gzip}, or else {@code *}, is listed
+     * with a weight above zero. Codings are compared case-insensitively; a weight that does not parse counts
+     * as zero.
+     */
+    private static boolean acceptsGzip(String[] acceptEncodings) {
+        if (acceptEncodings == null) {
+            return false;
+        }
+
+        Double gzipWeight = null;
+        Double anyWeight = null;
+        for (var acceptEncoding : acceptEncodings) {
+            for (var coding : acceptEncoding.split(",")) {
+                var parameters = coding.split(";");
+                var name = parameters[0].trim();
+                if (name.equalsIgnoreCase("gzip")) {
+                    gzipWeight = weight(parameters);
+                } else if (name.equals("*")) {
+                    anyWeight = weight(parameters);
+                }
+            }
+        }
+
+        var weight = gzipWeight != null ? gzipWeight : anyWeight;
+        return weight != null && weight > 0;
+    }
+
+    private static double weight(String[] parameters) {
+        for (int index = 1; index < parameters.length; index++) {
+            var parameter = parameters[index].trim();
+            if (parameter.length() > 2 && parameter.substring(0, 2).equalsIgnoreCase("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * Checks the conditional headers of the request against the validator, which also adds the validator
+     * to the response. The validator is read before the resource is loaded, so a resource changed in between
+     * goes out with an older validator and is sent again on the next request rather than never.
+     *
+     * @return whether the client's copy is current, in which case the response status is set to 304
+     */
+    private static boolean isNotModified(WebRequest webRequest, Optional<ResourceValidator> validator) {
+        return validator.isPresent() && webRequest.checkNotModified(validator.get().eTag(),
+                validator.get().lastModified() != null ? validator.get().lastModified().toEpochMilli() : -1);
+    }
+}
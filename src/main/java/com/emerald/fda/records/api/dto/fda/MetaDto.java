@@ -1,12 +1,32 @@
 package com.emerald.fda.records.api.dto.fda;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 /**
  * Data Transfer Object for the metadata section of the FDA API response.
+ *
+ * @param stale true when the response is the last known response for the search, served because the
+ *              OpenFDA API is currently unavailable; omitted otherwise
  */
 public record MetaDto(
         String disclaimer,
         String terms,
         String license,
         String last_updated,
-        ResultsMetaDto results
-) {}
\ No newline at end of file
+        ResultsMetaDto results,
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        Boolean stale
+) {
+    public MetaDto(String disclaimer, String terms, String license, String last_updated, ResultsMetaDto results) {
+        this(disclaimer, terms, license, last_updated, results, null);
+    }
+
+    /**
+     * Returns a copy of this metadata flagged as stale.
+     *
+     * @return the stale metadata
+     */
+    public MetaDto asStale() {
+        return new MetaDto(disclaimer, terms, license, last_updated, results, true);
+    }
+}
@@ -0,0 +1,13 @@
+package com.emerald.fda.records.api.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Data Transfer Object for one manufacturer and optional brand name of a batch search.
+ */
+public record SearchCriteriaDto(
+        @NotBlank(message = "Manufacturer name is required")
+        String manufacturerName,
+
+        String brandName
+) {}
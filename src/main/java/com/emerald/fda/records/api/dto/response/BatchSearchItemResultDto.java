@@ -0,0 +1,15 @@
+package com.emerald.fda.records.api.dto.response;
+
+import com.emerald.fda.records.api.dto.fda.DrugApplicationResultDto;
+import java.util.List;
+
+/**
+ * Data Transfer Object for the drug applications found for one search criteria of a batch search.
+ */
+public record BatchSearchItemResultDto(
+        int index,
+        String manufacturerName,
+        String brandName,
+        int total,
+        List<DrugApplicationResultDto> results
+) {}
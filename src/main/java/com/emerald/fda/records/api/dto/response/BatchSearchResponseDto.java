@@ -0,0 +1,10 @@
+package com.emerald.fda.records.api.dto.response;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for the results of a batch search, one item per search criteria in request order.
+ */
+public record BatchSearchResponseDto(
+        List<BatchSearchItemResultDto> items
+) {}
@@ -0,0 +1,23 @@
+package com.emerald.fda.records.api.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Data Transfer Object for the outcome of storing one drug application record of a batch.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchStoreItemResultDto(
+        int index,
+        String applicationNumber,
+        Status status,
+        String error
+) {
+    /**
+     * Outcome of storing a drug application record.
+     */
+    public enum Status {
+        CREATED,
+        UPDATED,
+        FAILED
+    }
+}
@@ -0,0 +1,35 @@
+package com.emerald.fda.records.api.dto.response;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object summarizing the outcome of storing a batch of drug application records.
+ */
+public record BatchStoreResponseDto(
+        int created,
+        int updated,
+        int failed,
+        List<BatchStoreItemResultDto> items
+) {
+    /**
+     * Creates a new BatchStoreResponseDto, counting the outcomes of the given items.
+     *
+     * @param items the outcome of each record of the batch, in request order
+     * @return a new BatchStoreResponseDto instance
+     */
+    public static BatchStoreResponseDto from(List<BatchStoreItemResultDto> items) {
+        int created = 0;
+        int updated = 0;
+        int failed = 0;
+
+        for (var item : items) {
+            switch (item.status()) {
+                case CREATED -> created++;
+                case UPDATED -> updated++;
+                case FAILED -> failed++;
+            }
+        }
+
+        return new BatchStoreResponseDto(created, updated, failed, items);
+    }
+}
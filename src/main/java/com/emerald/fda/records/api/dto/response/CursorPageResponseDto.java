@@ -0,0 +1,21 @@
+package com.emerald.fda.records.api.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+
+/**
+ * Generic Data Transfer Object for cursor-paginated responses.
+ *
+ * @param content       the items of the page
+ * @param size          the requested page size
+ * @param nextCursor    the opaque cursor of the next page, or null if this is the last page
+ * @param totalElements the total number of items, only present when requested
+ * @param <T>           the type of items in the page
+ */
+public record CursorPageResponseDto<T>(
+        List<T> content,
+        int size,
+        String nextCursor,
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        Long totalElements
+) {}
@@ -0,0 +1,31 @@
+package com.emerald.fda.records.api.dto.response;
+
+import com.emerald.fda.records.api.entity.DrugApplicationRecord;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Read-only view of a stored drug application record, detached from the persistence context so that
+ * serializing it can never trigger lazy loading.
+ */
+public record DrugApplicationRecordDto(
+        String applicationNumber,
+        String manufacturerName,
+        String substanceName,
+        Set<String> productNumbers
+) {
+    /**
+     * Creates a DrugApplicationRecordDto from an entity whose product numbers are already loaded.
+     *
+     * @param record the drug application record entity
+     * @return a new DrugApplicationRecordDto instance
+     */
+    public static DrugApplicationRecordDto from(DrugApplicationRecord record) {
+        return new DrugApplicationRecordDto(
+                record.getApplicationNumber(),
+                record.getManufacturerName(),
+                record.getSubstanceName(),
+                new TreeSet<>(record.getProductNumbers())
+        );
+    }
+}
@@ -7,7 +7,11 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
 import lombok.AllArgsConstructor;
@@ -15,18 +19,27 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Entity class representing a drug application record stored in the system.
+ * <p>
+ * Records and their product numbers are kept in the second-level cache, in the read-write regions
+ * {@value #CACHE_REGION} and {@value #PRODUCT_NUMBERS_CACHE_REGION}.
  */
 @Entity
 @Table(name = "drug_application_record")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = DrugApplicationRecord.CACHE_REGION)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class DrugApplicationRecord {
+    public static final String CACHE_REGION = "drug-application-record";
+    public static final String PRODUCT_NUMBERS_CACHE_REGION = "drug-application-record.product-numbers";
+
     /**
      * Application number, used as the primary key.
      */
@@ -55,6 +68,26 @@ public class DrugApplicationRecord {
             joinColumns = @JoinColumn(name = "application_number")
     )
     @Column(name = "product_number", nullable = false)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = DrugApplicationRecord.PRODUCT_NUMBERS_CACHE_REGION)
     @Builder.Default
     private Set<String> productNumbers = new HashSet<>();
+
+    /**
+     * Version of the record, incremented whenever the record or its product numbers change.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    /**
+     * When the record or its product numbers last changed.
+     */
+    @Column(name = "last_modified", nullable = false)
+    private Instant lastModified;
+
+    @PrePersist
+    @PreUpdate
+    void updateLastModified() {
+        lastModified = Instant.now();
+    }
 }
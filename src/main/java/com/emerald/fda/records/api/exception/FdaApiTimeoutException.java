@@ -0,0 +1,10 @@
+package com.emerald.fda.records.api.exception;
+
+/**
+ * Thrown when an asynchronous search does not receive an answer from the OpenFDA API in time.
+ */
+public class FdaApiTimeoutException extends RuntimeException {
+    public FdaApiTimeoutException(String message) {
+        super(message);
+    }
+}
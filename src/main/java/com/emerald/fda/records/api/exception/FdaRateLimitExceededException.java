@@ -0,0 +1,20 @@
+package com.emerald.fda.records.api.exception;
+
+import java.time.Duration;
+import lombok.Getter;
+
+/**
+ * Thrown when an OpenFDA call cannot be queued because the queue of calls waiting for the request quota is full.
+ */
+@Getter
+public class FdaRateLimitExceededException extends RuntimeException {
+    /**
+     * The estimated time until the queued calls have been sent and a new call would be accepted.
+     */
+    private final Duration retryAfter;
+
+    public FdaRateLimitExceededException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
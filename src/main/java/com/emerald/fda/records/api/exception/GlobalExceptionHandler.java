@@ -1,11 +1,15 @@
 package com.emerald.fda.records.api.exception;
 
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import jakarta.validation.ConstraintViolationException;
 import java.time.LocalDateTime;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.service.spi.ServiceException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -43,6 +47,97 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(body, HttpStatus.SERVICE_UNAVAILABLE);
     }
 
+    /**
+     * Handles asynchronous searches that the FDA API did not answer in time.
+     *
+     * @param ex      the exception
+     * @param request the web request
+     * @return a response entity with an error message
+     */
+    @ExceptionHandler(FdaApiTimeoutException.class)
+    public ResponseEntity<Object> handleFdaApiTimeoutException(FdaApiTimeoutException ex, WebRequest request) {
+        log.warn("FDA API timeout: {}", ex.getMessage());
+
+        var body = new LinkedHashMap<String, Object>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.GATEWAY_TIMEOUT.value());
+        body.put("error", "Gateway Timeout");
+        body.put("message", ex.getMessage());
+        body.put("path", request.getDescription(false));
+
+        return new ResponseEntity<>(body, HttpStatus.GATEWAY_TIMEOUT);
+    }
+
+    /**
+     * Handles FDA API calls rejected by the circuit breaker or the bulkhead, for which no stale
+     * response was available.
+     *
+     * @param ex      the exception
+     * @param request the web request
+     * @return a response entity with an error message
+     */
+    @ExceptionHandler({CallNotPermittedException.class, BulkheadFullException.class})
+    public ResponseEntity<Object> handleFdaApiRejection(RuntimeException ex, WebRequest request) {
+        log.warn("FDA API call rejected: {}", ex.getMessage());
+
+        var body = new LinkedHashMap<String, Object>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        body.put("error", "Service Unavailable");
+        body.put("message", "FDA API unavailable: " + ex.getMessage());
+        body.put("path", request.getDescription(false));
+
+        return new ResponseEntity<>(body, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * Handles FDA API calls rejected because too many calls are already waiting for the request quota.
+     *
+     * @param ex      the exception
+     * @param request the web request
+     * @return a response entity with an error message and a Retry-After header
+     */
+    @ExceptionHandler(FdaRateLimitExceededException.class)
+    public ResponseEntity<Object> handleFdaRateLimitExceededException(
+            FdaRateLimitExceededException ex, WebRequest request) {
+
+        log.warn("FDA API rate limit exceeded: {}", ex.getMessage());
+
+        var body = new LinkedHashMap<String, Object>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        body.put("error", "Too Many Requests");
+        body.put("message", ex.getMessage());
+        body.put("path", request.getDescription(false));
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfter().toSeconds()))
+                .body(body);
+    }
+
+    /**
+     * Handles searches against the local index while it is not loaded.
+     *
+     * @param ex      the exception
+     * @param request the web request
+     * @return a response entity with an error message
+     */
+    @ExceptionHandler(LocalIndexUnavailableException.class)
+    public ResponseEntity<Object> handleLocalIndexUnavailableException(
+            LocalIndexUnavailableException ex, WebRequest request) {
+
+        log.warn("Local search unavailable: {}", ex.getMessage());
+
+        var body = new LinkedHashMap<String, Object>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        body.put("error", "Service Unavailable");
+        body.put("message", ex.getMessage());
+        body.put("path", request.getDescription(false));
+
+        return new ResponseEntity<>(body, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     /**
      * Handles HTTP client errors from the FDA API.
      *
@@ -64,6 +159,23 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(body, ex.getStatusCode());
     }
 
+    /**
+     * Handles failed FDA API calls. A call the FDA API answered with a client error, such as 404 Not Found
+     * for a search without matches, is answered with that error.
+     *
+     * @param ex      the exception
+     * @param request the web request
+     * @return a response entity with an error message
+     */
+    @ExceptionHandler(ServiceException.class)
+    public ResponseEntity<Object> handleServiceException(ServiceException ex, WebRequest request) {
+        if (ex.getCause() instanceof HttpClientErrorException clientError) {
+            return handleHttpClientErrorException(clientError, request);
+        }
+
+        return handleAllExceptions(ex, request);
+    }
+
     /**
      * Handles validation errors.
      *
@@ -87,6 +199,27 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles pagination cursors that cannot be decoded.
+     *
+     * @param ex      the exception
+     * @param request the web request
+     * @return a response entity with an error message
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Object> handleInvalidCursorException(InvalidCursorException ex, WebRequest request) {
+        log.warn("Invalid cursor: {}", ex.getMessage());
+
+        var body = new LinkedHashMap<String, Object>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        body.put("error", "Bad Request");
+        body.put("message", ex.getMessage());
+        body.put("path", request.getDescription(false));
+
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
+
     /**
      * Handles all other exceptions.
      *
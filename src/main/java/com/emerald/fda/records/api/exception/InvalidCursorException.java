@@ -0,0 +1,10 @@
+package com.emerald.fda.records.api.exception;
+
+/**
+ * Thrown when a pagination cursor supplied by a client cannot be decoded.
+ */
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.emerald.fda.records.api.exception;
+
+/**
+ * Thrown when a search must be served from the local drug application index but the index is not loaded.
+ */
+public class LocalIndexUnavailableException extends RuntimeException {
+    public LocalIndexUnavailableException(String message) {
+        super(message);
+    }
+}
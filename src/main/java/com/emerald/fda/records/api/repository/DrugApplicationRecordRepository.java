@@ -1,17 +1,212 @@
 package com.emerald.fda.records.api.repository;
 
 import com.emerald.fda.records.api.entity.DrugApplicationRecord;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 /**
  * Repository interface for managing {@link DrugApplicationRecord} entities.
  */
-public interface DrugApplicationRecordRepository extends JpaRepository<DrugApplicationRecord, String> {
+public interface DrugApplicationRecordRepository
+        extends JpaRepository<DrugApplicationRecord, String>, DrugApplicationRecordRepositoryCustom {
+    /**
+     * Number of rows fetched per round trip by {@link #streamAllOrderedByApplicationNumber()}.
+     */
+    int STREAM_FETCH_SIZE = 500;
+
+    /**
+     * Query space of the drug application table, which the native writes to it are synchronized with. Hibernate
+     * locks the second-level cache regions of the records for the transaction, drops them once it completed and
+     * invalidates the cached queries reading the table, as for its own writes.
+     */
+    String RECORD_SPACE = "drug_application_record";
+
+    /**
+     * Query space of the product number table, which the native writes to it are synchronized with, see
+     * {@link #RECORD_SPACE}.
+     */
+    String PRODUCT_NUMBERS_SPACE = "product_numbers";
+
     /**
      * Finds all drug applications with pagination.
      */
     @Override
     Page<DrugApplicationRecord> findAll(Pageable pageable);
+
+    /**
+     * Counts the drug applications. The count is kept in the query cache until a drug application is
+     * written.
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    long count();
+
+    /**
+     * Finds the drug applications with the given application numbers in a single query,
+     * fetching their product numbers along with them.
+     */
+    @EntityGraph(attributePaths = "productNumbers")
+    List<DrugApplicationRecord> findAllByApplicationNumberIn(Collection<String> applicationNumbers);
+
+    /**
+     * Streams all drug applications ordered by application number through a forward-only cursor, fetching
+     * {@value #STREAM_FETCH_SIZE} rows per round trip. Must be consumed within a transaction and closed
+     * afterwards; product numbers are not fetched.
+     *
+     * @return the stream of drug applications
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r FROM DrugApplicationRecord r ORDER BY r.applicationNumber")
+    Stream<DrugApplicationRecord> streamAllOrderedByApplicationNumber();
+
+    /**
+     * Finds the product numbers of the given drug applications with one query.
+     *
+     * @param applicationNumbers the application numbers
+     * @return pairs of application number and product number
+     */
+    @Query("""
+            SELECT r.applicationNumber, p
+            FROM DrugApplicationRecord r JOIN r.productNumbers p
+            WHERE r.applicationNumber IN :applicationNumbers
+            """)
+    List<Object[]> findProductNumbersByApplicationNumberIn(
+            @Param("applicationNumbers") Collection<String> applicationNumbers);
+
+    /**
+     * Finds a drug application by its application number, fetching its product numbers along with it.
+     * Declared as a JPQL query rather than a derived one so its query plan is cached. The record is not put
+     * into the second-level cache, since it may have been written by native statements not committed yet.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+    @Query("""
+            SELECT r FROM DrugApplicationRecord r LEFT JOIN FETCH r.productNumbers
+            WHERE r.applicationNumber = :applicationNumber
+            """)
+    Optional<DrugApplicationRecord> findWithProductNumbersByApplicationNumber(
+            @Param("applicationNumber") String applicationNumber);
+
+    /**
+     * Finds the version of a drug application without loading it. The version is kept in the query cache
+     * until a drug application is written.
+     *
+     * @param applicationNumber the application number
+     * @return the version, if the drug application exists
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("""
+            SELECT new com.emerald.fda.records.api.repository.DrugApplicationRecordVersion(
+                r.applicationNumber, r.version, r.lastModified)
+            FROM DrugApplicationRecord r
+            WHERE r.applicationNumber = :applicationNumber
+            """)
+    Optional<DrugApplicationRecordVersion> findVersionByApplicationNumber(
+            @Param("applicationNumber") String applicationNumber);
+
+    /**
+     * Finds the versions of a page of drug applications ordered by application number, the same page
+     * {@link #findAllDrugApplicationRecordDtos(Pageable)} returns, without loading them. The versions are
+     * kept in the query cache until a drug application is written.
+     *
+     * @param pageable the pagination information
+     * @return the versions
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("""
+            SELECT new com.emerald.fda.records.api.repository.DrugApplicationRecordVersion(
+                r.applicationNumber, r.version, r.lastModified)
+            FROM DrugApplicationRecord r
+            ORDER BY r.applicationNumber
+            """)
+    List<DrugApplicationRecordVersion> findVersionsOrderedByApplicationNumber(Pageable pageable);
+
+    /**
+     * Finds when any drug application last changed. The time is kept in the query cache until a drug
+     * application is written.
+     *
+     * @return the latest modification time, or empty when there are no drug applications
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT MAX(r.lastModified) FROM DrugApplicationRecord r")
+    Optional<Instant> findLatestLastModified();
+
+    /**
+     * Inserts a drug application or updates its manufacturer and substance names if it already exists,
+     * in a single statement. An existing row whose names are unchanged is left untouched, so concurrent
+     * writers of the same application do not queue up on its row lock. The persistence context is
+     * flushed before and cleared after the statement so that no stale copy of the record is returned
+     * afterwards. Being native, the statement maintains the version and modification time itself, and it is
+     * synchronized with the second-level cache through {@link #RECORD_SPACE}.
+     *
+     * @return the number of affected rows
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = RECORD_SPACE))
+    @Query(value = """
+            MERGE INTO drug_application_record t
+            USING (VALUES (CAST(:applicationNumber AS VARCHAR(255)), CAST(:manufacturerName AS VARCHAR(255)),
+                           CAST(:substanceName AS VARCHAR(255))))
+                AS s(application_number, manufacturer_name, substance_name)
+            ON t.application_number = s.application_number
+            WHEN MATCHED AND (t.manufacturer_name <> s.manufacturer_name OR t.substance_name <> s.substance_name)
+                THEN UPDATE SET manufacturer_name = s.manufacturer_name, substance_name = s.substance_name,
+                                version = t.version + 1, last_modified = CURRENT_TIMESTAMP
+            WHEN NOT MATCHED
+                THEN INSERT (application_number, manufacturer_name, substance_name, version, last_modified)
+                VALUES (s.application_number, s.manufacturer_name, s.substance_name, 0, CURRENT_TIMESTAMP)
+            """, nativeQuery = true)
+    int upsert(@Param("applicationNumber") String applicationNumber,
+               @Param("manufacturerName") String manufacturerName,
+               @Param("substanceName") String substanceName);
+
+    /**
+     * Adds the product numbers of a drug application that it does not have yet, in a single statement.
+     * The statement is synchronized with the second-level cache through {@link #PRODUCT_NUMBERS_SPACE}.
+     *
+     * @return the number of affected rows
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = PRODUCT_NUMBERS_SPACE))
+    @Query(value = """
+            INSERT INTO product_numbers (application_number, product_number)
+            SELECT :applicationNumber, p.product_number
+            FROM UNNEST(CAST(:productNumbers AS VARCHAR(255) ARRAY)) AS p(product_number)
+            WHERE NOT EXISTS (SELECT 1 FROM product_numbers t
+                              WHERE t.application_number = :applicationNumber AND t.product_number = p.product_number)
+            """, nativeQuery = true)
+    int addProductNumbers(@Param("applicationNumber") String applicationNumber,
+                          @Param("productNumbers") String[] productNumbers);
+
+    /**
+     * Increments the version of a drug application and updates its modification time, for changes made
+     * with native statements that do not maintain them, such as {@link #addProductNumbers(String, String[])}.
+     * Like {@link #upsert(String, String, String)}, it is synchronized with the second-level cache through
+     * {@link #RECORD_SPACE}.
+     *
+     * @return the number of affected rows
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = RECORD_SPACE))
+    @Query(value = """
+            UPDATE drug_application_record
+            SET version = version + 1, last_modified = CURRENT_TIMESTAMP
+            WHERE application_number = :applicationNumber
+            """, nativeQuery = true)
+    int incrementVersion(@Param("applicationNumber") String applicationNumber);
 }
@@ -0,0 +1,65 @@
+package com.emerald.fda.records.api.repository;
+
+import com.emerald.fda.records.api.dto.response.DrugApplicationRecordDto;
+import com.emerald.fda.records.api.entity.DrugApplicationRecord;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Custom operations of {@link DrugApplicationRecordRepository} that are not derived by Spring Data.
+ */
+public interface DrugApplicationRecordRepositoryCustom {
+    /**
+     * Persists drug application records that are known not to exist yet. Unlike
+     * {@link DrugApplicationRecordRepository#saveAll(Iterable)}, this does not select each record
+     * before inserting it, so the inserts can be sent as a JDBC batch.
+     *
+     * @param records the new drug application records
+     */
+    void persistAll(Collection<DrugApplicationRecord> records);
+
+    /**
+     * Finds a page of drug applications ordered by application number. The page of records is selected
+     * first and the product numbers of all of them are then loaded with one query, so a page costs a
+     * fixed number of queries regardless of its size. The results of these queries are kept in the query
+     * cache until a drug application is written.
+     *
+     * @param pageable the pagination information
+     * @return the page of drug applications
+     */
+    Page<DrugApplicationRecordDto> findAllDrugApplicationRecordDtos(Pageable pageable);
+
+    /**
+     * Finds the drug applications that follow the given application number, ordered by application
+     * number. The records are located through the primary key index rather than skipped with an
+     * offset, so every page costs the same no matter how deep it is.
+     *
+     * @param afterApplicationNumber the application number to continue after, or null to start at the beginning
+     * @param limit                  the maximum number of drug applications to return
+     * @return the drug applications
+     */
+    List<DrugApplicationRecordDto> findDrugApplicationRecordDtosAfter(String afterApplicationNumber, int limit);
+
+    /**
+     * Finds a drug application by its application number together with its product numbers, from the
+     * second-level cache when it holds them.
+     *
+     * @param applicationNumber the application number
+     * @return the drug application, if it exists
+     */
+    Optional<DrugApplicationRecordDto> findDrugApplicationRecordDtoById(String applicationNumber);
+
+    /**
+     * Evicts drug applications written without Hibernate, by plain JDBC, from the
+     * second-level cache along with their product numbers, and drops the cached query results. To be called
+     * after the writes in the same transaction: the records are evicted right away, for the rest of the
+     * transaction, and again once it completed, dropping what concurrent readers cached in between and, on
+     * a rollback, what was never committed.
+     *
+     * @param applicationNumbers the application numbers
+     */
+    void evictFromCache(Collection<String> applicationNumbers);
+}
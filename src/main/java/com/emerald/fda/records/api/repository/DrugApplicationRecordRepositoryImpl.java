@@ -0,0 +1,150 @@
+package com.emerald.fda.records.api.repository;
+
+import com.emerald.fda.records.api.dto.response.DrugApplicationRecordDto;
+import com.emerald.fda.records.api.entity.DrugApplicationRecord;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import org.hibernate.Cache;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Implementation of {@link DrugApplicationRecordRepositoryCustom}.
+ */
+class DrugApplicationRecordRepositoryImpl implements DrugApplicationRecordRepositoryCustom {
+    private static final String PRODUCT_NUMBERS_ROLE = DrugApplicationRecord.class.getName() + ".productNumbers";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void persistAll(Collection<DrugApplicationRecord> records) {
+        records.forEach(entityManager::persist);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<DrugApplicationRecordDto> findAllDrugApplicationRecordDtos(Pageable pageable) {
+        var query = entityManager.createQuery("""
+                SELECT r.applicationNumber, r.manufacturerName, r.substanceName
+                FROM DrugApplicationRecord r
+                ORDER BY r.applicationNumber
+                """, Object[].class)
+                .setHint(HibernateHints.HINT_CACHEABLE, true);
+
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+
+        var content = withProductNumbers(query.getResultList(), true);
+
+        return PageableExecutionUtils.getPage(content, pageable, () -> entityManager
+                .createQuery("SELECT COUNT(r) FROM DrugApplicationRecord r", Long.class)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .getSingleResult());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DrugApplicationRecordDto> findDrugApplicationRecordDtosAfter(String afterApplicationNumber, int limit) {
+        var query = afterApplicationNumber == null
+                ? entityManager.createQuery("""
+                        SELECT r.applicationNumber, r.manufacturerName, r.substanceName
+                        FROM DrugApplicationRecord r
+                        ORDER BY r.applicationNumber
+                        """, Object[].class)
+                : entityManager.createQuery("""
+                        SELECT r.applicationNumber, r.manufacturerName, r.substanceName
+                        FROM DrugApplicationRecord r
+                        WHERE r.applicationNumber > :afterApplicationNumber
+                        ORDER BY r.applicationNumber
+                        """, Object[].class)
+                .setParameter("afterApplicationNumber", afterApplicationNumber);
+
+        return withProductNumbers(query.setMaxResults(limit).getResultList(), false);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<DrugApplicationRecordDto> findDrugApplicationRecordDtoById(String applicationNumber) {
+        return Optional.ofNullable(entityManager.find(DrugApplicationRecord.class, applicationNumber))
+                .map(record -> new DrugApplicationRecordDto(
+                        record.getApplicationNumber(),
+                        record.getManufacturerName(),
+                        record.getSubstanceName(),
+                        new TreeSet<>(record.getProductNumbers())));
+    }
+
+    @Override
+    public void evictFromCache(Collection<String> applicationNumbers) {
+        if (applicationNumbers.isEmpty()) {
+            return;
+        }
+
+        var cache = entityManager.getEntityManagerFactory().getCache().unwrap(Cache.class);
+        var evicted = List.copyOf(applicationNumbers);
+        evict(cache, evicted);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(cache, evicted);
+                }
+            });
+        }
+    }
+
+    private static void evict(Cache cache, List<String> applicationNumbers) {
+        applicationNumbers.forEach(applicationNumber -> {
+            cache.evictEntityData(DrugApplicationRecord.class, applicationNumber);
+            cache.evictCollectionData(PRODUCT_NUMBERS_ROLE, applicationNumber);
+        });
+        cache.evictDefaultQueryRegion();
+    }
+
+    /**
+     * Combines selected record rows with their product numbers, which are loaded with a single query,
+     * optionally kept in the query cache.
+     */
+    private List<DrugApplicationRecordDto> withProductNumbers(List<Object[]> rows, boolean cacheable) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+
+        var applicationNumbers = rows.stream().map(row -> (String) row[0]).toList();
+        Map<String, Set<String>> productNumbers = new HashMap<>();
+
+        entityManager.createQuery("""
+                        SELECT r.applicationNumber, p
+                        FROM DrugApplicationRecord r JOIN r.productNumbers p
+                        WHERE r.applicationNumber IN :applicationNumbers
+                        """, Object[].class)
+                .setParameter("applicationNumbers", applicationNumbers)
+                .setHint(HibernateHints.HINT_CACHEABLE, cacheable)
+                .getResultList()
+                .forEach(row -> productNumbers.computeIfAbsent((String) row[0], key -> new TreeSet<>())
+                        .add((String) row[1]));
+
+        return rows.stream()
+                .map(row -> new DrugApplicationRecordDto(
+                        (String) row[0],
+                        (String) row[1],
+                        (String) row[2],
+                        productNumbers.getOrDefault((String) row[0], Set.of())))
+                .toList();
+    }
+}
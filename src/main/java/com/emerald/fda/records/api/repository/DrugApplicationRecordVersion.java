@@ -0,0 +1,17 @@
+package com.emerald.fda.records.api.repository;
+
+import java.time.Instant;
+
+/**
+ * Version of a stored drug application record, selected without loading the record.
+ *
+ * @param applicationNumber the application number
+ * @param version           the version, incremented on every change
+ * @param lastModified      when the record last changed
+ */
+public record DrugApplicationRecordVersion(
+        String applicationNumber,
+        long version,
+        Instant lastModified
+) {
+}
@@ -0,0 +1,45 @@
+package com.emerald.fda.records.api.service;
+
+/**
+ * A budget for extra calls, such as retries and hedges, earned as a share of the regular calls: every
+ * regular call earns {@code ratio} of an extra call, and at most {@code maxBalance} unspent extra calls
+ * are kept. Extra calls thus stay below that share of the traffic even when every call would want one.
+ */
+final class CallBudget {
+    private final double ratio;
+    private final double maxBalance;
+    private double balance;
+
+    /**
+     * @param ratio      the extra calls earned per regular call
+     * @param maxBalance the most unspent extra calls kept, which the budget starts with
+     */
+    CallBudget(double ratio, double maxBalance) {
+        this.ratio = ratio;
+        this.maxBalance = maxBalance;
+        this.balance = maxBalance;
+    }
+
+    synchronized void earn() {
+        balance = Math.min(maxBalance, balance + ratio);
+    }
+
+    /**
+     * @return whether an extra call may be made, which is then paid from the budget
+     */
+    synchronized boolean trySpend() {
+        if (balance < 1) {
+            return false;
+        }
+
+        balance--;
+        return true;
+    }
+
+    /**
+     * Returns an extra call paid for but not made.
+     */
+    synchronized void refund() {
+        balance = Math.min(maxBalance, balance + 1);
+    }
+}
@@ -0,0 +1,154 @@
+package com.emerald.fda.records.api.service;
+
+import com.emerald.fda.records.api.repository.DrugApplicationRecordRepository;
+import com.emerald.fda.records.api.timing.RequestTiming;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache of the serialized responses of stored drug application records, keyed by application number, so
+ * that reading a hot record neither queries the database nor runs Jackson. When {@code gzip} is enabled,
+ * responses of at least {@code gzip-min-size} bytes are also kept gzip-compressed, for clients accepting it.
+ * <p>
+ * A record is loaded into the cache while holding its entry, and writers invalidate the records they
+ * changed once their transaction has committed. An invalidation waits for a load of the same record in
+ * progress and then drops it, so a load that read the record before the change cannot outlive it. Since
+ * a load reads through the second-level cache, entries expire {@code time-to-live} after they were loaded,
+ * by default with the second-level cache, so a record it served stale is not kept any longer than there.
+ */
+@Component
+public class DrugApplicationRecordResponseCache {
+    private final DrugApplicationRecordRepository repository;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, CachedResponse> cache;
+    private final int gzipMinSize;
+
+    public DrugApplicationRecordResponseCache(DrugApplicationRecordRepository repository,
+                                              ObjectMapper objectMapper,
+                                              MeterRegistry meterRegistry,
+                                              @Value("${fda.records.response-cache.enabled:true}") boolean enabled,
+                                              @Value("${fda.records.response-cache.maximum-size:10000}") long maximumSize,
+                                              @Value("${fda.records.response-cache.time-to-live:PT1H}") Duration timeToLive,
+                                              @Value("${fda.records.response-cache.gzip:true}") boolean gzip,
+                                              @Value("${fda.records.response-cache.gzip-min-size:1024}") int gzipMinSize) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.gzipMinSize = gzip ? gzipMinSize : Integer.MAX_VALUE;
+
+        if (enabled) {
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(maximumSize)
+                    .expireAfterWrite(timeToLive)
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "records.response");
+        } else {
+            this.cache = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * Gets the serialized response of a drug application, loading and serializing it on a cache miss.
+     * Only to be called while the cache is enabled.
+     *
+     * @param applicationNumber the application number
+     * @return the cached response, or empty when the drug application does not exist
+     */
+    public Optional<CachedResponse> get(String applicationNumber) {
+        var timing = RequestTiming.current();
+        var cached = cache.getIfPresent(applicationNumber);
+        if (cached != null) {
+            timing.mark("cache", "hit");
+            return Optional.of(cached);
+        }
+
+        return Optional.ofNullable(cache.get(applicationNumber, this::load));
+    }
+
+    /**
+     * Drops the response of a drug application; to be called after the change to it has been committed.
+     *
+     * @param applicationNumber the application number
+     */
+    public void invalidate(String applicationNumber) {
+        if (cache != null) {
+            cache.invalidate(applicationNumber);
+        }
+    }
+
+    /**
+     * Drops the responses of drug applications; to be called after the changes to them have been committed.
+     *
+     * @param applicationNumbers the application numbers
+     */
+    public void invalidateAll(Collection<String> applicationNumbers) {
+        if (cache != null) {
+            cache.invalidateAll(applicationNumbers);
+        }
+    }
+
+    /**
+     * Loads a drug application and serializes it. The version is read before the record, so a record
+     * changed in between is cached with the older version and revalidated by clients rather than never.
+     */
+    private CachedResponse load(String applicationNumber) {
+        var version = repository.findVersionByApplicationNumber(applicationNumber);
+        if (version.isEmpty()) {
+            return null;
+        }
+
+        return repository.findDrugApplicationRecordDtoById(applicationNumber)
+                .map(record -> {
+                    try {
+                        byte[] json = objectMapper.writeValueAsBytes(record);
+                        byte[] gzipJson = json.length >= gzipMinSize ? gzip(json) : null;
+
+                        return new CachedResponse(json, gzipJson, ResourceValidator.of(version.get()));
+                    } catch (JsonProcessingException ex) {
+                        throw new IllegalStateException("Failed to serialize drug application " + applicationNumber, ex);
+                    }
+                })
+                .orElse(null);
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        var compressed = new ByteArrayOutputStream(bytes.length / 2);
+        try (var gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(bytes);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * The serialized response of a drug application.
+     *
+     * @param json      the JSON body
+     * @param gzipJson  the gzip-compressed JSON body, or null if the body is too small to be worth compressing
+     * @param validator the validator of the drug application
+     */
+    public record CachedResponse(
+            byte[] json,
+            byte[] gzipJson,
+            ResourceValidator validator
+    ) {
+    }
+}
@@ -0,0 +1,179 @@
+package com.emerald.fda.records.api.service;
+
+import com.emerald.fda.records.api.dto.request.StoreDrugApplicationRecordDto;
+import com.emerald.fda.records.api.dto.response.BatchStoreItemResultDto;
+import com.emerald.fda.records.api.dto.response.BatchStoreItemResultDto.Status;
+import com.emerald.fda.records.api.dto.response.BatchStoreResponseDto;
+import com.emerald.fda.records.api.entity.DrugApplicationRecord;
+import com.emerald.fda.records.api.repository.DrugApplicationRecordRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service for storing drug application records in bulk.
+ * <p>
+ * Records are written in chunks, each in its own transaction: the existing records of a chunk are
+ * loaded with one query, merged in memory, and the resulting inserts and updates are flushed as
+ * JDBC batches on commit. A failing chunk does not affect the other chunks of the batch; its records are
+ * reported failed with a reason that does not expose the database error, which is logged instead.
+ */
+@Service
+@Slf4j
+public class DrugApplicationRecordsBatchService {
+    private final DrugApplicationRecordRepository repository;
+    private final DrugApplicationRecordResponseCache responseCache;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public DrugApplicationRecordsBatchService(DrugApplicationRecordRepository repository,
+                                              DrugApplicationRecordResponseCache responseCache,
+                                              Validator validator,
+                                              PlatformTransactionManager transactionManager,
+                                              @Value("${fda.records.batch.chunk-size:500}") int chunkSize) {
+        this.repository = repository;
+        this.responseCache = responseCache;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Saves a batch of drug applications. Like
+     * {@link DrugApplicationRecordsService#saveDrugApplicationRecord(String, String, String, java.util.Set)},
+     * existing applications are updated and their product numbers merged.
+     *
+     * @param records The drug applications to save
+     * @return The outcome of each drug application, in request order
+     */
+    public BatchStoreResponseDto saveDrugApplicationRecords(List<StoreDrugApplicationRecordDto> records) {
+        log.info("Saving batch of {} drug applications", records.size());
+
+        var results = new BatchStoreItemResultDto[records.size()];
+        var validIndexes = new ArrayList<Integer>(records.size());
+
+        for (int index = 0; index < records.size(); index++) {
+            var record = records.get(index);
+            String error = validate(record);
+
+            if (error != null) {
+                results[index] = new BatchStoreItemResultDto(
+                        index, record != null ? record.applicationNumber() : null, Status.FAILED, error);
+            } else {
+                validIndexes.add(index);
+            }
+        }
+
+        for (int from = 0; from < validIndexes.size(); from += chunkSize) {
+            var chunk = validIndexes.subList(from, Math.min(from + chunkSize, validIndexes.size()));
+            saveChunk(records, chunk, results);
+        }
+
+        var response = BatchStoreResponseDto.from(Arrays.asList(results));
+
+        log.info("Saved batch of drug applications: {} created, {} updated, {} failed",
+                response.created(), response.updated(), response.failed());
+
+        return response;
+    }
+
+    private void saveChunk(List<StoreDrugApplicationRecordDto> records,
+                           List<Integer> indexes,
+                           BatchStoreItemResultDto[] results) {
+        try {
+            var chunkResults = transactionTemplate.execute(status -> upsertChunk(records, indexes));
+            chunkResults.forEach(result -> results[result.index()] = result);
+        } catch (RuntimeException ex) {
+            log.error("Failed to save chunk of {} drug applications", indexes.size(), ex);
+
+            for (int index : indexes) {
+                results[index] = new BatchStoreItemResultDto(
+                        index, records.get(index).applicationNumber(), Status.FAILED, failureReason(ex));
+            }
+        } finally {
+            responseCache.invalidateAll(indexes.stream().map(index -> records.get(index).applicationNumber()).toList());
+        }
+    }
+
+    private static String failureReason(RuntimeException ex) {
+        if (ex instanceof DataIntegrityViolationException) {
+            return "Drug application violates a data constraint";
+        }
+        if (ex instanceof ConcurrencyFailureException) {
+            return "Drug application was written concurrently; retry";
+        }
+        return "Drug application could not be saved";
+    }
+
+    private List<BatchStoreItemResultDto> upsertChunk(List<StoreDrugApplicationRecordDto> records,
+                                                      List<Integer> indexes) {
+        var applicationNumbers = indexes.stream()
+                .map(index -> records.get(index).applicationNumber())
+                .collect(Collectors.toSet());
+
+        var existing = new HashMap<>(repository.findAllByApplicationNumberIn(applicationNumbers).stream()
+                .collect(Collectors.toMap(DrugApplicationRecord::getApplicationNumber, Function.identity())));
+        var created = new LinkedHashMap<String, DrugApplicationRecord>();
+        var chunkResults = new ArrayList<BatchStoreItemResultDto>(indexes.size());
+
+        for (int index : indexes) {
+            var dto = records.get(index);
+            var application = existing.get(dto.applicationNumber());
+
+            if (application != null) {
+                application.setManufacturerName(dto.manufacturerName());
+                application.setSubstanceName(dto.substanceName());
+                application.getProductNumbers().addAll(dto.productNumbers());
+
+                chunkResults.add(new BatchStoreItemResultDto(index, dto.applicationNumber(), Status.UPDATED, null));
+            } else {
+                application = DrugApplicationRecord.builder()
+                        .applicationNumber(dto.applicationNumber())
+                        .manufacturerName(dto.manufacturerName())
+                        .substanceName(dto.substanceName())
+                        .productNumbers(new HashSet<>(dto.productNumbers()))
+                        .build();
+
+                existing.put(dto.applicationNumber(), application);
+                created.put(dto.applicationNumber(), application);
+
+                chunkResults.add(new BatchStoreItemResultDto(index, dto.applicationNumber(), Status.CREATED, null));
+            }
+        }
+
+        repository.persistAll(created.values());
+
+        return chunkResults;
+    }
+
+    private String validate(StoreDrugApplicationRecordDto record) {
+        if (record == null) {
+            return "Drug application record is required";
+        }
+
+        var violations = validator.validate(record);
+        if (violations.isEmpty()) {
+            return null;
+        }
+
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+}
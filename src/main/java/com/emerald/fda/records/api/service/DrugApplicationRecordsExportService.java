@@ -0,0 +1,137 @@
+package com.emerald.fda.records.api.service;
+
+import com.emerald.fda.records.api.dto.response.DrugApplicationRecordDto;
+import com.emerald.fda.records.api.entity.DrugApplicationRecord;
+import com.emerald.fda.records.api.repository.DrugApplicationRecordRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service for exporting all stored drug application records as newline-delimited JSON.
+ * <p>
+ * Records are read through a forward-only database cursor and written in chunks: the product numbers
+ * of a chunk are loaded with one query, the chunk is written and flushed to the client, and the
+ * persistence context is cleared. Memory use is bounded by the chunk size rather than the number of
+ * stored records, and the client receives the first chunk as soon as it has been read. The exported
+ * records bypass the second-level cache.
+ */
+@Service
+@Slf4j
+public class DrugApplicationRecordsExportService {
+    private final DrugApplicationRecordRepository repository;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter recordWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public DrugApplicationRecordsExportService(DrugApplicationRecordRepository repository,
+                                               ObjectMapper objectMapper,
+                                               PlatformTransactionManager transactionManager,
+                                               @Value("${fda.records.export.chunk-size:500}") int chunkSize) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.recordWriter = objectMapper.writerFor(DrugApplicationRecordDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Writes every stored drug application, ordered by application number, as one JSON object per line.
+     *
+     * @param outputStream the stream to write to; it is flushed after every chunk but not closed
+     * @return the number of exported drug applications
+     * @throws IOException if writing to the stream fails
+     */
+    public long exportDrugApplicationRecords(OutputStream outputStream) throws IOException {
+        long startNanos = System.nanoTime();
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // records are separated by the newline written after each of them instead
+            generator.setRootValueSeparator(null);
+
+            Long exported = transactionTemplate.execute(status -> {
+                // every record is read once, so caching them would only push out the records read often
+                entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+
+                try (var records = repository.streamAllOrderedByApplicationNumber()) {
+                    var chunk = new ArrayList<DrugApplicationRecord>(chunkSize);
+                    long count = 0;
+
+                    for (var iterator = records.iterator(); iterator.hasNext(); ) {
+                        chunk.add(iterator.next());
+
+                        if (chunk.size() == chunkSize) {
+                            count += writeChunk(chunk, generator);
+                        }
+                    }
+
+                    return count + writeChunk(chunk, generator);
+                }
+            });
+
+            log.info("Exported {} drug applications in {} ms", exported, (System.nanoTime() - startNanos) / 1_000_000);
+
+            return exported;
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private int writeChunk(List<DrugApplicationRecord> chunk, JsonGenerator generator) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+
+        var applicationNumbers = chunk.stream().map(DrugApplicationRecord::getApplicationNumber).toList();
+        Map<String, Set<String>> productNumbers = new HashMap<>();
+        for (var row : repository.findProductNumbersByApplicationNumberIn(applicationNumbers)) {
+            productNumbers.computeIfAbsent((String) row[0], key -> new TreeSet<>()).add((String) row[1]);
+        }
+
+        try {
+            for (var record : chunk) {
+                recordWriter.writeValue(generator, new DrugApplicationRecordDto(
+                        record.getApplicationNumber(),
+                        record.getManufacturerName(),
+                        record.getSubstanceName(),
+                        productNumbers.getOrDefault(record.getApplicationNumber(), Set.of())));
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        int written = chunk.size();
+        chunk.clear();
+        entityManager.clear();
+
+        return written;
+    }
+}
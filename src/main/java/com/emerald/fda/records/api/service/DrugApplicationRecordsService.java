@@ -1,29 +1,83 @@
 package com.emerald.fda.records.api.service;
 
 import com.emerald.fda.records.api.dto.fda.FdaResponseDto;
+import com.emerald.fda.records.api.dto.request.SearchCriteriaDto;
+import com.emerald.fda.records.api.dto.response.BatchSearchItemResultDto;
+import com.emerald.fda.records.api.dto.response.BatchSearchResponseDto;
+import com.emerald.fda.records.api.dto.response.CursorPageResponseDto;
+import com.emerald.fda.records.api.dto.response.DrugApplicationRecordDto;
 import com.emerald.fda.records.api.entity.DrugApplicationRecord;
+import com.emerald.fda.records.api.exception.InvalidCursorException;
+import com.emerald.fda.records.api.exception.LocalIndexUnavailableException;
 import com.emerald.fda.records.api.repository.DrugApplicationRecordRepository;
-import jakarta.transaction.Transactional;
+import com.emerald.fda.records.api.timing.RequestTiming;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import lombok.RequiredArgsConstructor;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.HttpClientErrorException;
 
 /**
  * Service for managing drug applications.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class DrugApplicationRecordsService {
+    private static final int MAX_UPSERT_ATTEMPTS = 3;
+    // the error body OpenFDA answers a search without matches with
+    private static final byte[] NO_MATCHES_BODY = """
+            {
+              "error": {
+                "code": "NOT_FOUND",
+                "message": "No matches found!"
+              }
+            }""".getBytes(StandardCharsets.UTF_8);
+
     private final DrugApplicationRecordRepository repository;
-    private final FdaClientService fdaClientService;
+    private final FdaSearchFanOutService fanOutService;
+    private final FdaBatchSearchService batchSearchService;
+    private final LocalDrugApplicationIndex localIndex;
+    private final DrugApplicationRecordResponseCache responseCache;
+    private final SearchMode searchMode;
+    private final TransactionTemplate transactionTemplate;
+    private final UpsertMode upsertMode;
+
+    public DrugApplicationRecordsService(DrugApplicationRecordRepository repository,
+                                         FdaSearchFanOutService fanOutService,
+                                         FdaBatchSearchService batchSearchService,
+                                         LocalDrugApplicationIndex localIndex,
+                                         DrugApplicationRecordResponseCache responseCache,
+                                         @Value("${openfda.search.mode:remote}") SearchMode searchMode,
+                                         PlatformTransactionManager transactionManager,
+                                         @Value("${fda.records.upsert-mode:merge}") UpsertMode upsertMode) {
+        this.repository = repository;
+        this.fanOutService = fanOutService;
+        this.batchSearchService = batchSearchService;
+        this.localIndex = localIndex;
+        this.responseCache = responseCache;
+        this.searchMode = searchMode;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.upsertMode = upsertMode;
+    }
 
     /**
-     * Searches for drug applications in the FDA database.
+     * Searches for drug applications in the FDA database, served from the OpenFDA API or the
+     * local index depending on the configured {@link SearchMode}. OpenFDA searches for more results
+     * than a single call may return are fanned out by {@link FdaSearchFanOutService}.
      *
      * @param manufacturerName The manufacturer name to search for
      * @param brandName        The optional brand name to search for
@@ -37,11 +91,113 @@ public class DrugApplicationRecordsService {
             int skip,
             int limit) {
 
-        return fdaClientService.searchDrugApplicationRecords(manufacturerName, brandName, skip, limit);
+        return switch (searchMode) {
+            case REMOTE -> fanOutService.searchDrugApplicationRecords(manufacturerName, brandName, skip, limit);
+            case LOCAL -> {
+                if (!localIndex.isReady()) {
+                    throw new LocalIndexUnavailableException("Local drug application index is not loaded yet");
+                }
+                yield searchLocalIndex(manufacturerName, brandName, skip, limit);
+            }
+            case LOCAL_WITH_REMOTE_FALLBACK -> localIndex.isReady()
+                    ? searchLocalIndex(manufacturerName, brandName, skip, limit)
+                    : fanOutService.searchDrugApplicationRecords(manufacturerName, brandName, skip, limit);
+        };
+    }
+
+    /**
+     * Searches the local index, recorded as the {@code index} stage of the {@link RequestTiming}. A search
+     * without matches fails with the same 404 Not Found as the OpenFDA API.
+     */
+    private FdaResponseDto searchLocalIndex(String manufacturerName, String brandName, int skip, int limit) {
+        var response = searchLocalIndexAllowingNoMatches(manufacturerName, brandName, skip, limit);
+
+        if (response.meta() != null && response.meta().results() != null && response.meta().results().total() == 0) {
+            throw HttpClientErrorException.create(HttpStatus.NOT_FOUND, HttpStatus.NOT_FOUND.getReasonPhrase(),
+                    null, NO_MATCHES_BODY, StandardCharsets.UTF_8);
+        }
+
+        return response;
+    }
+
+    private FdaResponseDto searchLocalIndexAllowingNoMatches(String manufacturerName, String brandName,
+                                                            int skip, int limit) {
+        var timing = RequestTiming.current();
+        long startedAt = timing.now();
+
+        try {
+            return localIndex.search(manufacturerName, brandName, skip, limit);
+        } finally {
+            timing.record("index", startedAt);
+        }
     }
 
     /**
-     * Saves a drug application to the database.
+     * Searches for drug applications in the FDA database without blocking the calling thread while the
+     * OpenFDA API is called. OpenFDA searches for more results than a single call may return are fanned out
+     * by {@link FdaSearchFanOutService} like synchronous ones. Searches served from the local index are
+     * answered immediately.
+     *
+     * @param manufacturerName The manufacturer name to search for
+     * @param brandName        The optional brand name to search for
+     * @param skip             The number of results to skip
+     * @param limit            The maximum number of results to return
+     * @return A future completed with the {@link FdaResponseDto} containing the search results
+     */
+    public CompletableFuture<FdaResponseDto> searchDrugApplicationRecordsAsync(
+            String manufacturerName,
+            String brandName,
+            int skip,
+            int limit) {
+
+        if (searchMode == SearchMode.REMOTE
+                || searchMode == SearchMode.LOCAL_WITH_REMOTE_FALLBACK && !localIndex.isReady()) {
+            return fanOutService.searchDrugApplicationRecordsAsync(manufacturerName, brandName, skip, limit);
+        }
+
+        return CompletableFuture.completedFuture(searchDrugApplicationRecords(manufacturerName, brandName, skip, limit));
+    }
+
+    /**
+     * Searches for drug applications matching each of several manufacturer and brand name criteria.
+     * OpenFDA searches are combined into as few calls as possible by {@link FdaBatchSearchService};
+     * searches served from the local index are answered criteria by criteria.
+     *
+     * @param criteria The manufacturer and optional brand names to search for
+     * @param limit    The maximum number of results to return per criteria
+     * @return A {@link BatchSearchResponseDto} with the search results of every criteria, in request order
+     */
+    public BatchSearchResponseDto searchDrugApplicationRecordsBatch(List<SearchCriteriaDto> criteria, int limit) {
+        if (searchMode == SearchMode.REMOTE
+                || searchMode == SearchMode.LOCAL_WITH_REMOTE_FALLBACK && !localIndex.isReady()) {
+            return batchSearchService.searchDrugApplicationRecords(criteria, limit);
+        }
+
+        if (!localIndex.isReady()) {
+            throw new LocalIndexUnavailableException("Local drug application index is not loaded yet");
+        }
+
+        // a criteria without matches is answered with an empty result, as for the OpenFDA API
+        return new BatchSearchResponseDto(IntStream.range(0, criteria.size())
+                .mapToObj(index -> {
+                    var searchCriteria = criteria.get(index);
+                    var response = searchLocalIndexAllowingNoMatches(
+                            searchCriteria.manufacturerName(), searchCriteria.brandName(), 0, limit);
+
+                    return new BatchSearchItemResultDto(
+                            index,
+                            searchCriteria.manufacturerName(),
+                            searchCriteria.brandName(),
+                            response.meta().results().total(),
+                            response.results());
+                })
+                .toList());
+    }
+
+    /**
+     * Saves a drug application to the database. Existing applications are updated and their
+     * product numbers merged, using the configured {@link UpsertMode}. Its cached response is dropped
+     * once the change is committed.
      *
      * @param applicationNumber The application number of the drug application
      * @param manufacturerName  The manufacturer name of the drug application
@@ -49,7 +205,6 @@ public class DrugApplicationRecordsService {
      * @param productNumbers    The product numbers of the drug application
      * @return The saved drug application
      */
-    @Transactional
     public DrugApplicationRecord saveDrugApplicationRecord(
             String applicationNumber,
             String manufacturerName,
@@ -58,6 +213,59 @@ public class DrugApplicationRecordsService {
 
         log.info("Saving drug application with number: {}", applicationNumber);
 
+        try {
+            return switch (upsertMode) {
+                case MERGE -> mergeDrugApplicationRecord(applicationNumber, manufacturerName, substanceName, productNumbers);
+                case SELECT_THEN_SAVE -> transactionTemplate.execute(status ->
+                        selectThenSaveDrugApplicationRecord(applicationNumber, manufacturerName, substanceName, productNumbers));
+            };
+        } finally {
+            // also after a failure, which may have happened while committing
+            responseCache.invalidate(applicationNumber);
+        }
+    }
+
+    /**
+     * Upserts the drug application and its product numbers with single-statement merges. A merge racing
+     * with a concurrent insert of the same application can still hit the primary key, in which case it is
+     * retried in a new transaction and then takes the update path. Adding product numbers to an otherwise
+     * unchanged application increments its version separately. The native statements leave the
+     * second-level cache alone, so the application is evicted from it explicitly.
+     */
+    private DrugApplicationRecord mergeDrugApplicationRecord(
+            String applicationNumber,
+            String manufacturerName,
+            String substanceName,
+            Set<String> productNumbers) {
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> {
+                    int upserted = repository.upsert(applicationNumber, manufacturerName, substanceName);
+                    int added = repository.addProductNumbers(applicationNumber, productNumbers.toArray(String[]::new));
+                    if (added > 0 && upserted == 0) {
+                        repository.incrementVersion(applicationNumber);
+                    }
+
+                    return repository.findWithProductNumbersByApplicationNumber(applicationNumber).orElseThrow();
+                });
+            } catch (DataIntegrityViolationException | ConcurrencyFailureException ex) {
+                if (attempt >= MAX_UPSERT_ATTEMPTS) {
+                    throw ex;
+                }
+
+                log.debug("Retrying upsert of drug application {} after concurrent write: {}",
+                        applicationNumber, ex.getMessage());
+            }
+        }
+    }
+
+    private DrugApplicationRecord selectThenSaveDrugApplicationRecord(
+            String applicationNumber,
+            String manufacturerName,
+            String substanceName,
+            Set<String> productNumbers) {
+
         var existingApplication = repository.findById(applicationNumber);
 
         if (existingApplication.isPresent()) {
@@ -89,11 +297,67 @@ public class DrugApplicationRecordsService {
      * @param pageable The pagination information
      * @return A {@link Page} object containing the drug applications
      */
-    public Page<DrugApplicationRecord> getAllDrugApplicationRecords(Pageable pageable) {
+    public Page<DrugApplicationRecordDto> getAllDrugApplicationRecords(Pageable pageable) {
         log.info("Getting all drug applications with page: {}, size: {}",
                 pageable.getPageNumber(), pageable.getPageSize());
 
-        return repository.findAll(pageable);
+        return repository.findAllDrugApplicationRecordDtos(pageable);
+    }
+
+    /**
+     * Gets the validator of a page of drug applications, without loading them, so that a client whose copy
+     * of the page is current can be answered with 304 Not Modified.
+     *
+     * @param pageable The pagination information
+     * @return An {@link Optional} containing the validator, empty when there are no drug applications
+     */
+    public Optional<ResourceValidator> getDrugApplicationRecordsValidator(Pageable pageable) {
+        return repository.findLatestLastModified()
+                .map(lastModified -> ResourceValidator.ofPage(pageable,
+                        repository.findVersionsOrderedByApplicationNumber(pageable), repository.count(), lastModified));
+    }
+
+    /**
+     * Gets drug applications ordered by application number, continuing after a cursor. Unlike
+     * {@link #getAllDrugApplicationRecords(Pageable)}, no rows are skipped with an offset and the total
+     * is only counted on request, so deep pages cost the same as the first one.
+     *
+     * @param cursor       The cursor returned with the previous page, or null for the first page
+     * @param size         The maximum number of drug applications to return
+     * @param includeTotal Whether to count the total number of drug applications
+     * @return A {@link CursorPageResponseDto} object containing the drug applications and the next cursor
+     * @throws InvalidCursorException if the cursor cannot be decoded
+     */
+    public CursorPageResponseDto<DrugApplicationRecordDto> getDrugApplicationRecordsAfter(
+            String cursor, int size, boolean includeTotal) {
+
+        log.info("Getting drug applications after cursor: {}, size: {}", cursor, size);
+
+        String afterApplicationNumber = StringUtils.hasText(cursor) ? decodeCursor(cursor) : null;
+
+        // one extra record tells whether there is a next page without counting
+        var records = repository.findDrugApplicationRecordDtosAfter(afterApplicationNumber, size + 1);
+        boolean hasNext = records.size() > size;
+        var content = hasNext ? records.subList(0, size) : records;
+
+        return new CursorPageResponseDto<>(
+                content,
+                size,
+                hasNext ? encodeCursor(content.getLast().applicationNumber()) : null,
+                includeTotal ? repository.count() : null);
+    }
+
+    private static String encodeCursor(String applicationNumber) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(applicationNumber.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeCursor(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
     }
 
     /**
@@ -102,9 +366,20 @@ public class DrugApplicationRecordsService {
      * @param applicationNumber The application number of the drug application
      * @return An {@link Optional} object containing the drug application
      */
-    public Optional<DrugApplicationRecord> getDrugApplicationById(String applicationNumber) {
+    public Optional<DrugApplicationRecordDto> getDrugApplicationById(String applicationNumber) {
         log.info("Getting drug application by ID: {}", applicationNumber);
 
-        return repository.findById(applicationNumber);
+        return repository.findDrugApplicationRecordDtoById(applicationNumber);
+    }
+
+    /**
+     * Gets the validator of a drug application, without loading it, so that a client whose copy of the
+     * drug application is current can be answered with 304 Not Modified.
+     *
+     * @param applicationNumber The application number of the drug application
+     * @return An {@link Optional} containing the validator, empty when the drug application does not exist
+     */
+    public Optional<ResourceValidator> getDrugApplicationValidator(String applicationNumber) {
+        return repository.findVersionByApplicationNumber(applicationNumber).map(ResourceValidator::of);
     }
 }
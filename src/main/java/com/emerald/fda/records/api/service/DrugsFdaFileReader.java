@@ -0,0 +1,109 @@
+package com.emerald.fda.records.api.service;
+
+import com.emerald.fda.records.api.dto.fda.DrugApplicationResultDto;
+import com.emerald.fda.records.api.dto.fda.MetaDto;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.zip.ZipInputStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Streams drug application results out of the drugsfda download file published by OpenFDA.
+ * The file is read token by token so only one result is held in memory at a time.
+ */
+@Component
+@RequiredArgsConstructor
+public class DrugsFdaFileReader {
+    private static final String META_FIELD = "meta";
+    private static final String RESULTS_FIELD = "results";
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Reads every result of a drugsfda file, either the zipped download or the extracted JSON.
+     *
+     * @param path     the path of the drugsfda file
+     * @param consumer receives each result in file order
+     * @return the number of results read
+     * @throws IOException if the file cannot be read or is not a drugsfda file
+     */
+    public long read(Path path, Consumer<DrugApplicationResultDto> consumer) throws IOException {
+        return read(path, meta -> { }, consumer);
+    }
+
+    /**
+     * Reads the metadata and every result of a drugsfda file, either the zipped download or the extracted JSON.
+     *
+     * @param path         the path of the drugsfda file
+     * @param metaConsumer receives the metadata section of the file
+     * @param consumer     receives each result in file order
+     * @return the number of results read
+     * @throws IOException if the file cannot be read or is not a drugsfda file
+     */
+    public long read(Path path, Consumer<MetaDto> metaConsumer, Consumer<DrugApplicationResultDto> consumer)
+            throws IOException {
+
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(path))) {
+            if (path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".zip")) {
+                return readZip(in, metaConsumer, consumer);
+            }
+
+            return readJson(in, metaConsumer, consumer);
+        }
+    }
+
+    private long readZip(InputStream in, Consumer<MetaDto> metaConsumer, Consumer<DrugApplicationResultDto> consumer)
+            throws IOException {
+
+        var zip = new ZipInputStream(in);
+
+        for (var entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+            if (!entry.isDirectory() && entry.getName().toLowerCase(Locale.ROOT).endsWith(".json")) {
+                return readJson(zip, metaConsumer, consumer);
+            }
+        }
+
+        throw new FileNotFoundException("No JSON entry found in drugsfda archive");
+    }
+
+    private long readJson(InputStream in, Consumer<MetaDto> metaConsumer, Consumer<DrugApplicationResultDto> consumer)
+            throws IOException {
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object at the root of the drugsfda file");
+            }
+
+            long count = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+
+                if (META_FIELD.equals(field) && value == JsonToken.START_OBJECT) {
+                    metaConsumer.accept(objectMapper.readValue(parser, MetaDto.class));
+                } else if (RESULTS_FIELD.equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        consumer.accept(objectMapper.readValue(parser, DrugApplicationResultDto.class));
+                        count++;
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            return count;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.emerald.fda.records.api.service;
+
+import java.time.Duration;
+
+/**
+ * Outcome of ingesting a drugsfda download file.
+ *
+ * @param recordsRead    the number of results parsed from the file
+ * @param recordsWritten the number of drug application records written to the database
+ * @param recordsSkipped the number of results skipped because required fields were missing
+ * @param elapsed        the wall-clock duration of the ingestion
+ */
+public record DrugsFdaIngestionResult(
+        long recordsRead,
+        long recordsWritten,
+        long recordsSkipped,
+        Duration elapsed
+) {
+    /**
+     * @return the write throughput of the ingestion in records per second
+     */
+    public double recordsPerSecond() {
+        long millis = Math.max(elapsed.toMillis(), 1);
+        return recordsWritten * 1000.0 / millis;
+    }
+}
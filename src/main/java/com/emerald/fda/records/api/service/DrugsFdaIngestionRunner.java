@@ -0,0 +1,27 @@
+package com.emerald.fda.records.api.service;
+
+import java.nio.file.Path;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ingests the drugsfda download file configured in {@code openfda.ingest.path} on application startup.
+ */
+@Component
+@ConditionalOnProperty(name = "openfda.ingest.path")
+@RequiredArgsConstructor
+public class DrugsFdaIngestionRunner implements ApplicationRunner {
+    private final DrugsFdaIngestionService ingestionService;
+
+    @Value("${openfda.ingest.path}")
+    private Path path;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        ingestionService.ingest(path);
+    }
+}
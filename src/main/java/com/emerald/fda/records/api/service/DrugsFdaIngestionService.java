@@ -0,0 +1,275 @@
+package com.emerald.fda.records.api.service;
+
+import com.emerald.fda.records.api.dto.fda.ActiveIngredientDto;
+import com.emerald.fda.records.api.dto.fda.DrugApplicationResultDto;
+import com.emerald.fda.records.api.dto.fda.ProductDto;
+import com.emerald.fda.records.api.entity.DrugApplicationRecord;
+import com.emerald.fda.records.api.repository.DrugApplicationRecordRepository;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+/**
+ * Service for bulk loading the OpenFDA drugsfda download file into the database.
+ * <p>
+ * Parsing and writing run as two stages connected by a bounded queue of record chunks: the parser
+ * blocks when the writer falls behind, so heap usage is bounded by the chunk size and queue capacity
+ * rather than by the size of the file.
+ */
+@Service
+@Slf4j
+public class DrugsFdaIngestionService {
+    /**
+     * Inserts a record or updates it if its names changed, maintaining its version and modification time.
+     */
+    private static final String UPSERT_RECORD_SQL = """
+            MERGE INTO drug_application_record t
+            USING (VALUES (CAST(? AS VARCHAR(255)), CAST(? AS VARCHAR(255)), CAST(? AS VARCHAR(255))))
+                AS s(application_number, manufacturer_name, substance_name)
+            ON t.application_number = s.application_number
+            WHEN MATCHED AND (t.manufacturer_name <> s.manufacturer_name OR t.substance_name <> s.substance_name)
+                THEN UPDATE SET manufacturer_name = s.manufacturer_name, substance_name = s.substance_name,
+                                version = t.version + 1, last_modified = CURRENT_TIMESTAMP
+            WHEN NOT MATCHED
+                THEN INSERT (application_number, manufacturer_name, substance_name, version, last_modified)
+                VALUES (s.application_number, s.manufacturer_name, s.substance_name, 0, CURRENT_TIMESTAMP)
+            """;
+    private static final String INSERT_PRODUCT_NUMBER_SQL = """
+            MERGE INTO product_numbers t
+            USING (VALUES (CAST(? AS VARCHAR(255)), CAST(? AS VARCHAR(255)))) AS s(application_number, product_number)
+            ON t.application_number = s.application_number AND t.product_number = s.product_number
+            WHEN NOT MATCHED
+                THEN INSERT (application_number, product_number) VALUES (s.application_number, s.product_number)
+            """;
+    private static final String INCREMENT_VERSION_SQL = """
+            UPDATE drug_application_record
+            SET version = version + 1, last_modified = CURRENT_TIMESTAMP
+            WHERE application_number = ?
+            """;
+
+    /**
+     * Marks the end of the parsed chunks; compared by identity.
+     */
+    private static final List<DrugApplicationRecord> END_OF_FILE = new ArrayList<>(0);
+
+    private final DrugsFdaFileReader fileReader;
+    private final DrugApplicationRecordResponseCache responseCache;
+    private final DrugApplicationRecordRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int queueCapacity;
+
+    public DrugsFdaIngestionService(DrugsFdaFileReader fileReader,
+                                    DrugApplicationRecordResponseCache responseCache,
+                                    DrugApplicationRecordRepository repository,
+                                    JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${openfda.ingest.chunk-size:1000}") int chunkSize,
+                                    @Value("${openfda.ingest.queue-capacity:4}") int queueCapacity) {
+        this.fileReader = fileReader;
+        this.responseCache = responseCache;
+        this.repository = repository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Ingests a drugsfda download file. Existing records are updated and their product numbers merged,
+     * so ingesting the same file twice leaves the database unchanged.
+     *
+     * @param path the path of the zipped or extracted drugsfda JSON file
+     * @return the ingestion statistics
+     * @throws IOException if the file cannot be read or parsed
+     */
+    public DrugsFdaIngestionResult ingest(Path path) throws IOException {
+        log.info("Ingesting drugsfda file: {}", path);
+
+        long startNanos = System.nanoTime();
+        BlockingQueue<List<DrugApplicationRecord>> chunks = new ArrayBlockingQueue<>(queueCapacity);
+        var skipped = new AtomicLong();
+
+        var parseTask = new FutureTask<>(() -> parse(path, chunks, skipped));
+        Thread.ofPlatform().name("drugsfda-parser").daemon(true).start(parseTask);
+
+        try {
+            long written = 0;
+            for (var chunk = chunks.take(); chunk != END_OF_FILE; chunk = chunks.take()) {
+                writeChunk(chunk);
+                written += chunk.size();
+                log.debug("Wrote {} drug application records", written);
+            }
+
+            var result = new DrugsFdaIngestionResult(
+                    parseTask.get(), written, skipped.get(), Duration.ofNanos(System.nanoTime() - startNanos));
+
+            log.info("Ingested {} drug application records ({} skipped) in {} ms, {} records/sec",
+                    result.recordsWritten(), result.recordsSkipped(), result.elapsed().toMillis(),
+                    Math.round(result.recordsPerSecond()));
+
+            return result;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ingestion of drugsfda file was interrupted", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Failed to parse drugsfda file", ex.getCause());
+        } finally {
+            parseTask.cancel(true);
+        }
+    }
+
+    /**
+     * Maps an OpenFDA drug application result to a record, falling back to the sponsor name and the
+     * active ingredients when the harmonized OpenFDA fields are missing.
+     *
+     * @param result the OpenFDA drug application result
+     * @return the mapped record, or empty if a required field is missing
+     */
+    static Optional<DrugApplicationRecord> toDrugApplicationRecord(DrugApplicationResultDto result) {
+        var openFda = result.openfda();
+        List<ProductDto> products = result.products() != null ? result.products() : List.of();
+
+        String manufacturerName = openFda != null ? first(openFda.manufacturer_name()) : null;
+        if (!StringUtils.hasText(manufacturerName)) {
+            manufacturerName = result.sponsor_name();
+        }
+
+        String substanceName = openFda != null ? first(openFda.substance_name()) : null;
+        if (!StringUtils.hasText(substanceName)) {
+            substanceName = products.stream()
+                    .filter(product -> product.active_ingredients() != null)
+                    .flatMap(product -> product.active_ingredients().stream())
+                    .map(ActiveIngredientDto::name)
+                    .filter(StringUtils::hasText)
+                    .findFirst()
+                    .orElse(null);
+        }
+
+        if (!StringUtils.hasText(result.application_number())
+                || !StringUtils.hasText(manufacturerName)
+                || !StringUtils.hasText(substanceName)) {
+            return Optional.empty();
+        }
+
+        var productNumbers = new LinkedHashSet<String>();
+        products.stream()
+                .map(ProductDto::product_number)
+                .filter(StringUtils::hasText)
+                .forEach(productNumbers::add);
+
+        return Optional.of(DrugApplicationRecord.builder()
+                .applicationNumber(result.application_number())
+                .manufacturerName(manufacturerName)
+                .substanceName(substanceName)
+                .productNumbers(productNumbers)
+                .build());
+    }
+
+    private long parse(Path path, BlockingQueue<List<DrugApplicationRecord>> chunks, AtomicLong skipped)
+            throws IOException, InterruptedException {
+
+        var chunk = new ArrayList<DrugApplicationRecord>(chunkSize);
+
+        try {
+            long read = fileReader.read(path, result -> toDrugApplicationRecord(result).ifPresentOrElse(record -> {
+                chunk.add(record);
+                if (chunk.size() >= chunkSize) {
+                    enqueue(chunks, new ArrayList<>(chunk));
+                    chunk.clear();
+                }
+            }, skipped::incrementAndGet));
+
+            if (!chunk.isEmpty()) {
+                enqueue(chunks, new ArrayList<>(chunk));
+            }
+
+            return read;
+        } finally {
+            chunks.put(END_OF_FILE);
+        }
+    }
+
+    /**
+     * Writes a chunk of records. Only records that changed, or gained product numbers, get a new version,
+     * so ingesting an unchanged file leaves the stored records as they were. The changed records are evicted
+     * from the second-level cache, which does not see these JDBC statements, and their cached responses are
+     * dropped once the chunk is committed.
+     */
+    private void writeChunk(List<DrugApplicationRecord> chunk) {
+        var productNumberRows = chunk.stream()
+                .flatMap(record -> record.getProductNumbers().stream()
+                        .map(productNumber -> new Object[] {record.getApplicationNumber(), productNumber}))
+                .toList();
+
+        var changed = transactionTemplate.execute(status -> {
+            int[] upserted = Arrays.stream(jdbcTemplate.batchUpdate(UPSERT_RECORD_SQL, chunk, chunk.size(),
+                    (statement, record) -> {
+                        statement.setString(1, record.getApplicationNumber());
+                        statement.setString(2, record.getManufacturerName());
+                        statement.setString(3, record.getSubstanceName());
+                    })).flatMapToInt(Arrays::stream).toArray();
+            int[] added = jdbcTemplate.batchUpdate(INSERT_PRODUCT_NUMBER_SQL, productNumberRows);
+
+            var versioned = new HashSet<String>();
+            for (int index = 0; index < upserted.length; index++) {
+                if (upserted[index] != 0) {
+                    versioned.add(chunk.get(index).getApplicationNumber());
+                }
+            }
+
+            var versionRows = new ArrayList<Object[]>();
+            for (int index = 0; index < added.length; index++) {
+                var applicationNumber = (String) productNumberRows.get(index)[0];
+                if (added[index] != 0 && versioned.add(applicationNumber)) {
+                    versionRows.add(new Object[] {applicationNumber});
+                }
+            }
+
+            if (!versionRows.isEmpty()) {
+                jdbcTemplate.batchUpdate(INCREMENT_VERSION_SQL, versionRows);
+            }
+            repository.evictFromCache(versioned);
+            return versioned;
+        });
+
+        responseCache.invalidateAll(changed);
+    }
+
+    private static void enqueue(BlockingQueue<List<DrugApplicationRecord>> chunks, List<DrugApplicationRecord> chunk) {
+        try {
+            chunks.put(chunk);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Ingestion of drugsfda file was cancelled");
+        }
+    }
+
+    private static String first(List<String> values) {
+        return values == null ? null : values.stream().filter(Objects::nonNull).findFirst().orElse(null);
+    }
+}
@@ -0,0 +1,127 @@
+package com.emerald.fda.records.api.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Sets the response timeout of every OpenFDA call from the latencies recently observed for calls of the
+ * same size, so that a response of a thousand results gets the time it needs while a stalled small one
+ * is still cut short.
+ * <p>
+ * Calls are grouped by their {@code limit} into the configured size classes. The timeout of a class is
+ * the configured percentile of its latest latencies times {@code multiplier}, kept between
+ * {@code min-timeout} and {@code max-timeout}, and is the maximum timeout until enough calls of the class
+ * were seen.
+ */
+@Component
+public class FdaAdaptiveTimeouts {
+    private final boolean enabled;
+    private final RequestConfig baseRequestConfig;
+    private final int[] sizeClasses;
+    private final double multiplier;
+    private final long minTimeoutNanos;
+    private final long maxTimeoutNanos;
+    private final LatencyWindow[] latencies;
+
+    public FdaAdaptiveTimeouts(@Value("${openfda.api.adaptive-timeout.enabled:true}") boolean enabled,
+                               @Value("${openfda.api.adaptive-timeout.size-classes:100,500}") int[] sizeClasses,
+                               @Value("${openfda.api.adaptive-timeout.percentile:0.99}") double percentile,
+                               @Value("${openfda.api.adaptive-timeout.multiplier:3}") double multiplier,
+                               @Value("${openfda.api.adaptive-timeout.min-timeout:PT1S}") Duration minTimeout,
+                               @Value("${openfda.api.adaptive-timeout.max-timeout:PT10S}") Duration maxTimeout,
+                               @Value("${openfda.api.adaptive-timeout.sample-size:200}") int sampleSize,
+                               RequestConfig openFdaRequestConfig,
+                               MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.baseRequestConfig = openFdaRequestConfig;
+        this.sizeClasses = Arrays.stream(sizeClasses).sorted().toArray();
+        this.multiplier = multiplier;
+        this.minTimeoutNanos = minTimeout.toNanos();
+        this.maxTimeoutNanos = maxTimeout.toNanos();
+        this.latencies = new LatencyWindow[this.sizeClasses.length + 1];
+
+        for (int i = 0; i < latencies.length; i++) {
+            int sizeClass = i;
+            latencies[i] = new LatencyWindow(sampleSize, percentile);
+
+            TimeGauge.builder("openfda.timeout", this, TimeUnit.NANOSECONDS, timeouts -> timeouts.timeoutNanos(sizeClass))
+                    .description("Response timeout of OpenFDA calls")
+                    .tag("size", sizeClassName(sizeClass))
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Returns the request configuration for an OpenFDA call, with the response timeout of its size class.
+     *
+     * @param uri the URI of the call
+     * @return the request configuration
+     */
+    public RequestConfig requestConfig(URI uri) {
+        if (!enabled) {
+            return baseRequestConfig;
+        }
+
+        return RequestConfig.copy(baseRequestConfig)
+                .setResponseTimeout(Timeout.of(timeoutNanos(sizeClass(uri)), TimeUnit.NANOSECONDS))
+                .build();
+    }
+
+    /**
+     * Records the latency of an OpenFDA call that got a response.
+     *
+     * @param uri   the URI of the call
+     * @param nanos the time until the response arrived
+     */
+    public void record(URI uri, long nanos) {
+        if (enabled) {
+            latencies[sizeClass(uri)].record(nanos);
+        }
+    }
+
+    private long timeoutNanos(int sizeClass) {
+        long percentileNanos = latencies[sizeClass].percentileNanos();
+
+        return percentileNanos < 0
+                ? maxTimeoutNanos
+                : Math.clamp((long) (percentileNanos * multiplier), minTimeoutNanos, maxTimeoutNanos);
+    }
+
+    /**
+     * Finds the size class of a call from its {@code limit}, which OpenFDA defaults to a single result.
+     */
+    private int sizeClass(URI uri) {
+        var limit = UriComponentsBuilder.fromUri(uri).build().getQueryParams().getFirst("limit");
+        int size;
+        try {
+            size = limit != null ? Integer.parseInt(limit) : 1;
+        } catch (NumberFormatException ex) {
+            size = 1;
+        }
+
+        int sizeClass = 0;
+        while (sizeClass < sizeClasses.length && size > sizeClasses[sizeClass]) {
+            sizeClass++;
+        }
+        return sizeClass;
+    }
+
+    private String sizeClassName(int sizeClass) {
+        if (sizeClasses.length == 0) {
+            return "any";
+        }
+
+        return sizeClass < sizeClasses.length
+                ? "limit<=" + sizeClasses[sizeClass]
+                : "limit>" + sizeClasses[sizeClasses.length - 1];
+    }
+}
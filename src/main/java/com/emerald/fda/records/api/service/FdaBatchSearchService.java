@@ -0,0 +1,249 @@
+package com.emerald.fda.records.api.service;
+
+import com.emerald.fda.records.api.dto.fda.DrugApplicationResultDto;
+import com.emerald.fda.records.api.dto.fda.FdaResponseDto;
+import com.emerald.fda.records.api.dto.fda.MetaDto;
+import com.emerald.fda.records.api.dto.fda.ResultsMetaDto;
+import com.emerald.fda.records.api.dto.request.SearchCriteriaDto;
+import com.emerald.fda.records.api.dto.response.BatchSearchItemResultDto;
+import com.emerald.fda.records.api.dto.response.BatchSearchResponseDto;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.util.UriUtils;
+
+/**
+ * Service for searching the OpenFDA API for many manufacturer and brand name criteria at once.
+ * <p>
+ * Instead of one OpenFDA call per criteria, the criteria are combined into OR queries, chunked so that
+ * each encoded query stays under {@code max-query-length}, and all chunks are searched concurrently.
+ * The results of each chunk are then assigned back to the criteria they match, using the same phrase
+ * matching as {@link LocalDrugApplicationIndex}. A chunk with more matches than a single call returns
+ * is searched again criteria by criteria, so no criteria ever gets an incomplete result.
+ */
+@Service
+@Slf4j
+public class FdaBatchSearchService {
+    private final FdaClientService fdaClientService;
+    private final int chunkLimit;
+    private final int maxQueryLength;
+
+    public FdaBatchSearchService(FdaClientService fdaClientService,
+                                 @Value("${openfda.api.fan-out.page-size:1000}") int chunkLimit,
+                                 @Value("${openfda.api.batch.max-query-length:1800}") int maxQueryLength) {
+        this.fdaClientService = fdaClientService;
+        this.chunkLimit = chunkLimit;
+        this.maxQueryLength = maxQueryLength;
+    }
+
+    /**
+     * Searches for the drug applications matching each of the given criteria.
+     *
+     * @param criteria the manufacturer and optional brand names to search for
+     * @param limit    the maximum number of results to return per criteria
+     * @return the results of every criteria, in request order
+     */
+    public BatchSearchResponseDto searchDrugApplicationRecords(List<SearchCriteriaDto> criteria, int limit) {
+        // identical criteria share one query and one result
+        Map<String, SearchCriteriaDto> criteriaByQuery = new LinkedHashMap<>();
+        for (var searchCriteria : criteria) {
+            criteriaByQuery.putIfAbsent(query(searchCriteria), searchCriteria);
+        }
+
+        var chunks = chunk(criteriaByQuery);
+        log.info("Searching for {} drug application criteria with {} OpenFDA queries", criteria.size(), chunks.size());
+
+        var chunkResults = chunks.stream()
+                .map(chunk -> searchChunk(chunk, limit))
+                .toList();
+
+        Map<String, FdaResponseDto> resultsByQuery = new LinkedHashMap<>();
+        for (var chunkResult : chunkResults) {
+            resultsByQuery.putAll(join(chunkResult));
+        }
+
+        var items = new ArrayList<BatchSearchItemResultDto>(criteria.size());
+        for (int i = 0; i < criteria.size(); i++) {
+            var searchCriteria = criteria.get(i);
+            var response = resultsByQuery.get(query(searchCriteria));
+            var results = response.results() != null ? response.results() : List.<DrugApplicationResultDto>of();
+
+            items.add(new BatchSearchItemResultDto(
+                    i,
+                    searchCriteria.manufacturerName(),
+                    searchCriteria.brandName(),
+                    response.meta() != null && response.meta().results() != null
+                            ? response.meta().results().total()
+                            : results.size(),
+                    results));
+        }
+
+        return new BatchSearchResponseDto(items);
+    }
+
+    /**
+     * Groups the criteria into chunks whose combined OR query stays within the maximum encoded length.
+     */
+    private List<Map<String, SearchCriteriaDto>> chunk(Map<String, SearchCriteriaDto> criteriaByQuery) {
+        var chunks = new ArrayList<Map<String, SearchCriteriaDto>>();
+        Map<String, SearchCriteriaDto> chunk = new LinkedHashMap<>();
+
+        for (var entry : criteriaByQuery.entrySet()) {
+            chunk.put(entry.getKey(), entry.getValue());
+
+            if (chunk.size() > 1 && encodedLength(combinedQuery(chunk.keySet())) > maxQueryLength) {
+                chunk.remove(entry.getKey());
+                chunks.add(chunk);
+                chunk = new LinkedHashMap<>();
+                chunk.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+
+        return chunks;
+    }
+
+    /**
+     * Searches one chunk with a single combined query and splits its results by criteria, or searches
+     * its criteria one by one when the combined query matches more than a single call returns.
+     * A chunk of a single criteria is searched like a regular search, sharing its cache entries.
+     */
+    private CompletableFuture<Map<String, FdaResponseDto>> searchChunk(Map<String, SearchCriteriaDto> chunk, int limit) {
+        if (chunk.size() == 1) {
+            return searchEach(chunk, limit);
+        }
+
+        var key = new FdaSearchKey(combinedQuery(chunk.keySet()), 0, chunkLimit);
+
+        return withNoMatchesAsEmpty(fdaClientService.searchDrugApplicationRecordsAsync(key, FdaCallPriority.BULK))
+                .thenCompose(response -> {
+                    var results = response != null && response.results() != null
+                            ? response.results()
+                            : List.<DrugApplicationResultDto>of();
+
+                    if (response == null || response.meta() == null || response.meta().results() == null
+                            || response.meta().results().total() <= results.size()) {
+                        return CompletableFuture.completedFuture(
+                                split(chunk, response != null ? response.meta() : null, results, limit));
+                    }
+
+                    log.debug("Combined query of {} criteria matched {} applications, searching them one by one",
+                            chunk.size(), response.meta().results().total());
+                    return searchEach(chunk, limit);
+                });
+    }
+
+    private CompletableFuture<Map<String, FdaResponseDto>> searchEach(Map<String, SearchCriteriaDto> chunk, int limit) {
+        Map<String, CompletableFuture<FdaResponseDto>> responses = new LinkedHashMap<>();
+        chunk.forEach((query, searchCriteria) -> responses.put(query, withNoMatchesAsEmpty(
+                fdaClientService.searchDrugApplicationRecordsAsync(new FdaSearchKey(query, 0, limit), FdaCallPriority.BULK))));
+
+        return CompletableFuture.allOf(responses.values().toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    Map<String, FdaResponseDto> results = new LinkedHashMap<>();
+                    responses.forEach((query, response) -> results.put(query,
+                            response.join() != null ? response.join() : new FdaResponseDto(null, List.of())));
+                    return results;
+                });
+    }
+
+    /**
+     * Assigns the results of a combined query to each criteria of the chunk they match. The combined
+     * query is only split when it returned all of its matches, so the number of matches of a criteria is
+     * its exact total, even when its results are cut to the limit.
+     */
+    private static Map<String, FdaResponseDto> split(Map<String, SearchCriteriaDto> chunk, MetaDto meta,
+                                                     List<DrugApplicationResultDto> results, int limit) {
+        Map<String, FdaResponseDto> responses = new LinkedHashMap<>();
+
+        chunk.forEach((query, searchCriteria) -> {
+            var matches = results.stream()
+                    .filter(result -> matches(result, searchCriteria))
+                    .toList();
+            var resultsMeta = new ResultsMetaDto(0, limit, matches.size());
+
+            responses.put(query, new FdaResponseDto(
+                    meta != null
+                            ? new MetaDto(meta.disclaimer(), meta.terms(), meta.license(), meta.last_updated(),
+                                    resultsMeta, meta.stale())
+                            : new MetaDto(null, null, null, null, resultsMeta),
+                    matches.size() > limit ? matches.subList(0, limit) : matches));
+        });
+
+        return responses;
+    }
+
+    private static boolean matches(DrugApplicationResultDto result, SearchCriteriaDto searchCriteria) {
+        var openFda = result.openfda();
+        if (openFda == null || !matchesAny(openFda.manufacturer_name(), searchCriteria.manufacturerName())) {
+            return false;
+        }
+
+        return !StringUtils.hasText(searchCriteria.brandName())
+                || matchesAny(openFda.brand_name(), searchCriteria.brandName());
+    }
+
+    private static boolean matchesAny(List<String> values, String phrase) {
+        return values != null && values.stream().anyMatch(value -> LocalDrugApplicationIndex.matchesPhrase(value, phrase));
+    }
+
+    /**
+     * OpenFDA answers a query without matches with 404, which for a batch only means that none of its
+     * criteria matched.
+     */
+    private static CompletableFuture<FdaResponseDto> withNoMatchesAsEmpty(CompletableFuture<FdaResponseDto> response) {
+        return response.exceptionallyCompose(ex -> isNotFound(ex)
+                ? CompletableFuture.completedFuture(new FdaResponseDto(null, List.of()))
+                : CompletableFuture.failedFuture(ex));
+    }
+
+    private static boolean isNotFound(Throwable ex) {
+        for (var cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpClientErrorException.NotFound) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String query(SearchCriteriaDto searchCriteria) {
+        return fdaClientService.buildSearchKey(searchCriteria.manufacturerName(), searchCriteria.brandName(), 0, 0)
+                .query();
+    }
+
+    private static String combinedQuery(Iterable<String> queries) {
+        var queryList = new ArrayList<String>();
+        queries.forEach(queryList::add);
+
+        return queryList.size() == 1
+                ? queryList.getFirst()
+                : "(" + String.join(") OR (", queryList) + ")";
+    }
+
+    private static int encodedLength(String query) {
+        return UriUtils.encodeQueryParam(query, StandardCharsets.UTF_8).length();
+    }
+
+    private static Map<String, FdaResponseDto> join(CompletableFuture<Map<String, FdaResponseDto>> chunkResult) {
+        try {
+            return chunkResult.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.emerald.fda.records.api.service;
+
+/**
+ * Priority of an OpenFDA call while it waits for the request quota, from highest to lowest.
+ */
+public enum FdaCallPriority {
+    /** Searches a client is waiting for. */
+    INTERACTIVE,
+    /** Additional pages of fan-out searches and the queries of batch searches. */
+    BULK,
+    /** Background refreshes of cached searches. */
+    BACKGROUND
+}
@@ -1,31 +1,151 @@
 package com.emerald.fda.records.api.service;
 
 import com.emerald.fda.records.api.dto.fda.FdaResponseDto;
+import com.emerald.fda.records.api.dto.fda.MetaDto;
+import com.emerald.fda.records.api.exception.FdaApiTimeoutException;
+import com.emerald.fda.records.api.timing.RequestTiming;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.HttpHeaders;
 import org.hibernate.service.spi.ServiceException;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
 
 /**
  * Service for communicating with the FDA API.
+ * <p>
+ * Every OpenFDA call first waits for the request quota in the {@link FdaRateLimiter}, then goes through
+ * a bulkhead, which bounds the calls in flight, and a circuit breaker, which rejects calls while the API
+ * is failing or slow. A search rejected this way is answered with the
+ * last response retrieved for the same query, flagged as stale, when there is one.
+ * <p>
+ * Calls that fail transiently are retried by the {@link FdaRetryPolicy}, each retry waiting for the quota
+ * and passing the bulkhead and circuit breaker again, and every call gets the response timeout that
+ * {@link FdaAdaptiveTimeouts} sets for its size.
+ * <p>
+ * When hedging is enabled, searches are sent with the non-blocking client through the
+ * {@link FdaRequestHedger}, which sends a slow search a second time within the same bulkhead slot.
+ * <p>
+ * Query building, OpenFDA calls (including the waits for the quota and retries) and cache hits are recorded
+ * in the {@link RequestTiming} of the request.
  */
 @Service
 @Slf4j
 public class FdaClientService {
+    private static final Pattern NEXT_PAGE_LINK = Pattern.compile("<([^>]+)>\\s*;\\s*rel=\"?next\"?", Pattern.CASE_INSENSITIVE);
+
     private final RestTemplate restTemplate;
+    private final CloseableHttpAsyncClient asyncHttpClient;
+    private final ObjectMapper objectMapper;
     private final String openFdaBaseUrl;
+    private final Duration asyncTimeout;
+    private final LoadingCache<FdaSearchKey, FdaResponseDto> searchCache;
+    private final SingleFlight<FdaSearchKey, FdaResponseDto> inFlightSearches;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Bulkhead asyncBulkhead;
+    private final FdaRateLimiter rateLimiter;
+    private final FdaRequestHedger hedger;
+    private final FdaRetryPolicy retryPolicy;
+    private final FdaAdaptiveTimeouts adaptiveTimeouts;
+    private final FdaPayloadMetrics payloadMetrics;
+    private final Cache<FdaSearchKey, FdaResponseDto> lastKnownResponses;
+    private final Counter staleResponses;
 
     public FdaClientService(RestTemplate restTemplate,
-                            @Value("${fda.api.base-url}") String openFdaBaseUrl) {
+                            CloseableHttpAsyncClient asyncHttpClient,
+                            ObjectMapper objectMapper,
+                            @Value("${fda.api.base-url}") String openFdaBaseUrl,
+                            @Value("${openfda.api.cache.enabled:true}") boolean cacheEnabled,
+                            @Value("${openfda.api.cache.maximum-size:10000}") long cacheMaximumSize,
+                            @Value("${openfda.api.cache.ttl:PT24H}") Duration cacheTtl,
+                            @Value("${openfda.api.cache.refresh-after:PT1H}") Duration cacheRefreshAfter,
+                            @Value("${openfda.api.async.timeout:PT5S}") Duration asyncTimeout,
+                            CircuitBreaker openFdaCircuitBreaker,
+                            Bulkhead openFdaBulkhead,
+                            Bulkhead openFdaAsyncBulkhead,
+                            FdaRateLimiter rateLimiter,
+                            FdaRequestHedger hedger,
+                            FdaRetryPolicy retryPolicy,
+                            FdaAdaptiveTimeouts adaptiveTimeouts,
+                            FdaPayloadMetrics payloadMetrics,
+                            @Value("${openfda.api.circuit-breaker.stale-maximum-size:10000}") long staleMaximumSize,
+                            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                            Executor refreshExecutor,
+                            MeterRegistry meterRegistry) {
         this.restTemplate = restTemplate;
+        this.asyncHttpClient = asyncHttpClient;
+        this.objectMapper = objectMapper;
         this.openFdaBaseUrl = openFdaBaseUrl;
+        this.asyncTimeout = asyncTimeout;
+        this.circuitBreaker = openFdaCircuitBreaker;
+        this.bulkhead = openFdaBulkhead;
+        this.asyncBulkhead = openFdaAsyncBulkhead;
+        this.rateLimiter = rateLimiter;
+        this.hedger = hedger;
+        this.retryPolicy = retryPolicy;
+        this.adaptiveTimeouts = adaptiveTimeouts;
+        this.payloadMetrics = payloadMetrics;
+        this.lastKnownResponses = staleMaximumSize > 0
+                ? Caffeine.newBuilder().maximumSize(staleMaximumSize).build()
+                : null;
+        this.staleResponses = Counter.builder("openfda.search.stale")
+                .description("Searches answered with a stale response while the OpenFDA API was unavailable")
+                .register(meterRegistry);
+
+        Counter coalescedSearches = Counter.builder("openfda.search.coalesced")
+                .description("Searches that joined an identical OpenFDA call already in flight")
+                .register(meterRegistry);
+        this.inFlightSearches = new SingleFlight<>(coalescedSearches::increment);
+        this.searchCache = cacheEnabled
+                ? buildSearchCache(cacheMaximumSize, cacheTtl, cacheRefreshAfter, refreshExecutor, meterRegistry)
+                : null;
     }
 
     /**
      * Searches for drug applications records in the OpenFDA API.
+     * Responses are served from the search cache when it is enabled, and concurrent identical
+     * searches share a single outbound call.
      *
      * @param manufacturerName The manufacturer name to search for
      * @param brandName The optional brand name to search for
@@ -40,27 +160,138 @@ public class FdaClientService {
         log.info("Searching for drug applications with manufacturer: {}, brand: {}, skip: {}, limit: {}",
                 manufacturerName, brandName, skip, limit);
 
-        String searchQuery = buildSearchQuery(manufacturerName, brandName);
-        String uri = UriComponentsBuilder.fromUriString(openFdaBaseUrl)
-                .queryParam("search", searchQuery)
-                .queryParam("skip", skip)
-                .queryParam("limit", limit)
-                .build()
-                .toUriString();
+        var key = buildSearchKey(manufacturerName, brandName, skip, limit);
+        var timing = RequestTiming.current();
 
-        log.debug("OpenFDA API request URL: {}", uri);
+        if (searchCache != null) {
+            var cachedResponse = searchCache.getIfPresent(key);
+            if (cachedResponse != null) {
+                timing.mark("cache", "hit");
+                return cachedResponse;
+            }
+        }
 
+        long startedAt = timing.now();
         try {
-            var response = restTemplate.getForObject(uri, FdaResponseDto.class);
+            return inFlightSearches.execute(key, () -> loadDrugApplicationRecords(key));
+        } catch (CallNotPermittedException | BulkheadFullException ex) {
+            return lastKnownResponse(key, ex);
+        } finally {
+            timing.record("openfda", startedAt);
+        }
+    }
+
+    /**
+     * Searches for drug applications records in the OpenFDA API without blocking the calling thread.
+     * The search shares the cache and the in-flight deduplication with
+     * {@link #searchDrugApplicationRecords(String, String, int, int)}, but the OpenFDA call is made with
+     * a non-blocking HTTP client, and the returned future fails with {@link FdaApiTimeoutException} when
+     * no answer arrives within the configured timeout.
+     *
+     * @param manufacturerName The manufacturer name to search for
+     * @param brandName The optional brand name to search for
+     * @return A future completed with the {@link FdaResponseDto} containing the search results
+     */
+    public CompletableFuture<FdaResponseDto> searchDrugApplicationRecordsAsync(
+            String manufacturerName,
+            String brandName,
+            int skip,
+            int limit) {
 
-            log.info("Retrieved {} drug application records from OpenFDA API",
-                    response != null && response.results() != null ? response.results().size() : 0);
+        log.info("Searching asynchronously for drug applications with manufacturer: {}, brand: {}, skip: {}, limit: {}",
+                manufacturerName, brandName, skip, limit);
 
-            return response;
-        } catch (Exception ex) {
-            log.error("Error calling OpenFDA API: {}", ex.getMessage(), ex);
-            throw new ServiceException("Failed to retrieve drug application records from OpenFDA API", ex);
+        return searchDrugApplicationRecordsAsync(
+                buildSearchKey(manufacturerName, brandName, skip, limit), FdaCallPriority.INTERACTIVE);
+    }
+
+    /**
+     * Searches asynchronously for the drug applications records matching an already built OpenFDA query,
+     * with the same caching, deduplication and timeout as
+     * {@link #searchDrugApplicationRecordsAsync(String, String, int, int)}.
+     *
+     * @param key      The search query and paging window
+     * @param priority The priority of the OpenFDA call while it waits for the request quota
+     * @return A future completed with the {@link FdaResponseDto} containing the search results
+     */
+    public CompletableFuture<FdaResponseDto> searchDrugApplicationRecordsAsync(FdaSearchKey key, FdaCallPriority priority) {
+        var timing = RequestTiming.current();
+
+        if (searchCache != null) {
+            var cachedResponse = searchCache.getIfPresent(key);
+            if (cachedResponse != null) {
+                timing.mark("cache", "hit");
+                return CompletableFuture.completedFuture(cachedResponse);
+            }
         }
+
+        long startedAt = timing.now();
+        return inFlightSearches.executeAsync(key, () -> loadDrugApplicationRecordsAsync(key, priority))
+                .whenComplete((response, ex) -> timing.record("openfda", startedAt))
+                .orTimeout(asyncTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionallyCompose(ex -> {
+                    var cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+
+                    if (cause instanceof TimeoutException) {
+                        return CompletableFuture.failedFuture(new FdaApiTimeoutException(
+                                "OpenFDA API did not respond within " + asyncTimeout.toMillis() + " ms"));
+                    }
+                    if (cause instanceof CallNotPermittedException || cause instanceof BulkheadFullException) {
+                        return CompletableFuture.completedFuture(lastKnownResponse(key, (RuntimeException) cause));
+                    }
+                    return CompletableFuture.failedFuture(cause);
+                });
+    }
+
+    /**
+     * Fetches a single page of search results from the OpenFDA API together with the link to the next
+     * page, which the API provides for paging past the maximum skip with {@code search_after}.
+     * The page bypasses the search cache.
+     *
+     * @param manufacturerName The manufacturer name to search for
+     * @param brandName        The optional brand name to search for
+     * @param skip             The number of results to skip
+     * @param limit            The maximum number of results to return
+     * @return The {@link FdaSearchPage} with the search results and the next page link
+     */
+    public FdaSearchPage searchDrugApplicationRecordsPage(
+            String manufacturerName,
+            String brandName,
+            int skip,
+            int limit) {
+
+        var key = buildSearchKey(manufacturerName, brandName, skip, limit);
+        return fetchSearchPage(buildSearchUri(key).encode().toUri());
+    }
+
+    /**
+     * Fetches the page of search results at a next page link returned with a previous page.
+     *
+     * @param nextPageUrl The next page link of the previous {@link FdaSearchPage}
+     * @return The {@link FdaSearchPage} with the search results and the next page link
+     */
+    public FdaSearchPage searchNextDrugApplicationRecordsPage(String nextPageUrl) {
+        return fetchSearchPage(URI.create(nextPageUrl));
+    }
+
+    /**
+     * Builds the cache key for a search, normalizing the search terms so that equivalent
+     * searches differing only in case or whitespace share the same entry.
+     *
+     * @param manufacturerName The manufacturer name to search for (required)
+     * @param brandName        The brand name to search for (optional)
+     * @param skip             The number of results to skip
+     * @param limit            The maximum number of results to return
+     * @return The normalized search key
+     */
+    public FdaSearchKey buildSearchKey(String manufacturerName, String brandName, int skip, int limit) {
+        var timing = RequestTiming.current();
+        long startedAt = timing.now();
+
+        String searchQuery = buildSearchQuery(normalizeSearchTerm(manufacturerName), normalizeSearchTerm(brandName));
+
+        timing.record("query", startedAt);
+        return new FdaSearchKey(searchQuery, skip, limit);
     }
 
     /**
@@ -83,4 +314,310 @@ public class FdaClientService {
 
         return query.toString();
     }
+
+    /**
+     * Calls the OpenFDA API and stores the response in the cache before any waiting caller is released,
+     * so that a search arriving right after the call completes is served from the cache.
+     */
+    private FdaResponseDto loadDrugApplicationRecords(FdaSearchKey key) {
+        var response = fetchDrugApplicationRecords(key, FdaCallPriority.INTERACTIVE);
+
+        if (searchCache != null && response != null) {
+            searchCache.put(key, response);
+        }
+
+        return response;
+    }
+
+    /**
+     * Calls the OpenFDA API for an already encoded page URI and reads the next page link from the response.
+     */
+    private FdaSearchPage fetchSearchPage(URI uri) {
+        log.debug("OpenFDA API page request URL: {}", uri);
+        var timing = RequestTiming.current();
+        long startedAt = timing.now();
+
+        try {
+            return callOpenFda(FdaCallPriority.BULK, () -> {
+                try {
+                    ResponseEntity<FdaResponseDto> response = restTemplate.getForEntity(uri, FdaResponseDto.class);
+
+                    String nextPageUrl = response.getHeaders().getOrEmpty(HttpHeaders.LINK).stream()
+                            .map(NEXT_PAGE_LINK::matcher)
+                            .filter(Matcher::find)
+                            .map(matcher -> matcher.group(1))
+                            .findFirst()
+                            .orElse(null);
+
+                    return new FdaSearchPage(logRetrieved(response.getBody()), nextPageUrl);
+                } catch (Exception ex) {
+                    throw openFdaFailure(ex);
+                }
+            });
+        } finally {
+            timing.record("openfda", startedAt);
+        }
+    }
+
+    /**
+     * Asynchronous counterpart of {@link #loadDrugApplicationRecords(FdaSearchKey)}.
+     */
+    private CompletableFuture<FdaResponseDto> loadDrugApplicationRecordsAsync(FdaSearchKey key, FdaCallPriority priority) {
+        return fetchDrugApplicationRecordsAsync(key, priority).thenApply(response -> {
+            if (searchCache != null && response != null) {
+                searchCache.put(key, response);
+            }
+
+            return response;
+        });
+    }
+
+    /**
+     * Calls the OpenFDA API for the given search, bypassing the cache. With hedging enabled the call is
+     * made with the non-blocking client, which can send the hedge without holding another thread.
+     */
+    private FdaResponseDto fetchDrugApplicationRecords(FdaSearchKey key, FdaCallPriority priority) {
+        if (hedger.isEnabled()) {
+            return join(fetchDrugApplicationRecordsAsync(key, priority));
+        }
+
+        String uri = buildSearchUri(key).toUriString();
+        log.debug("OpenFDA API request URL: {}", uri);
+
+        return rememberResponse(key, callOpenFda(priority, () -> {
+            try {
+                return logRetrieved(restTemplate.getForObject(uri, FdaResponseDto.class));
+            } catch (Exception ex) {
+                throw openFdaFailure(ex);
+            }
+        }));
+    }
+
+    /**
+     * Calls the OpenFDA API for the given search with the non-blocking HTTP client, bypassing the cache.
+     * Error responses and failures are mapped like those of {@link #fetchDrugApplicationRecords(FdaSearchKey)}.
+     */
+    private CompletableFuture<FdaResponseDto> fetchDrugApplicationRecordsAsync(FdaSearchKey key, FdaCallPriority priority) {
+        // encoded the same way RestTemplate encodes the URI template of the blocking call
+        var uri = buildSearchUri(key).encode().toUri();
+        log.debug("OpenFDA API request URL: {}", uri);
+        var timing = RequestTiming.current();
+
+        return callOpenFdaAsync(priority, () -> hedger.execute(() -> sendAsync(uri, timing), rateLimiter::tryAcquire))
+                .thenApply(response -> rememberResponse(key, response));
+    }
+
+    /**
+     * Sends a search with the non-blocking client. Cancelling the returned future aborts the request, which
+     * is how the hedger drops the call that lost. The response is read with the timing of the request that
+     * made the search bound, so that its deserialization is recorded.
+     */
+    private CompletableFuture<FdaResponseDto> sendAsync(URI uri, RequestTiming timing) {
+        var request = SimpleRequestBuilder.get(uri)
+                .setRequestConfig(adaptiveTimeouts.requestConfig(uri))
+                .build();
+        var future = new CompletableFuture<SimpleHttpResponse>();
+        long startedAt = System.nanoTime();
+
+        var exchange = asyncHttpClient.execute(request, new FutureCallback<>() {
+            @Override
+            public void completed(SimpleHttpResponse response) {
+                adaptiveTimeouts.record(uri, System.nanoTime() - startedAt);
+                future.complete(response);
+            }
+
+            @Override
+            public void failed(Exception ex) {
+                future.completeExceptionally(ex);
+            }
+
+            @Override
+            public void cancelled() {
+                future.cancel(false);
+            }
+        });
+
+        CompletableFuture<FdaResponseDto> result = future.handle((response, ex) -> {
+            if (ex != null) {
+                throw openFdaFailure(ex);
+            }
+
+            try (var scope = timing.bind()) {
+                return logRetrieved(readSearchResponse(response));
+            } catch (Exception readFailure) {
+                throw openFdaFailure(readFailure);
+            }
+        });
+
+        if (exchange != null) {
+            result.whenComplete((response, ex) -> {
+                if (result.isCancelled()) {
+                    exchange.cancel(true);
+                }
+            });
+        }
+
+        return result;
+    }
+
+    /**
+     * Reads a response of the non-blocking HTTP client the way {@link RestTemplate} would: error statuses
+     * become {@link HttpClientErrorException} or {@link HttpServerErrorException}, and the body is
+     * decompressed if needed and read as JSON.
+     */
+    private FdaResponseDto readSearchResponse(SimpleHttpResponse response) throws IOException {
+        var statusCode = HttpStatusCode.valueOf(response.getCode());
+        byte[] body = response.getBodyBytes() != null ? response.getBodyBytes() : new byte[0];
+
+        if (statusCode.is4xxClientError()) {
+            // the headers are kept for the Retry-After of a 429
+            var headers = new org.springframework.http.HttpHeaders();
+            for (var header : response.getHeaders()) {
+                headers.add(header.getName(), header.getValue());
+            }
+            throw HttpClientErrorException.create(
+                    statusCode, response.getReasonPhrase(), headers, body, StandardCharsets.UTF_8);
+        }
+        if (statusCode.isError()) {
+            throw HttpServerErrorException.create(
+                    statusCode, response.getReasonPhrase(), null, body, StandardCharsets.UTF_8);
+        }
+
+        var contentEncoding = response.getFirstHeader(HttpHeaders.CONTENT_ENCODING);
+        if (contentEncoding != null && "gzip".equalsIgnoreCase(contentEncoding.getValue())) {
+            try (var gzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                body = gzip.readAllBytes();
+            }
+        }
+
+        return body.length > 0
+                ? payloadMetrics.deserialize(new ByteArrayInputStream(body), in -> objectMapper.readValue(in, FdaResponseDto.class))
+                : null;
+    }
+
+    /**
+     * Makes a blocking OpenFDA call once the request quota allows it, through the bulkhead and the circuit
+     * breaker, and retries it if it fails transiently. The call takes no bulkhead slot while it waits for
+     * the quota or a retry.
+     */
+    private <T> T callOpenFda(FdaCallPriority priority, Supplier<T> call) {
+        return retryPolicy.execute(() -> {
+            rateLimiter.acquire(priority);
+            return circuitBreaker.executeSupplier(Bulkhead.decorateSupplier(bulkhead, call));
+        });
+    }
+
+    /**
+     * Makes a non-blocking OpenFDA call once the request quota allows it, through the asynchronous bulkhead
+     * and the circuit breaker, and retries it if it fails transiently. The bulkhead slot is held until the
+     * call completes. A call finding no free slot fails at once with {@link BulkheadFullException} rather
+     * than parking the thread that completed its quota permit.
+     */
+    private <T> CompletableFuture<T> callOpenFdaAsync(FdaCallPriority priority, Supplier<CompletionStage<T>> call) {
+        return retryPolicy.executeAsync(() -> rateLimiter.acquireAsync(priority).thenCompose(permitted ->
+                circuitBreaker.executeCompletionStage(Bulkhead.decorateCompletionStage(asyncBulkhead, call))));
+    }
+
+    /**
+     * Keeps the latest response of every search, to be served as stale while OpenFDA is unavailable.
+     */
+    private FdaResponseDto rememberResponse(FdaSearchKey key, FdaResponseDto response) {
+        if (lastKnownResponses != null && response != null) {
+            lastKnownResponses.put(key, response);
+        }
+
+        return response;
+    }
+
+    /**
+     * Answers a search rejected by the circuit breaker or the bulkhead with the last response retrieved for
+     * it, flagged as stale, or rethrows the rejection if there is none.
+     */
+    private FdaResponseDto lastKnownResponse(FdaSearchKey key, RuntimeException rejection) {
+        var response = lastKnownResponses != null ? lastKnownResponses.getIfPresent(key) : null;
+
+        if (response == null) {
+            log.warn("OpenFDA API call rejected without a stale response to serve: {}", rejection.getMessage());
+            throw rejection;
+        }
+
+        log.warn("Serving stale OpenFDA response for query {}: {}", key.query(), rejection.getMessage());
+        staleResponses.increment();
+
+        var meta = response.meta() != null ? response.meta() : new MetaDto(null, null, null, null, null);
+        return new FdaResponseDto(meta.asStale(), response.results());
+    }
+
+    /**
+     * Builds the URI of a search, not yet encoded.
+     */
+    UriComponents buildSearchUri(FdaSearchKey key) {
+        return UriComponentsBuilder.fromUriString(openFdaBaseUrl)
+                .queryParam("search", key.query())
+                .queryParam("skip", key.skip())
+                .queryParam("limit", key.limit())
+                .build();
+    }
+
+    private static FdaResponseDto logRetrieved(FdaResponseDto response) {
+        log.info("Retrieved {} drug application records from OpenFDA API",
+                response != null && response.results() != null ? response.results().size() : 0);
+
+        return response;
+    }
+
+    private static ServiceException openFdaFailure(Throwable ex) {
+        log.error("Error calling OpenFDA API: {}", ex.getMessage(), ex);
+        return new ServiceException("Failed to retrieve drug application records from OpenFDA API", ex);
+    }
+
+    /**
+     * Builds the bounded search cache. Entries older than the refresh interval are still served
+     * while they are reloaded in the background; entries older than the TTL are reloaded on access.
+     * Background reloads go through the in-flight deduplication like any other search, wait behind all
+     * other calls for the request quota, and run on the application task executor rather than the common
+     * fork-join pool, so they use virtual threads when those are enabled.
+     */
+    private LoadingCache<FdaSearchKey, FdaResponseDto> buildSearchCache(
+            long maximumSize,
+            Duration ttl,
+            Duration refreshAfter,
+            Executor refreshExecutor,
+            MeterRegistry meterRegistry) {
+
+        var builder = Caffeine.newBuilder()
+                .executor(refreshExecutor)
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats();
+
+        if (refreshAfter.compareTo(ttl) < 0) {
+            builder.refreshAfterWrite(refreshAfter);
+        }
+
+        LoadingCache<FdaSearchKey, FdaResponseDto> cache = builder.build(
+                key -> inFlightSearches.execute(key, () -> fetchDrugApplicationRecords(key, FdaCallPriority.BACKGROUND)));
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "openfda.search");
+
+        return cache;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static String normalizeSearchTerm(String term) {
+        if (!StringUtils.hasText(term)) {
+            return null;
+        }
+
+        return term.strip().replaceAll("\\s+", " ").toUpperCase(Locale.ROOT);
+    }
 }
@@ -0,0 +1,101 @@
+package com.emerald.fda.records.api.service;
+
+import com.emerald.fda.records.api.timing.RequestTiming;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Component;
+
+/**
+ * Measures the OpenFDA response bodies: how long they take to deserialize, as
+ * {@code openfda.client.deserialization}, and how large they are once decompressed, as
+ * {@code openfda.client.response.size}.
+ * <p>
+ * The blocking client parses the body while it streams in, so its deserialization time includes reading
+ * the part of the body that had not arrived yet; the non-blocking client parses a body already received.
+ * The deserialization time is also recorded as the {@code deserialize} stage of the {@link RequestTiming}.
+ */
+@Component
+public class FdaPayloadMetrics {
+    private final Timer deserialization;
+    private final DistributionSummary payloadSize;
+
+    public FdaPayloadMetrics(MeterRegistry meterRegistry) {
+        this.deserialization = Timer.builder("openfda.client.deserialization")
+                .description("Time to deserialize OpenFDA response bodies")
+                .register(meterRegistry);
+        this.payloadSize = DistributionSummary.builder("openfda.client.response.size")
+                .description("Decompressed size of OpenFDA response bodies")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Deserializes a response body, recording the time it takes and the number of bytes read.
+     *
+     * @param body   the decompressed response body
+     * @param reader reads the body
+     * @return the deserialized body
+     * @throws IOException if the body cannot be read
+     */
+    public <T> T deserialize(InputStream body, BodyReader<T> reader) throws IOException {
+        var countingBody = new CountingInputStream(body);
+        long startedAt = System.nanoTime();
+
+        try {
+            return reader.read(countingBody);
+        } finally {
+            long nanos = System.nanoTime() - startedAt;
+            deserialization.record(nanos, TimeUnit.NANOSECONDS);
+            payloadSize.record(countingBody.count);
+            RequestTiming.current().recordDuration("deserialize", nanos);
+        }
+    }
+
+    /**
+     * Reads a response body.
+     *
+     * @param <T> the type of the deserialized body
+     */
+    @FunctionalInterface
+    public interface BodyReader<T> {
+        T read(InputStream body) throws IOException;
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            if (read >= 0) {
+                count++;
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
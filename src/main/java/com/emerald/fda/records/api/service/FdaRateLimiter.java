@@ -0,0 +1,348 @@
+package com.emerald.fda.records.api.service;
+
+import com.emerald.fda.records.api.exception.FdaRateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.service.spi.ServiceException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Paces the calls to the OpenFDA API to its request quotas, using one token bucket refilled at the
+ * per-minute quota and one refilled at the per-day quota.
+ * <p>
+ * A call that finds no token waits in a bounded queue, where interactive searches go before bulk pages
+ * and background refreshes, and calls of the same priority keep their arrival order. When the queue is
+ * full, a new call either displaces the latest queued call of a lower priority or is rejected right away
+ * with {@link FdaRateLimitExceededException}, which tells when to retry.
+ * <p>
+ * The buckets and the queue are guarded by one lock, held only to update them; waiters are completed, and
+ * rejections built and logged, after it has been released.
+ */
+@Component
+@Slf4j
+public class FdaRateLimiter {
+    private static final CompletableFuture<Void> PERMITTED = CompletableFuture.completedFuture(null);
+    private static final Comparator<Waiter> QUEUE_ORDER = Comparator
+            .comparing(Waiter::priority)
+            .thenComparingLong(Waiter::sequence);
+
+    private final boolean enabled;
+    private final int maxQueueSize;
+    private final TokenBucket minuteBucket;
+    private final TokenBucket dayBucket;
+    private final PriorityQueue<Waiter> queue = new PriorityQueue<>(QUEUE_ORDER);
+    private final int[] queuedByPriority = new int[FdaCallPriority.values().length];
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ScheduledExecutorService dispatcher;
+    private final Counter rejectedCalls;
+    private final Timer queueWait;
+
+    private long sequence;
+    private ScheduledFuture<?> scheduledDispatch;
+
+    public FdaRateLimiter(@Value("${openfda.api.rate-limit.enabled:true}") boolean enabled,
+                          @Value("${openfda.api.rate-limit.requests-per-minute:240}") int requestsPerMinute,
+                          @Value("${openfda.api.rate-limit.burst:10}") int burst,
+                          @Value("${openfda.api.rate-limit.requests-per-day:1000}") int requestsPerDay,
+                          @Value("${openfda.api.rate-limit.daily-burst:1000}") int dailyBurst,
+                          @Value("${openfda.api.rate-limit.max-queue-size:100}") int maxQueueSize,
+                          MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.maxQueueSize = maxQueueSize;
+        this.minuteBucket = new TokenBucket(burst, requestsPerMinute / (double) TimeUnit.MINUTES.toNanos(1));
+        this.dayBucket = new TokenBucket(dailyBurst, requestsPerDay / (double) TimeUnit.DAYS.toNanos(1));
+
+        var executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            var thread = new Thread(runnable, "openfda-rate-limiter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        this.dispatcher = executor;
+
+        Gauge.builder("openfda.rate-limiter.queued", this, FdaRateLimiter::queuedCalls)
+                .description("OpenFDA calls waiting for the request quota")
+                .register(meterRegistry);
+        this.rejectedCalls = Counter.builder("openfda.rate-limiter.rejected")
+                .description("OpenFDA calls rejected because the queue for the request quota was full")
+                .register(meterRegistry);
+        this.queueWait = Timer.builder("openfda.rate-limiter.wait")
+                .description("Time OpenFDA calls waited for the request quota")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Waits until the call may be sent.
+     *
+     * @param priority the priority of the call
+     * @throws FdaRateLimitExceededException if the call cannot be queued
+     */
+    public void acquire(FdaCallPriority priority) {
+        var permit = acquireAsync(priority);
+
+        try {
+            permit.get();
+        } catch (InterruptedException ex) {
+            permit.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new ServiceException("Interrupted while waiting for the OpenFDA request quota", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CompletionException(ex.getCause());
+        }
+    }
+
+    /**
+     * Returns a future completed once the call may be sent, without blocking the calling thread. The future
+     * fails with {@link FdaRateLimitExceededException} if the call cannot be queued, or is displaced from
+     * the queue by a call of higher priority.
+     *
+     * @param priority the priority of the call
+     * @return the future permission to send the call
+     */
+    public CompletableFuture<Void> acquireAsync(FdaCallPriority priority) {
+        if (!enabled) {
+            return PERMITTED;
+        }
+
+        Waiter displaced = null;
+        CompletableFuture<Void> permit = null;
+        FdaCallPriority rejected = null;
+        long retryAfterNanos = 0;
+        int queued;
+
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            refill(now);
+
+            if (queue.isEmpty() && tryTakeToken()) {
+                return PERMITTED;
+            }
+
+            if (queue.size() >= maxQueueSize) {
+                displaced = lowestPriorityWaiter(priority);
+                if (displaced != null) {
+                    remove(displaced);
+                }
+            }
+
+            if (queue.size() < maxQueueSize) {
+                var waiter = new Waiter(priority, sequence++, now, new CompletableFuture<>());
+                add(waiter);
+                permit = waiter.permit();
+                scheduleDispatch();
+            }
+
+            if (permit == null) {
+                rejected = priority;
+            } else if (displaced != null) {
+                rejected = displaced.priority();
+            }
+            if (rejected != null) {
+                retryAfterNanos = retryAfterNanos(rejected);
+            }
+            queued = queue.size();
+        } finally {
+            lock.unlock();
+        }
+
+        if (rejected == null) {
+            return permit;
+        }
+
+        rejectedCalls.increment();
+        var rejection = rejection(rejected, retryAfterNanos, queued);
+        if (permit == null) {
+            return CompletableFuture.failedFuture(rejection);
+        }
+
+        displaced.permit().completeExceptionally(rejection);
+        return permit;
+    }
+
+    /**
+     * Takes a token if the call may be sent right away, without queueing it otherwise. Calls that are
+     * only worth making when the quota is not needed by others, such as hedges, ask this way.
+     *
+     * @return whether the call may be sent
+     */
+    public boolean tryAcquire() {
+        if (!enabled) {
+            return true;
+        }
+
+        lock.lock();
+        try {
+            refill(System.nanoTime());
+            return queue.isEmpty() && tryTakeToken();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    /**
+     * Hands the available tokens to the queued calls in queue order, and schedules the next dispatch for
+     * when the next token becomes available.
+     */
+    private void dispatch() {
+        List<Waiter> permitted = new ArrayList<>();
+
+        lock.lock();
+        try {
+            scheduledDispatch = null;
+            refill(System.nanoTime());
+
+            while (!queue.isEmpty()) {
+                // calls given up by their caller do not take a token
+                if (queue.peek().permit().isDone()) {
+                    poll();
+                } else if (tryTakeToken()) {
+                    permitted.add(poll());
+                } else {
+                    break;
+                }
+            }
+
+            scheduleDispatch();
+        } finally {
+            lock.unlock();
+        }
+
+        long now = System.nanoTime();
+        for (var waiter : permitted) {
+            queueWait.record(now - waiter.queuedAt(), TimeUnit.NANOSECONDS);
+            waiter.permit().complete(null);
+        }
+    }
+
+    private void scheduleDispatch() {
+        if (queue.isEmpty() || scheduledDispatch != null) {
+            return;
+        }
+
+        long delay = Math.max(minuteBucket.nanosUntil(1), dayBucket.nanosUntil(1));
+        scheduledDispatch = dispatcher.schedule(this::dispatch, delay, TimeUnit.NANOSECONDS);
+    }
+
+    private Waiter lowestPriorityWaiter(FdaCallPriority priority) {
+        return queue.stream()
+                .filter(waiter -> waiter.priority().compareTo(priority) > 0)
+                .max(QUEUE_ORDER)
+                .orElse(null);
+    }
+
+    private void add(Waiter waiter) {
+        queue.add(waiter);
+        queuedByPriority[waiter.priority().ordinal()]++;
+    }
+
+    private Waiter poll() {
+        var waiter = queue.poll();
+        queuedByPriority[waiter.priority().ordinal()]--;
+        return waiter;
+    }
+
+    private void remove(Waiter waiter) {
+        queue.remove(waiter);
+        queuedByPriority[waiter.priority().ordinal()]--;
+    }
+
+    /**
+     * Time until a call of the given priority would be accepted: once the calls queued ahead of it, those of
+     * the same or a higher priority, have drained from the queue.
+     */
+    private long retryAfterNanos(FdaCallPriority priority) {
+        long ahead = 0;
+        for (int ordinal = 0; ordinal <= priority.ordinal(); ordinal++) {
+            ahead += queuedByPriority[ordinal];
+        }
+        return Math.max(minuteBucket.nanosUntil(ahead + 1), dayBucket.nanosUntil(ahead + 1));
+    }
+
+    private static FdaRateLimitExceededException rejection(FdaCallPriority priority, long retryAfterNanos,
+                                                           int queued) {
+        var retryAfter = Duration.ofSeconds(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos) + 1));
+
+        log.warn("Rejecting {} OpenFDA call, {} calls are waiting for the request quota", priority, queued);
+        return new FdaRateLimitExceededException(
+                "OpenFDA request quota exhausted, retry after " + retryAfter.toSeconds() + " s", retryAfter);
+    }
+
+    private void refill(long now) {
+        minuteBucket.refill(now);
+        dayBucket.refill(now);
+    }
+
+    private boolean tryTakeToken() {
+        if (minuteBucket.tokens < 1 || dayBucket.tokens < 1) {
+            return false;
+        }
+
+        minuteBucket.tokens--;
+        dayBucket.tokens--;
+        return true;
+    }
+
+    private int queuedCalls() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record Waiter(FdaCallPriority priority, long sequence, long queuedAt, CompletableFuture<Void> permit) {}
+
+    /**
+     * A bucket holding up to {@code capacity} tokens, starting full and refilled continuously.
+     */
+    private static final class TokenBucket {
+        private final double capacity;
+        private final double tokensPerNano;
+        private double tokens;
+        private long refilledAt;
+
+        TokenBucket(double capacity, double tokensPerNano) {
+            this.capacity = capacity;
+            this.tokensPerNano = tokensPerNano;
+            this.tokens = capacity;
+            this.refilledAt = System.nanoTime();
+        }
+
+        void refill(long now) {
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+        }
+
+        long nanosUntil(double needed) {
+            return tokens >= needed ? 0 : (long) Math.ceil((needed - tokens) / tokensPerNano);
+        }
+    }
+}
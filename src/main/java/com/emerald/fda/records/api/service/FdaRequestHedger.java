@@ -0,0 +1,207 @@
+package com.emerald.fda.records.api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hedges OpenFDA calls to cut their tail latency: a call that has not answered once the configured
+ * percentile of recent call latencies has passed is sent a second time, the first successful answer is
+ * used and the other call is cancelled.
+ * <p>
+ * Hedges are paid from a budget: every call earns {@code budget} of a hedge, and at most
+ * {@code budget-burst} unspent hedges are kept, so hedging adds at most that share of calls even when
+ * OpenFDA is slow across the board.
+ */
+@Component
+@Slf4j
+public class FdaRequestHedger {
+    private final boolean enabled;
+    private final long minDelayNanos;
+    private final long maxDelayNanos;
+    private final LatencyWindow latencies;
+    private final CallBudget budget;
+    private final ScheduledExecutorService scheduler;
+    private final Counter firedHedges;
+    private final Counter wonHedges;
+
+    public FdaRequestHedger(@Value("${openfda.api.hedging.enabled:false}") boolean enabled,
+                            @Value("${openfda.api.hedging.percentile:0.95}") double percentile,
+                            @Value("${openfda.api.hedging.min-delay:PT0.05S}") Duration minDelay,
+                            @Value("${openfda.api.hedging.max-delay:PT0.5S}") Duration maxDelay,
+                            @Value("${openfda.api.hedging.sample-size:1000}") int sampleSize,
+                            @Value("${openfda.api.hedging.budget:0.1}") double budget,
+                            @Value("${openfda.api.hedging.budget-burst:10}") double budgetBurst,
+                            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.minDelayNanos = minDelay.toNanos();
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.latencies = new LatencyWindow(sampleSize, percentile);
+        this.budget = new CallBudget(budget, budgetBurst);
+
+        var executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            var thread = new Thread(runnable, "openfda-hedging");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        this.scheduler = executor;
+
+        TimeGauge.builder("openfda.hedge.delay", this, TimeUnit.NANOSECONDS, FdaRequestHedger::hedgeDelayNanos)
+                .description("Time after which an unanswered OpenFDA call is hedged")
+                .register(meterRegistry);
+        this.firedHedges = Counter.builder("openfda.hedge.fired")
+                .description("Hedged OpenFDA calls sent because the original call was slow")
+                .register(meterRegistry);
+        this.wonHedges = Counter.builder("openfda.hedge.won")
+                .description("Hedged OpenFDA calls that answered before the original call")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts the call and, if it has not answered within the hedge delay, starts it a second time.
+     * The returned future completes with the first successful answer and fails only when every started
+     * call failed, or when the original call failed before a hedge was sent. Calls that lose are cancelled,
+     * so call futures should abort their request when cancelled.
+     *
+     * @param call        starts the call
+     * @param hedgePermit asked right before a hedge is sent, which is skipped if it answers {@code false}
+     * @return a future completed with the answer of the call
+     */
+    public <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> call, BooleanSupplier hedgePermit) {
+        if (!enabled) {
+            return call.get();
+        }
+
+        budget.earn();
+        return new HedgedCall<>(call, hedgePermit).start();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * The hedge delay follows the configured percentile of the latest successful call latencies, and is
+     * the maximum delay until enough calls were seen.
+     */
+    private long hedgeDelayNanos() {
+        long percentileNanos = latencies.percentileNanos();
+        return percentileNanos < 0 ? maxDelayNanos : Math.clamp(percentileNanos, minDelayNanos, maxDelayNanos);
+    }
+
+    /**
+     * One call and its hedge, of which the first successful answer completes the result.
+     */
+    private final class HedgedCall<T> {
+        private final Supplier<CompletableFuture<T>> call;
+        private final BooleanSupplier hedgePermit;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final List<CompletableFuture<T>> attempts = new ArrayList<>();
+
+        private int pendingAttempts;
+        private Throwable firstFailure;
+        private ScheduledFuture<?> scheduledHedge;
+
+        HedgedCall(Supplier<CompletableFuture<T>> call, BooleanSupplier hedgePermit) {
+            this.call = call;
+            this.hedgePermit = hedgePermit;
+        }
+
+        CompletableFuture<T> start() {
+            attempt(false);
+
+            synchronized (this) {
+                if (!result.isDone()) {
+                    scheduledHedge = scheduler.schedule(this::hedge, hedgeDelayNanos(), TimeUnit.NANOSECONDS);
+                }
+            }
+
+            result.whenComplete((value, ex) -> cancelRemaining());
+            return result;
+        }
+
+        private synchronized void hedge() {
+            if (result.isDone()) {
+                return;
+            }
+            if (!budget.trySpend()) {
+                log.debug("OpenFDA call not hedged, the hedge budget is spent");
+                return;
+            }
+            if (!hedgePermit.getAsBoolean()) {
+                budget.refund();
+                log.debug("OpenFDA call not hedged, no request quota is left for it");
+                return;
+            }
+
+            firedHedges.increment();
+            attempt(true);
+        }
+
+        private synchronized void attempt(boolean hedge) {
+            long startedAt = System.nanoTime();
+            CompletableFuture<T> attempt;
+
+            pendingAttempts++;
+            try {
+                attempt = call.get();
+            } catch (RuntimeException ex) {
+                attempt = CompletableFuture.failedFuture(ex);
+            }
+            attempts.add(attempt);
+
+            attempt.whenComplete((value, ex) -> {
+                if (ex == null) {
+                    latencies.record(System.nanoTime() - startedAt);
+                    if (result.complete(value) && hedge) {
+                        wonHedges.increment();
+                    }
+                } else {
+                    failed(ex);
+                }
+            });
+        }
+
+        /**
+         * Fails the result once no started call may still answer. A hedge may still be sent while the
+         * original call is the only one started, so its failure fails the result and cancels the hedge.
+         */
+        private synchronized void failed(Throwable ex) {
+            if (firstFailure == null) {
+                firstFailure = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            }
+
+            if (--pendingAttempts == 0) {
+                result.completeExceptionally(firstFailure);
+            }
+        }
+
+        private synchronized void cancelRemaining() {
+            if (scheduledHedge != null) {
+                scheduledHedge.cancel(false);
+            }
+            attempts.forEach(attempt -> attempt.cancel(true));
+        }
+    }
+}
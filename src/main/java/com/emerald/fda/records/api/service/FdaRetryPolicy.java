@@ -0,0 +1,237 @@
+package com.emerald.fda.records.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+/**
+ * Retries OpenFDA calls that failed transiently, that is with an I/O error such as a reset connection or
+ * a timeout, a server error or 429 Too Many Requests. Every OpenFDA call is an idempotent GET, so it is
+ * safe to send again.
+ * <p>
+ * Retries wait an exponential backoff with random jitter, so that calls failed together do not retry
+ * together. They are paid from a retry budget: every call earns {@code budget} of a retry, and at most
+ * {@code budget-burst} unspent retries are kept, so retries stay below that share of the traffic and
+ * cannot multiply the load on an API that is already failing.
+ * <p>
+ * A 429 is not retried before the time its {@code Retry-After} header asks for, and not at all when that is
+ * longer than {@code max-backoff}, since the caller would rather be answered than wait that long.
+ */
+@Component
+@Slf4j
+public class FdaRetryPolicy {
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final double backoffMultiplier;
+    private final long maxBackoffNanos;
+    private final double jitter;
+    private final CallBudget budget;
+    private final ScheduledExecutorService scheduler;
+    private final Counter retries;
+    private final Counter budgetExhausted;
+
+    public FdaRetryPolicy(@Value("${openfda.api.retry.max-attempts:3}") int maxAttempts,
+                          @Value("${openfda.api.retry.initial-backoff:PT0.1S}") Duration initialBackoff,
+                          @Value("${openfda.api.retry.backoff-multiplier:2}") double backoffMultiplier,
+                          @Value("${openfda.api.retry.max-backoff:PT2S}") Duration maxBackoff,
+                          @Value("${openfda.api.retry.jitter:0.5}") double jitter,
+                          @Value("${openfda.api.retry.budget:0.1}") double budget,
+                          @Value("${openfda.api.retry.budget-burst:10}") double budgetBurst,
+                          MeterRegistry meterRegistry) {
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffNanos = initialBackoff.toNanos();
+        this.backoffMultiplier = backoffMultiplier;
+        this.maxBackoffNanos = maxBackoff.toNanos();
+        this.jitter = jitter;
+        this.budget = new CallBudget(budget, budgetBurst);
+
+        var executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            var thread = new Thread(runnable, "openfda-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        this.scheduler = executor;
+
+        this.retries = Counter.builder("openfda.retry.attempts")
+                .description("OpenFDA calls sent again after a transient failure")
+                .register(meterRegistry);
+        this.budgetExhausted = Counter.builder("openfda.retry.budget-exhausted")
+                .description("Transient OpenFDA failures not retried because the retry budget was spent")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Makes a blocking call, retrying it while it fails transiently and retries are left.
+     *
+     * @param call the call
+     * @return the result of the call
+     */
+    public <T> T execute(Supplier<T> call) {
+        budget.earn();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return call.get();
+            } catch (RuntimeException ex) {
+                long delayNanos = retryDelayNanos(attempt, ex);
+                if (delayNanos < 0) {
+                    throw ex;
+                }
+
+                try {
+                    Thread.sleep(Duration.ofNanos(delayNanos));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    /**
+     * Makes a non-blocking call, starting it again after the backoff while it fails transiently and
+     * retries are left. No thread is held during the backoff.
+     *
+     * @param call starts the call
+     * @return a future completed with the result of the call
+     */
+    public <T> CompletableFuture<T> executeAsync(Supplier<CompletableFuture<T>> call) {
+        budget.earn();
+        return attemptAsync(call, 1);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private <T> CompletableFuture<T> attemptAsync(Supplier<CompletableFuture<T>> call, int attempt) {
+        CompletableFuture<T> started;
+        try {
+            started = call.get();
+        } catch (RuntimeException ex) {
+            started = CompletableFuture.failedFuture(ex);
+        }
+
+        return started.exceptionallyCompose(ex -> {
+            var cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            long delayNanos = retryDelayNanos(attempt, cause);
+            if (delayNanos < 0) {
+                return CompletableFuture.failedFuture(cause);
+            }
+
+            var retried = new CompletableFuture<T>();
+            scheduler.schedule(() -> attemptAsync(call, attempt + 1).whenComplete((value, failure) -> {
+                if (failure != null) {
+                    retried.completeExceptionally(failure);
+                } else {
+                    retried.complete(value);
+                }
+            }), delayNanos, TimeUnit.NANOSECONDS);
+            return retried;
+        });
+    }
+
+    /**
+     * Decides whether a failed attempt is retried.
+     *
+     * @return the time to wait before the retry, or -1 if the call is not retried
+     */
+    private long retryDelayNanos(int attempt, Throwable ex) {
+        if (attempt >= maxAttempts || !isTransient(ex)) {
+            return -1;
+        }
+
+        long retryAfterNanos = retryAfterNanos(ex);
+        if (retryAfterNanos > maxBackoffNanos) {
+            log.warn("Not retrying failed OpenFDA call, it asks to retry after {} s: {}",
+                    TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos), ex.getMessage());
+            return -1;
+        }
+
+        if (!budget.trySpend()) {
+            budgetExhausted.increment();
+            log.warn("Not retrying failed OpenFDA call, the retry budget is spent: {}", ex.getMessage());
+            return -1;
+        }
+
+        retries.increment();
+        log.warn("Retrying OpenFDA call after attempt {} failed: {}", attempt, ex.getMessage());
+        return Math.max(backoffNanos(attempt), retryAfterNanos);
+    }
+
+    /**
+     * Waits {@code initial-backoff} before the first retry, {@code backoff-multiplier} times more before
+     * each next one up to {@code max-backoff}, less a random share of up to {@code jitter}.
+     */
+    private long backoffNanos(int attempt) {
+        double backoff = Math.min(maxBackoffNanos, initialBackoffNanos * Math.pow(backoffMultiplier, attempt - 1));
+        return (long) (backoff * (1 - jitter * ThreadLocalRandom.current().nextDouble()));
+    }
+
+    /**
+     * Reads the {@code Retry-After} header of a 429 response, given in seconds or as an HTTP date.
+     *
+     * @return the time to wait, or 0 if there is no such header or it cannot be read
+     */
+    private static long retryAfterNanos(Throwable ex) {
+        for (var cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpClientErrorException.TooManyRequests tooManyRequests) {
+                var headers = tooManyRequests.getResponseHeaders();
+                var retryAfter = headers != null ? headers.getFirst(HttpHeaders.RETRY_AFTER) : null;
+                return retryAfter != null ? parseRetryAfterNanos(retryAfter.trim()) : 0;
+            }
+        }
+        return 0;
+    }
+
+    private static long parseRetryAfterNanos(String retryAfter) {
+        try {
+            return TimeUnit.SECONDS.toNanos(Math.max(0, Long.parseLong(retryAfter)));
+        } catch (NumberFormatException notSeconds) {
+            try {
+                var date = ZonedDateTime.parse(retryAfter, DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Math.max(0, Duration.between(Instant.now(), date.toInstant()).toNanos());
+            } catch (DateTimeParseException notDate) {
+                return 0;
+            }
+        }
+    }
+
+    private static boolean isTransient(Throwable ex) {
+        for (var cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpClientErrorException clientError) {
+                return clientError instanceof HttpClientErrorException.TooManyRequests;
+            }
+            // an unreadable response would be just as unreadable the next time
+            if (cause instanceof JsonProcessingException) {
+                return false;
+            }
+            if (cause instanceof HttpServerErrorException || cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,248 @@
+package com.emerald.fda.records.api.service;
+
+import com.emerald.fda.records.api.dto.fda.DrugApplicationResultDto;
+import com.emerald.fda.records.api.dto.fda.FdaResponseDto;
+import com.emerald.fda.records.api.dto.fda.MetaDto;
+import com.emerald.fda.records.api.dto.fda.ResultsMetaDto;
+import com.emerald.fda.records.api.timing.RequestTiming;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.service.spi.ServiceException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service for OpenFDA searches that ask for more results than a single OpenFDA call may return, or
+ * that page deeper than the API allows with {@code skip}.
+ * <p>
+ * Such a search is split into pages of at most {@code page-size} results. The first page is fetched
+ * on its own to learn the total number of matches; the remaining pages within the skip limit are then
+ * fetched in parallel, at most {@code concurrency} at a time. Pages beyond the skip limit can only be
+ * reached by following the {@code search_after} link of the page before them, so the deepest page
+ * reachable with {@code skip} is fetched together with its link, and the pages after it one after
+ * another. The pages are merged in order into a single response.
+ */
+@Service
+@Slf4j
+public class FdaSearchFanOutService {
+    private final FdaClientService fdaClientService;
+    private final boolean enabled;
+    private final int pageSize;
+    private final int maxSkip;
+    private final int concurrency;
+    private final Executor executor;
+
+    public FdaSearchFanOutService(FdaClientService fdaClientService,
+                                  @Value("${openfda.api.fan-out.enabled:true}") boolean enabled,
+                                  @Value("${openfda.api.fan-out.page-size:1000}") int pageSize,
+                                  @Value("${openfda.api.fan-out.max-skip:25000}") int maxSkip,
+                                  @Value("${openfda.api.fan-out.concurrency:4}") int concurrency,
+                                  @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                                  Executor executor) {
+        this.fdaClientService = fdaClientService;
+        this.enabled = enabled;
+        this.pageSize = pageSize;
+        this.maxSkip = maxSkip;
+        this.concurrency = concurrency;
+        this.executor = executor;
+    }
+
+    /**
+     * Searches for drug applications records in the OpenFDA API. Searches that fit in a single OpenFDA
+     * call are passed on to {@link FdaClientService#searchDrugApplicationRecords(String, String, int, int)};
+     * larger or deeper ones are fanned out over several calls.
+     *
+     * @param manufacturerName The manufacturer name to search for
+     * @param brandName        The optional brand name to search for
+     * @param skip             The number of results to skip
+     * @param limit            The maximum number of results to return
+     * @return A {@link FdaResponseDto} object containing the search results
+     */
+    public FdaResponseDto searchDrugApplicationRecords(
+            String manufacturerName,
+            String brandName,
+            int skip,
+            int limit) {
+
+        if (!enabled || (limit <= pageSize && skip <= maxSkip)) {
+            return fdaClientService.searchDrugApplicationRecords(manufacturerName, brandName, skip, limit);
+        }
+
+        log.info("Fanning out search for {} drug applications after {} with manufacturer: {}, brand: {}",
+                limit, skip, manufacturerName, brandName);
+
+        long end = (long) skip + limit;
+        // the deepest page reachable with skip; the pages after it are reached through its next page link
+        long deepestOffset = skip <= maxSkip ? skip + (long) (maxSkip - skip) / pageSize * pageSize : maxSkip;
+        var results = new ArrayList<DrugApplicationResultDto>();
+        FdaResponseDto first;
+        FdaSearchPage deepestPage = null;
+
+        if (skip == deepestOffset && end > deepestOffset + pageSize) {
+            deepestPage = fdaClientService.searchDrugApplicationRecordsPage(manufacturerName, brandName, skip, pageSize);
+            first = deepestPage.response();
+        } else if (skip <= maxSkip) {
+            first = fdaClientService.searchDrugApplicationRecords(
+                    manufacturerName, brandName, skip, (int) Math.min(pageSize, limit));
+            addResults(results, first);
+            end = Math.min(end, total(first));
+
+            boolean beyondDeepestPage = end > deepestOffset + pageSize;
+            fetchPagesInParallel(manufacturerName, brandName, skip + resultCount(first),
+                    beyondDeepestPage ? deepestOffset : end, results);
+
+            if (beyondDeepestPage) {
+                deepestPage = fdaClientService.searchDrugApplicationRecordsPage(
+                        manufacturerName, brandName, (int) deepestOffset, pageSize);
+            }
+        } else {
+            deepestPage = fdaClientService.searchDrugApplicationRecordsPage(manufacturerName, brandName, maxSkip, pageSize);
+            first = deepestPage.response();
+        }
+
+        if (deepestPage != null) {
+            followSearchAfterLinks(deepestPage, deepestOffset, skip, Math.min(end, total(first)), results);
+        }
+
+        return merge(first, skip, limit, results);
+    }
+
+    /**
+     * Searches for drug applications records in the OpenFDA API without blocking the calling thread.
+     * Searches that fit in a single OpenFDA call are passed on to
+     * {@link FdaClientService#searchDrugApplicationRecordsAsync(String, String, int, int)}; larger or deeper
+     * ones are fanned out like {@link #searchDrugApplicationRecords(String, String, int, int)} on the
+     * application task executor.
+     *
+     * @param manufacturerName The manufacturer name to search for
+     * @param brandName        The optional brand name to search for
+     * @param skip             The number of results to skip
+     * @param limit            The maximum number of results to return
+     * @return A future completed with the {@link FdaResponseDto} containing the search results
+     */
+    public CompletableFuture<FdaResponseDto> searchDrugApplicationRecordsAsync(
+            String manufacturerName,
+            String brandName,
+            int skip,
+            int limit) {
+
+        if (!enabled || (limit <= pageSize && skip <= maxSkip)) {
+            return fdaClientService.searchDrugApplicationRecordsAsync(manufacturerName, brandName, skip, limit);
+        }
+
+        var timing = RequestTiming.current();
+        return CompletableFuture.supplyAsync(() -> {
+            try (var scope = timing.bind()) {
+                return searchDrugApplicationRecords(manufacturerName, brandName, skip, limit);
+            }
+        }, executor);
+    }
+
+    /**
+     * Fetches the pages from {@code from} up to {@code end} with {@code skip}, with at most
+     * {@code concurrency} calls in flight, and appends their results in order.
+     */
+    private void fetchPagesInParallel(String manufacturerName, String brandName, long from, long end,
+                                      List<DrugApplicationResultDto> results) {
+
+        var permits = new Semaphore(concurrency);
+        var pages = new ArrayList<CompletableFuture<FdaResponseDto>>();
+
+        for (long offset = from; offset < end; offset += pageSize) {
+            acquire(permits);
+
+            int pageLimit = (int) Math.min(pageSize, end - offset);
+            var key = fdaClientService.buildSearchKey(manufacturerName, brandName, (int) offset, pageLimit);
+            pages.add(fdaClientService.searchDrugApplicationRecordsAsync(key, FdaCallPriority.BULK)
+                    .whenComplete((response, ex) -> permits.release()));
+        }
+
+        for (var page : pages) {
+            addResults(results, join(page));
+        }
+    }
+
+    /**
+     * Appends the results from {@code from} up to {@code end} of the given page, which starts at
+     * {@code offset}, and of the pages after it, reached by following their next page links.
+     */
+    private void followSearchAfterLinks(FdaSearchPage page, long offset, long from, long end,
+                                        List<DrugApplicationResultDto> results) {
+
+        while (true) {
+            var pageResults = page.response() != null && page.response().results() != null
+                    ? page.response().results()
+                    : List.<DrugApplicationResultDto>of();
+
+            for (var result : pageResults) {
+                if (offset >= from && offset < end) {
+                    results.add(result);
+                }
+                offset++;
+            }
+
+            if (offset >= end || pageResults.isEmpty() || page.nextPageUrl() == null) {
+                return;
+            }
+
+            page = fdaClientService.searchNextDrugApplicationRecordsPage(page.nextPageUrl());
+        }
+    }
+
+    private static FdaResponseDto merge(FdaResponseDto first, int skip, int limit,
+                                        List<DrugApplicationResultDto> results) {
+        var meta = first != null ? first.meta() : null;
+
+        return new FdaResponseDto(
+                new MetaDto(
+                        meta != null ? meta.disclaimer() : null,
+                        meta != null ? meta.terms() : null,
+                        meta != null ? meta.license() : null,
+                        meta != null ? meta.last_updated() : null,
+                        new ResultsMetaDto(skip, limit, (int) total(first))),
+                List.copyOf(results));
+    }
+
+    private static long total(FdaResponseDto response) {
+        return response != null && response.meta() != null && response.meta().results() != null
+                ? response.meta().results().total()
+                : 0;
+    }
+
+    private static int resultCount(FdaResponseDto response) {
+        return response != null && response.results() != null ? response.results().size() : 0;
+    }
+
+    private static void addResults(List<DrugApplicationResultDto> results, FdaResponseDto response) {
+        if (response != null && response.results() != null) {
+            results.addAll(response.results());
+        }
+    }
+
+    private static void acquire(Semaphore permits) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServiceException("Interrupted while fetching drug application records from OpenFDA API", ex);
+        }
+    }
+
+    private static FdaResponseDto join(CompletableFuture<FdaResponseDto> page) {
+        try {
+            return page.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
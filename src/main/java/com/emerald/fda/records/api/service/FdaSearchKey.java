@@ -0,0 +1,14 @@
+package com.emerald.fda.records.api.service;
+
+/**
+ * Identifies a single OpenFDA search request: the search query together with its paging window.
+ *
+ * @param query the OpenFDA search query built from normalized search terms
+ * @param skip  the number of results to skip
+ * @param limit the maximum number of results to return
+ */
+public record FdaSearchKey(
+        String query,
+        int skip,
+        int limit
+) {}
@@ -0,0 +1,14 @@
+package com.emerald.fda.records.api.service;
+
+import com.emerald.fda.records.api.dto.fda.FdaResponseDto;
+
+/**
+ * A single page of OpenFDA search results together with the link to the page that follows it.
+ *
+ * @param response    the search results of the page
+ * @param nextPageUrl the URL of the next page announced in the {@code Link} header, or null if there is none
+ */
+public record FdaSearchPage(
+        FdaResponseDto response,
+        String nextPageUrl
+) {}
@@ -0,0 +1,42 @@
+package com.emerald.fda.records.api.service;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the latest call latencies and a percentile of them, recomputed every few recorded calls rather
+ * than on every read.
+ */
+final class LatencyWindow {
+    private static final int UPDATE_INTERVAL = 32;
+
+    private final long[] latencies;
+    private final double percentile;
+    private long recorded;
+    private long percentileNanos = -1;
+
+    /**
+     * @param size       the number of latest latencies kept
+     * @param percentile the percentile to compute, between 0 and 1
+     */
+    LatencyWindow(int size, double percentile) {
+        this.latencies = new long[Math.max(1, size)];
+        this.percentile = percentile;
+    }
+
+    synchronized void record(long nanos) {
+        latencies[(int) (recorded++ % latencies.length)] = nanos;
+
+        if (recorded % UPDATE_INTERVAL == 0 || recorded == latencies.length) {
+            var recent = Arrays.copyOf(latencies, (int) Math.min(recorded, latencies.length));
+            Arrays.sort(recent);
+            percentileNanos = recent[(int) Math.clamp((long) Math.ceil(percentile * recent.length) - 1, 0, recent.length - 1)];
+        }
+    }
+
+    /**
+     * @return the percentile of the latest latencies in nanoseconds, or -1 until enough calls were recorded
+     */
+    synchronized long percentileNanos() {
+        return percentileNanos;
+    }
+}
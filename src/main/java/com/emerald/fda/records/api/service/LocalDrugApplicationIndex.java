@@ -0,0 +1,312 @@
+package com.emerald.fda.records.api.service;
+
+import com.emerald.fda.records.api.dto.fda.DrugApplicationResultDto;
+import com.emerald.fda.records.api.dto.fda.FdaResponseDto;
+import com.emerald.fda.records.api.dto.fda.MetaDto;
+import com.emerald.fda.records.api.dto.fda.OpenFdaDto;
+import com.emerald.fda.records.api.dto.fda.ResultsMetaDto;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * In-memory inverted index over the OpenFDA manufacturer, brand, substance and generic names of the
+ * drugsfda dataset, used to answer searches without calling the OpenFDA API.
+ * <p>
+ * A search term matches a field the way an OpenFDA phrase query does: all of its words must appear
+ * consecutively in one of the field values, ignoring case and punctuation.
+ */
+@Component
+@Slf4j
+public class LocalDrugApplicationIndex {
+    /**
+     * Fields of {@link OpenFdaDto} covered by the index.
+     */
+    public enum Field {
+        MANUFACTURER_NAME(OpenFdaDto::manufacturer_name),
+        BRAND_NAME(OpenFdaDto::brand_name),
+        SUBSTANCE_NAME(OpenFdaDto::substance_name),
+        GENERIC_NAME(OpenFdaDto::generic_name);
+
+        private final Function<OpenFdaDto, List<String>> extractor;
+
+        Field(Function<OpenFdaDto, List<String>> extractor) {
+            this.extractor = extractor;
+        }
+    }
+
+    private static final int[] NO_DOCUMENTS = new int[0];
+
+    private final DrugsFdaFileReader fileReader;
+    private final String indexPath;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    public LocalDrugApplicationIndex(DrugsFdaFileReader fileReader,
+                                     @Value("${openfda.search.local-index-path:}") String indexPath) {
+        this.fileReader = fileReader;
+        this.indexPath = indexPath;
+    }
+
+    /**
+     * @return true once the index has been loaded and can serve searches
+     */
+    public boolean isReady() {
+        return snapshot.get() != null;
+    }
+
+    /**
+     * Loads the configured drugsfda file in the background once the application has started,
+     * so startup is not delayed by building the index.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!StringUtils.hasText(indexPath)) {
+            return;
+        }
+
+        Thread.ofPlatform().name("drugsfda-index-loader").daemon(true).start(() -> {
+            try {
+                load(Path.of(indexPath));
+            } catch (IOException | RuntimeException ex) {
+                log.error("Failed to load local drug application index from {}", indexPath, ex);
+            }
+        });
+    }
+
+    /**
+     * Builds the index from a drugsfda file and replaces the current index once complete.
+     *
+     * @param path the path of the zipped or extracted drugsfda JSON file
+     * @return the number of indexed drug applications
+     * @throws IOException if the file cannot be read or parsed
+     */
+    public int load(Path path) throws IOException {
+        long startNanos = System.nanoTime();
+        var meta = new AtomicReference<MetaDto>();
+        var results = new ArrayList<DrugApplicationResultDto>();
+
+        fileReader.read(path, meta::set, results::add);
+
+        var loaded = new Snapshot(meta.get(), results);
+        snapshot.set(loaded);
+
+        log.info("Loaded local drug application index with {} applications in {} ms",
+                loaded.documents.length, (System.nanoTime() - startNanos) / 1_000_000);
+
+        return loaded.documents.length;
+    }
+
+    /**
+     * Searches the index by manufacturer name and optional brand name, mirroring
+     * {@link FdaClientService#searchDrugApplicationRecords(String, String, int, int)}.
+     *
+     * @param manufacturerName The manufacturer name to search for
+     * @param brandName        The optional brand name to search for
+     * @param skip             The number of results to skip
+     * @param limit            The maximum number of results to return
+     * @return A {@link FdaResponseDto} object containing the search results
+     */
+    public FdaResponseDto search(String manufacturerName, String brandName, int skip, int limit) {
+        var criteria = new EnumMap<Field, String>(Field.class);
+        criteria.put(Field.MANUFACTURER_NAME, manufacturerName);
+        if (StringUtils.hasText(brandName)) {
+            criteria.put(Field.BRAND_NAME, brandName);
+        }
+
+        return search(criteria, skip, limit);
+    }
+
+    /**
+     * Searches the index for applications matching every given field phrase.
+     *
+     * @param criteria the phrase to match for each field
+     * @param skip     The number of results to skip
+     * @param limit    The maximum number of results to return
+     * @return A {@link FdaResponseDto} object containing the search results, ordered by application number
+     * @throws IllegalStateException if the index is not loaded
+     */
+    public FdaResponseDto search(Map<Field, String> criteria, int skip, int limit) {
+        var current = snapshot.get();
+        if (current == null) {
+            throw new IllegalStateException("Local drug application index is not loaded");
+        }
+
+        int[] matches = null;
+        for (var criterion : criteria.entrySet()) {
+            int[] fieldMatches = current.match(criterion.getKey(), criterion.getValue());
+            matches = matches == null ? fieldMatches : intersect(matches, fieldMatches);
+        }
+        if (matches == null) {
+            matches = NO_DOCUMENTS;
+        }
+
+        int from = Math.min(skip, matches.length);
+        int to = (int) Math.min((long) from + limit, matches.length);
+        var page = new ArrayList<DrugApplicationResultDto>(to - from);
+        for (int i = from; i < to; i++) {
+            page.add(current.documents[matches[i]]);
+        }
+
+        var meta = current.meta;
+        return new FdaResponseDto(
+                new MetaDto(
+                        meta != null ? meta.disclaimer() : null,
+                        meta != null ? meta.terms() : null,
+                        meta != null ? meta.license() : null,
+                        meta != null ? meta.last_updated() : null,
+                        new ResultsMetaDto(skip, limit, matches.length)),
+                page);
+    }
+
+    /**
+     * Checks whether a field value contains the given phrase using the index matching rules.
+     *
+     * @param value  the field value
+     * @param phrase the phrase to look for
+     * @return true if all words of the phrase appear consecutively in the value
+     */
+    public static boolean matchesPhrase(String value, String phrase) {
+        var phraseTokens = tokenize(phrase);
+        return !phraseTokens.isEmpty() && normalize(value).contains(" " + String.join(" ", phraseTokens) + " ");
+    }
+
+    private static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    /**
+     * Normalizes a field value to its space-separated words, padded with a leading and trailing space
+     * so phrase containment can be checked on word boundaries.
+     */
+    private static String normalize(String value) {
+        return " " + String.join(" ", tokenize(value)) + " ";
+    }
+
+    private static int[] intersect(int[] left, int[] right) {
+        int[] result = new int[Math.min(left.length, right.length)];
+        int count = 0;
+
+        for (int i = 0, j = 0; i < left.length && j < right.length; ) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[count++] = left[i];
+                i++;
+                j++;
+            }
+        }
+
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Immutable index over one load of the dataset.
+     */
+    private static final class Snapshot {
+        private final MetaDto meta;
+        private final DrugApplicationResultDto[] documents;
+        private final Map<Field, Map<String, int[]>> postings = new EnumMap<>(Field.class);
+        private final Map<Field, String[][]> normalizedValues = new EnumMap<>(Field.class);
+
+        private Snapshot(MetaDto meta, List<DrugApplicationResultDto> results) {
+            this.meta = meta;
+            this.documents = results.stream()
+                    .filter(result -> result.application_number() != null)
+                    .sorted(Comparator.comparing(DrugApplicationResultDto::application_number))
+                    .toArray(DrugApplicationResultDto[]::new);
+
+            for (var field : Field.values()) {
+                index(field);
+            }
+        }
+
+        private void index(Field field) {
+            var tokenPostings = new HashMap<String, List<Integer>>();
+            var values = new String[documents.length][];
+
+            for (int doc = 0; doc < documents.length; doc++) {
+                var openFda = documents[doc].openfda();
+                List<String> fieldValues = openFda != null ? field.extractor.apply(openFda) : null;
+                if (fieldValues == null) {
+                    values[doc] = new String[0];
+                    continue;
+                }
+
+                values[doc] = fieldValues.stream()
+                        .filter(Objects::nonNull)
+                        .map(LocalDrugApplicationIndex::normalize)
+                        .toArray(String[]::new);
+
+                Set<String> tokens = new LinkedHashSet<>();
+                fieldValues.stream().filter(Objects::nonNull).forEach(value -> tokens.addAll(tokenize(value)));
+                for (var token : tokens) {
+                    tokenPostings.computeIfAbsent(token, key -> new ArrayList<>()).add(doc);
+                }
+            }
+
+            var fieldPostings = new HashMap<String, int[]>(tokenPostings.size() * 2);
+            tokenPostings.forEach((token, docs) ->
+                    fieldPostings.put(token, docs.stream().mapToInt(Integer::intValue).toArray()));
+
+            postings.put(field, fieldPostings);
+            normalizedValues.put(field, values);
+        }
+
+        /**
+         * Finds the documents whose field contains the phrase: candidates are the intersection of the
+         * postings of every word, which are then checked for the words appearing consecutively.
+         */
+        private int[] match(Field field, String phrase) {
+            var tokens = tokenize(phrase);
+            if (tokens.isEmpty()) {
+                return NO_DOCUMENTS;
+            }
+
+            var fieldPostings = postings.get(field);
+            int[] candidates = null;
+            for (var token : tokens) {
+                int[] docs = fieldPostings.getOrDefault(token, NO_DOCUMENTS);
+                candidates = candidates == null ? docs : intersect(candidates, docs);
+                if (candidates.length == 0) {
+                    return NO_DOCUMENTS;
+                }
+            }
+
+            if (tokens.size() == 1) {
+                return candidates;
+            }
+
+            String normalizedPhrase = " " + String.join(" ", tokens) + " ";
+            var values = normalizedValues.get(field);
+            return Arrays.stream(candidates)
+                    .filter(doc -> Arrays.stream(values[doc]).anyMatch(value -> value.contains(normalizedPhrase)))
+                    .toArray();
+        }
+    }
+}
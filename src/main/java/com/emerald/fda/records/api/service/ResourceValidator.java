@@ -0,0 +1,100 @@
+package com.emerald.fda.records.api.service;
+
+import com.emerald.fda.records.api.dto.fda.FdaResponseDto;
+import com.emerald.fda.records.api.repository.DrugApplicationRecordVersion;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Validators of a response for conditional requests: the {@code ETag}, and the {@code Last-Modified} time
+ * when there is one.
+ *
+ * @param eTag         the entity tag, quoted and prefixed with {@code W/} when weak
+ * @param lastModified when the response last changed, or null if unknown
+ */
+public record ResourceValidator(
+        String eTag,
+        Instant lastModified
+) {
+    /**
+     * Creates the strong validator of a stored drug application record from its version and modification
+     * time, so that a record deleted and stored again, whose version starts over, gets a new entity tag.
+     *
+     * @param version the version of the record
+     * @return the validator
+     */
+    public static ResourceValidator of(DrugApplicationRecordVersion version) {
+        return new ResourceValidator("\"" + version.version() + "-" + epochMillis(version.lastModified()) + "\"",
+                version.lastModified());
+    }
+
+    /**
+     * Creates the strong validator of a page of stored drug application records, which changes whenever a
+     * record of the page changes, a record joins or leaves the page or the total number of records changes.
+     * Like the validator of a record, it takes the modification times of the records into account.
+     *
+     * @param pageable     the pagination information
+     * @param versions     the versions of the records of the page
+     * @param total        the total number of records
+     * @param lastModified when any record last changed
+     * @return the validator
+     */
+    public static ResourceValidator ofPage(Pageable pageable, List<DrugApplicationRecordVersion> versions,
+                                           long total, Instant lastModified) {
+        var content = new StringBuilder()
+                .append(pageable.getPageNumber()).append('/').append(pageable.getPageSize())
+                .append('/').append(total);
+        versions.forEach(version -> content.append('/').append(version.applicationNumber())
+                .append('@').append(version.version()).append('-').append(epochMillis(version.lastModified())));
+
+        return new ResourceValidator("\"" + hash(content) + "\"", lastModified);
+    }
+
+    /**
+     * Creates the weak validator of an OpenFDA search, derived from the query and the date the OpenFDA
+     * data was last updated. It is weak since responses built from the same data need not be identical
+     * byte for byte, a page fanned out over several calls for instance.
+     *
+     * @param manufacturerName the manufacturer name searched for
+     * @param brandName        the brand name searched for, or null
+     * @param skip             the number of results skipped
+     * @param limit            the maximum number of results
+     * @param response         the search response
+     * @return the validator, or empty when the response does not tell when its data was last updated
+     */
+    public static Optional<ResourceValidator> ofSearch(String manufacturerName, String brandName, int skip, int limit,
+                                                       FdaResponseDto response) {
+        var meta = response != null ? response.meta() : null;
+        if (meta == null || meta.last_updated() == null) {
+            return Optional.empty();
+        }
+
+        var content = String.join("/", manufacturerName, String.valueOf(brandName), String.valueOf(skip),
+                String.valueOf(limit), meta.last_updated(), String.valueOf(Boolean.TRUE.equals(meta.stale())));
+
+        return Optional.of(new ResourceValidator("W/\"" + hash(content) + "\"", null));
+    }
+
+    /**
+     * Returns the validator of the same response sent with a content coding such as gzip, whose strong
+     * entity tag must differ from the one of the uncoded response.
+     *
+     * @param contentCoding the content coding
+     * @return the validator
+     */
+    public ResourceValidator withContentCoding(String contentCoding) {
+        return new ResourceValidator(eTag.substring(0, eTag.length() - 1) + "-" + contentCoding + "\"", lastModified);
+    }
+
+    private static String epochMillis(Instant instant) {
+        return instant != null ? String.valueOf(instant.toEpochMilli()) : "0";
+    }
+
+    private static String hash(CharSequence content) {
+        return DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
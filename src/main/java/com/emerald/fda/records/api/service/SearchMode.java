@@ -0,0 +1,21 @@
+package com.emerald.fda.records.api.service;
+
+/**
+ * Where drug application searches are served from, configured in {@code openfda.search.mode}.
+ */
+public enum SearchMode {
+    /**
+     * Every search calls the OpenFDA API.
+     */
+    REMOTE,
+
+    /**
+     * Every search is served from the local index; searches fail while the index is not loaded.
+     */
+    LOCAL,
+
+    /**
+     * Searches are served from the local index once it is loaded and from the OpenFDA API until then.
+     */
+    LOCAL_WITH_REMOTE_FALLBACK
+}
@@ -0,0 +1,107 @@
+package com.emerald.fda.records.api.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates concurrent calls for the same key: the first caller executes the call while
+ * callers arriving before it completes wait for and share its result.
+ *
+ * @param <K> the type of the call key
+ * @param <V> the type of the call result
+ */
+final class SingleFlight<K, V> {
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Runnable onCoalesced;
+
+    /**
+     * @param onCoalesced invoked every time a caller joins a call that is already in flight
+     */
+    SingleFlight(Runnable onCoalesced) {
+        this.onCoalesced = onCoalesced;
+    }
+
+    /**
+     * Executes the call for the given key, or joins the in-flight call for the same key.
+     *
+     * @param key  the call key
+     * @param call the call to execute when no call for the key is in flight
+     * @return the result of the call
+     */
+    V execute(K key, Supplier<V> call) {
+        var future = new CompletableFuture<V>();
+        var existing = inFlight.putIfAbsent(key, future);
+
+        if (existing != null) {
+            onCoalesced.run();
+            return join(existing);
+        }
+
+        try {
+            V value = call.get();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            future.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * Starts the asynchronous call for the given key, or joins the call for the same key that is in
+     * flight, whether it was started by {@link #execute} or by this method. Every caller gets its own
+     * dependent future, so a caller that cancels or times out its future does not affect the others.
+     *
+     * @param key  the call key
+     * @param call starts the call when no call for the key is in flight
+     * @return a future completed with the result of the call
+     */
+    CompletableFuture<V> executeAsync(K key, Supplier<CompletableFuture<V>> call) {
+        var future = new CompletableFuture<V>();
+        var existing = inFlight.putIfAbsent(key, future);
+
+        if (existing != null) {
+            onCoalesced.run();
+            return existing.copy();
+        }
+
+        CompletableFuture<V> started;
+        try {
+            started = call.get();
+        } catch (RuntimeException | Error ex) {
+            started = CompletableFuture.failedFuture(ex);
+        }
+
+        started.whenComplete((value, ex) -> {
+            if (ex != null) {
+                future.completeExceptionally(ex instanceof CompletionException && ex.getCause() != null
+                        ? ex.getCause()
+                        : ex);
+            } else {
+                future.complete(value);
+            }
+            inFlight.remove(key, future);
+        });
+
+        return future.copy();
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.emerald.fda.records.api.service;
+
+/**
+ * How a single drug application record is written, configured in {@code fda.records.upsert-mode}.
+ */
+public enum UpsertMode {
+    /**
+     * The record and its product numbers are written with single-statement {@code MERGE} upserts,
+     * which is idempotent and safe under concurrent writes of the same record.
+     */
+    MERGE,
+
+    /**
+     * The record is looked up first and then inserted or updated through JPA. Not dialect-specific,
+     * but concurrent creates of the same record can fail on the primary key.
+     */
+    SELECT_THEN_SAVE
+}
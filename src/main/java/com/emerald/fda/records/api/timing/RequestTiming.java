@@ -0,0 +1,180 @@
+package com.emerald.fda.records.api.timing;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Collects how long the stages of a request took, such as the OpenFDA call or the database queries, to be
+ * reported in the {@code Server-Timing} response header by {@link ServerTimingFilter}.
+ * <p>
+ * The timing of a request is bound to the thread handling it, so code on the request path records its stage
+ * without the timing being passed along. Work continuing on another thread takes the timing of the calling
+ * thread with it and binds it there. Stages recorded several times, for instance one database query after
+ * another, add up.
+ * <p>
+ * When server timing is disabled, or on a thread serving no request, {@link #current()} returns a timing that
+ * records nothing and does not read the clock.
+ */
+public final class RequestTiming {
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+    private static final RequestTiming DISABLED = new RequestTiming(false);
+
+    private final boolean enabled;
+    private final long startedAt;
+    private final Map<String, Stage> stages = new LinkedHashMap<>();
+
+    private RequestTiming(boolean enabled) {
+        this.enabled = enabled;
+        this.startedAt = enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Starts the timing of a request.
+     *
+     * @return the timing, not yet bound to any thread
+     */
+    public static RequestTiming start() {
+        return new RequestTiming(true);
+    }
+
+    /**
+     * Returns the timing bound to the current thread.
+     *
+     * @return the timing, which records nothing if there is none
+     */
+    public static RequestTiming current() {
+        var timing = CURRENT.get();
+        return timing != null ? timing : DISABLED;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Binds this timing to the current thread until the returned scope is closed, when the timing bound
+     * before is restored.
+     *
+     * @return the scope
+     */
+    public Scope bind() {
+        if (!enabled) {
+            return Scope.NOOP;
+        }
+
+        var previous = CURRENT.get();
+        CURRENT.set(this);
+        return () -> {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    /**
+     * Reads the clock for a stage about to start.
+     *
+     * @return the current time in nanoseconds, or 0 when the timing is disabled
+     */
+    public long now() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records a stage that started at the given time and ends now.
+     *
+     * @param stage     the stage name, a token such as {@code openfda}
+     * @param startedAt the start time returned by {@link #now()}
+     */
+    public void record(String stage, long startedAt) {
+        if (enabled) {
+            recordDuration(stage, System.nanoTime() - startedAt);
+        }
+    }
+
+    /**
+     * Records a stage measured elsewhere.
+     *
+     * @param stage the stage name
+     * @param nanos how long the stage took, in nanoseconds
+     */
+    public void recordDuration(String stage, long nanos) {
+        if (enabled) {
+            synchronized (stages) {
+                stages.computeIfAbsent(stage, name -> new Stage()).add(nanos);
+            }
+        }
+    }
+
+    /**
+     * Records an event without a duration, such as a cache hit.
+     *
+     * @param stage       the stage name
+     * @param description what happened
+     */
+    public void mark(String stage, String description) {
+        if (enabled) {
+            synchronized (stages) {
+                stages.computeIfAbsent(stage, name -> new Stage()).description = description;
+            }
+        }
+    }
+
+    /**
+     * Formats the recorded stages and the time since the request started as a {@code Server-Timing} header
+     * value, durations in milliseconds. A stage recorded more than once is described with its count.
+     *
+     * @return the header value
+     */
+    public String toHeaderValue() {
+        var header = new StringJoiner(", ");
+
+        synchronized (stages) {
+            stages.forEach((name, stage) -> {
+                var metric = new StringBuilder(name);
+                if (stage.count > 0) {
+                    metric.append(";dur=").append(millis(stage.nanos));
+                }
+                if (stage.description != null) {
+                    metric.append(";desc=\"").append(stage.description).append('"');
+                } else if (stage.count > 1) {
+                    metric.append(";desc=\"").append(stage.count).append(" calls\"");
+                }
+                header.add(metric);
+            });
+        }
+
+        return header.add("total;dur=" + millis(System.nanoTime() - startedAt)).toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1e6);
+    }
+
+    /**
+     * The binding of a timing to a thread.
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        Scope NOOP = () -> {
+        };
+
+        @Override
+        void close();
+    }
+
+    private static final class Stage {
+        private long nanos;
+        private int count;
+        private String description;
+
+        void add(long stageNanos) {
+            nanos += stageNanos;
+            count++;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.emerald.fda.records.api.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Times every request and reports its stages in the {@code Server-Timing} response header, for instance
+ * {@code Server-Timing: query;dur=0.1, openfda;dur=182.4, deserialize;dur=3.2, serialize;dur=0.8, total;dur=188.0}.
+ * <p>
+ * The header is added when the response is committed, that is when its body starts to be written, so it
+ * covers everything that happened before. A sample of the requests is also logged with their stages, with
+ * the method, path and status as key-value pairs for structured logging.
+ */
+@Slf4j
+public class ServerTimingFilter extends OncePerRequestFilter {
+    public static final String SERVER_TIMING = "Server-Timing";
+
+    private static final String TIMING_ATTRIBUTE = RequestTiming.class.getName();
+
+    private final double logSampleRate;
+
+    /**
+     * Creates the filter.
+     *
+     * @param logSampleRate the share of requests logged with their timing, from 0 for none to 1 for all
+     */
+    public ServerTimingFilter(double logSampleRate) {
+        this.logSampleRate = logSampleRate;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        // the response of an asynchronous request is written in the async dispatch
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        var timing = (RequestTiming) request.getAttribute(TIMING_ATTRIBUTE);
+        if (timing == null) {
+            timing = RequestTiming.start();
+            request.setAttribute(TIMING_ATTRIBUTE, timing);
+        }
+
+        var timedResponse = new ServerTimingResponse(response, timing);
+        try (var scope = timing.bind()) {
+            filterChain.doFilter(request, timedResponse);
+        }
+
+        if (!request.isAsyncStarted()) {
+            // responses without a body, such as 304 Not Modified, are never written to
+            String serverTiming = timedResponse.addServerTiming();
+
+            if (logSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < logSampleRate) {
+                log.atInfo()
+                        .addKeyValue("method", request.getMethod())
+                        .addKeyValue("path", request.getRequestURI())
+                        .addKeyValue("status", response.getStatus())
+                        .addKeyValue("serverTiming", serverTiming)
+                        .log("Server timing of {} {} ({}): {}", request.getMethod(), request.getRequestURI(),
+                                response.getStatus(), serverTiming);
+            }
+        }
+    }
+
+    /**
+     * Adds the {@code Server-Timing} header just before the body starts to be written.
+     */
+    private static final class ServerTimingResponse extends HttpServletResponseWrapper {
+        private final RequestTiming timing;
+        private String serverTiming;
+
+        ServerTimingResponse(HttpServletResponse response, RequestTiming timing) {
+            super(response);
+            this.timing = timing;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addServerTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addServerTiming();
+            super.flushBuffer();
+        }
+
+        /**
+         * Adds the header unless it was added or the response is already committed.
+         *
+         * @return the header value, or the timing as of now if the header could not be added
+         */
+        String addServerTiming() {
+            if (serverTiming == null) {
+                String value = timing.toHeaderValue();
+                if (isCommitted()) {
+                    return value;
+                }
+                setHeader(SERVER_TIMING, value);
+                serverTiming = value;
+            }
+            return serverTiming;
+        }
+    }
+}
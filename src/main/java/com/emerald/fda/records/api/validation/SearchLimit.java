@@ -0,0 +1,25 @@
+package com.emerald.fda.records.api.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The annotated search limit must be between 1 and {@code openfda.api.fan-out.max-limit}, the largest number
+ * of results a single search may fan out to.
+ */
+@Documented
+@Constraint(validatedBy = SearchLimitValidator.class)
+@Target({ElementType.PARAMETER, ElementType.FIELD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SearchLimit {
+    String message() default "must be between 1 and {max}";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
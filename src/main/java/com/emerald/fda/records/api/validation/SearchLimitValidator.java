@@ -0,0 +1,28 @@
+package com.emerald.fda.records.api.validation;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import org.hibernate.validator.constraintvalidation.HibernateConstraintValidatorContext;
+import org.springframework.beans.factory.annotation.Value;
+
+/**
+ * Validates {@link SearchLimit} against the configured maximum. Created by Spring's constraint validator
+ * factory, so the maximum is injected like any other setting.
+ */
+public class SearchLimitValidator implements ConstraintValidator<SearchLimit, Integer> {
+    private final int maxLimit;
+
+    public SearchLimitValidator(@Value("${openfda.api.fan-out.max-limit:10000}") int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    @Override
+    public boolean isValid(Integer limit, ConstraintValidatorContext context) {
+        if (limit == null || (limit >= 1 && limit <= maxLimit)) {
+            return true;
+        }
+
+        context.unwrap(HibernateConstraintValidatorContext.class).addMessageParameter("max", maxLimit);
+        return false;
+    }
+}
@@ -0,0 +1,231 @@
+package com.emerald.fda.records.api.config;
+
+import com.emerald.fda.records.api.dto.fda.FdaResponseDto;
+import com.emerald.fda.records.api.service.FdaAdaptiveTimeouts;
+import com.emerald.fda.records.api.service.FdaPayloadMetrics;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateAutoConfiguration;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+class RestTemplateConfigTest {
+    private static final String BODY = "{\"results\": []}";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withConfiguration(AutoConfigurations.of(RestTemplateAutoConfiguration.class))
+            .withUserConfiguration(RestTemplateConfig.class, FdaAdaptiveTimeouts.class, FdaPayloadMetrics.class)
+            .withBean(MeterRegistry.class, () -> meterRegistry)
+            .withBean(ObservationRegistry.class, () -> {
+                var observationRegistry = ObservationRegistry.create();
+                observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+                return observationRegistry;
+            });
+
+    private final List<String> acceptEncodings = new CopyOnWriteArrayList<>();
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/drugsfda.json", exchange -> {
+            acceptEncodings.add(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+
+            var compressed = new ByteArrayOutputStream();
+            try (var gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(BODY.getBytes(StandardCharsets.UTF_8));
+            }
+
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, compressed.size());
+            try (var body = exchange.getResponseBody()) {
+                compressed.writeTo(body);
+            }
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, BODY.length());
+            try (var body = exchange.getResponseBody()) {
+                body.write(BODY.getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void restTemplate_ShouldRequestCompressionAndReusePooledConnections() {
+        contextRunner.run(context -> {
+            // given
+            var restTemplate = context.getBean(RestTemplate.class);
+            var registry = new SimpleMeterRegistry();
+            context.getBean("openFdaConnectionPoolMetrics", MeterBinder.class).bindTo(registry);
+            String url = "http://localhost:" + server.getAddress().getPort() + "/drugsfda.json";
+
+            // when
+            var first = restTemplate.getForObject(url, String.class);
+            var second = restTemplate.getForObject(url, String.class);
+
+            // then
+            assertThat(first).isEqualTo(BODY);
+            assertThat(second).isEqualTo(BODY);
+            assertThat(acceptEncodings).allSatisfy(encoding -> assertThat(encoding).contains("gzip"));
+            assertThat(clientPorts).hasSize(1);
+            assertThat(registry.get("httpcomponents.httpclient.pool.total.connections")
+                    .tag("state", "available").gauge().value()).isEqualTo(1.0);
+            assertThat(registry.get("httpcomponents.httpclient.pool.route.max.default").gauge().value())
+                    .isEqualTo(20.0);
+        });
+    }
+
+    @Test
+    void restTemplate_WithCompressionDisabled_ShouldNotRequestCompression() {
+        contextRunner.withPropertyValues("openfda.api.compression=false").run(context -> {
+            // given
+            var restTemplate = context.getBean(RestTemplate.class);
+            String url = "http://localhost:" + server.getAddress().getPort() + "/drugsfda.json";
+
+            // when
+            restTemplate.getForObject(url, byte[].class);
+
+            // then
+            assertThat(acceptEncodings).singleElement().isNull();
+        });
+    }
+
+    @Test
+    void restTemplate_WithSlowResponseBeyondReadTimeout_ShouldWaitForAdaptiveTimeout() {
+        contextRunner.withPropertyValues("openfda.api.read-timeout=100").run(context -> {
+            // given
+            var restTemplate = context.getBean(RestTemplate.class);
+            String url = "http://localhost:" + server.getAddress().getPort() + "/slow?limit=1000";
+
+            // when
+            var response = restTemplate.getForObject(url, String.class);
+
+            // then
+            assertThat(response).isEqualTo(BODY);
+        });
+    }
+
+    @Test
+    void restTemplate_WithAdaptiveTimeoutDisabled_ShouldTimeOutAfterReadTimeout() {
+        contextRunner.withPropertyValues("openfda.api.read-timeout=100", "openfda.api.adaptive-timeout.enabled=false")
+                .run(context -> {
+                    // given
+                    var restTemplate = context.getBean(RestTemplate.class);
+                    String url = "http://localhost:" + server.getAddress().getPort() + "/slow?limit=1000";
+
+                    // when & then
+                    assertThatThrownBy(() -> restTemplate.getForObject(url, String.class))
+                            .isInstanceOf(ResourceAccessException.class);
+                });
+    }
+
+    @Test
+    void restTemplate_ShouldTimeExchangesAndMeasureResponseBodies() {
+        contextRunner.run(context -> {
+            // given
+            var restTemplate = context.getBean(RestTemplate.class);
+            String url = "http://localhost:" + server.getAddress().getPort() + "/drugsfda.json?limit=10";
+
+            // when
+            var response = restTemplate.getForObject(url, FdaResponseDto.class);
+
+            // then
+            assertThat(response.results()).isEmpty();
+            assertThat(meterRegistry.get("httpcomponents.httpclient.request")
+                    .tag("status", "200").tag("outcome", "SUCCESS").timer().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("openfda.client.deserialization").timer().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("openfda.client.response.size").summary().totalAmount())
+                    .isEqualTo(BODY.length());
+        });
+    }
+
+    @Test
+    void asyncHttpClient_ShouldTimeExchanges() {
+        contextRunner.run(context -> {
+            // given
+            var asyncHttpClient = context.getBean(CloseableHttpAsyncClient.class);
+            String url = "http://localhost:" + server.getAddress().getPort() + "/missing";
+
+            // when
+            var response = asyncHttpClient.execute(SimpleRequestBuilder.get(url).build(), null).get(5, TimeUnit.SECONDS);
+
+            // then
+            assertThat(response.getCode()).isEqualTo(404);
+            await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> assertThat(meterRegistry
+                    .get("httpcomponents.httpclient.request")
+                    .tag("status", "404").tag("outcome", "CLIENT_ERROR").timer().count()).isEqualTo(1));
+        });
+    }
+
+    @Test
+    void asyncHttpClient_ShouldRequestCompressionAndReusePooledConnections() {
+        contextRunner.run(context -> {
+            // given
+            var asyncHttpClient = context.getBean(CloseableHttpAsyncClient.class);
+            var registry = new SimpleMeterRegistry();
+            context.getBean("openFdaAsyncConnectionPoolMetrics", MeterBinder.class).bindTo(registry);
+            String url = "http://localhost:" + server.getAddress().getPort() + "/drugsfda.json";
+
+            // when
+            var first = asyncHttpClient.execute(SimpleRequestBuilder.get(url).build(), null).get(5, TimeUnit.SECONDS);
+            // the connection goes back to the pool on the I/O thread, just after the response is handed over
+            await().atMost(5, TimeUnit.SECONDS).until(() -> registry.get("httpcomponents.httpclient.pool.total.connections")
+                    .tag("httpclient", "openfda-async").tag("state", "available").gauge().value() == 1.0);
+            var second = asyncHttpClient.execute(SimpleRequestBuilder.get(url).build(), null).get(5, TimeUnit.SECONDS);
+
+            // then
+            assertThat(first.getCode()).isEqualTo(200);
+            assertThat(second.getFirstHeader("Content-Encoding").getValue()).isEqualTo("gzip");
+            assertThat(acceptEncodings).containsExactly("gzip", "gzip");
+            assertThat(clientPorts).hasSize(1);
+            assertThat(registry.get("httpcomponents.httpclient.pool.route.max.default")
+                    .tag("httpclient", "openfda-async").gauge().value()).isEqualTo(20.0);
+        });
+    }
+}
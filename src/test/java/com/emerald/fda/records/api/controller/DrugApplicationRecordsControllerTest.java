@@ -4,28 +4,62 @@ import com.emerald.fda.records.api.dto.fda.DrugApplicationResultDto;
 import com.emerald.fda.records.api.dto.fda.FdaResponseDto;
 import com.emerald.fda.records.api.dto.fda.MetaDto;
 import com.emerald.fda.records.api.dto.fda.ResultsMetaDto;
+import com.emerald.fda.records.api.dto.request.SearchCriteriaDto;
 import com.emerald.fda.records.api.dto.request.StoreDrugApplicationRecordDto;
+import com.emerald.fda.records.api.dto.response.BatchSearchItemResultDto;
+import com.emerald.fda.records.api.dto.response.BatchSearchResponseDto;
+import com.emerald.fda.records.api.dto.response.BatchStoreItemResultDto;
+import com.emerald.fda.records.api.dto.response.BatchStoreItemResultDto.Status;
+import com.emerald.fda.records.api.dto.response.BatchStoreResponseDto;
+import com.emerald.fda.records.api.dto.response.CursorPageResponseDto;
+import com.emerald.fda.records.api.dto.response.DrugApplicationRecordDto;
 import com.emerald.fda.records.api.entity.DrugApplicationRecord;
+import com.emerald.fda.records.api.exception.FdaApiTimeoutException;
+import com.emerald.fda.records.api.service.DrugApplicationRecordResponseCache;
+import com.emerald.fda.records.api.service.DrugApplicationRecordResponseCache.CachedResponse;
+import com.emerald.fda.records.api.service.DrugApplicationRecordsBatchService;
+import com.emerald.fda.records.api.service.DrugApplicationRecordsExportService;
 import com.emerald.fda.records.api.service.DrugApplicationRecordsService;
+import com.emerald.fda.records.api.service.LocalDrugApplicationIndex;
+import com.emerald.fda.records.api.service.ResourceValidator;
+import com.emerald.fda.records.api.service.SearchMode;
+import com.emerald.fda.records.api.service.UpsertMode;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.service.spi.ServiceException;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.client.HttpClientErrorException;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -41,6 +75,15 @@ class DrugApplicationRecordsControllerTest {
     @MockitoBean
     private DrugApplicationRecordsService service;
 
+    @MockitoBean
+    private DrugApplicationRecordsBatchService batchService;
+
+    @MockitoBean
+    private DrugApplicationRecordsExportService exportService;
+
+    @MockitoBean
+    private DrugApplicationRecordResponseCache responseCache;
+
     @Test
     void searchDrugApplicationRecord_ShouldReturnFdaResponse() throws Exception {
         // given
@@ -63,25 +106,176 @@ class DrugApplicationRecordsControllerTest {
                 .andExpect(jsonPath("$.results[0].sponsor_name", is("TARO")));
     }
 
+    @Test
+    void searchDrugApplicationRecord_WithCurrentETag_ShouldReturnNotModified() throws Exception {
+        // given
+        var responseDto = new FdaResponseDto(
+                new MetaDto(null, null, null, "2025-03-01", new ResultsMetaDto(0, 10, 1)),
+                List.of(new DrugApplicationResultDto(null, "ANDA076805", "TARO", null, null))
+        );
+        when(service.searchDrugApplicationRecords(eq("TARO"), eq(null), anyInt(), anyInt())).thenReturn(responseDto);
+
+        String eTag = mockMvc.perform(get("/v1/drug-application-records/search")
+                        .param("manufacturerName", "TARO"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("W/\"")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // when / then
+        mockMvc.perform(get("/v1/drug-application-records/search")
+                        .param("manufacturerName", "TARO")
+                        .header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void searchDrugApplicationRecord_WithLimitAboveMaxLimit_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/v1/drug-application-records/search")
+                        .param("manufacturerName", "TARO")
+                        .param("limit", "10001"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("must be between 1 and 10000")));
+
+        verify(service, never()).searchDrugApplicationRecords(any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void searchDrugApplicationRecordAsync_WithLimitAboveMaxLimit_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/v1/drug-application-records/search/async")
+                        .param("manufacturerName", "TARO")
+                        .param("limit", "10001"))
+                .andExpect(status().isBadRequest());
+
+        verify(service, never()).searchDrugApplicationRecordsAsync(any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void searchDrugApplicationRecord_WithoutMatches_ShouldAnswerLocalSearchLikeRemoteSearch() throws Exception {
+        // given
+        var localIndex = mock(LocalDrugApplicationIndex.class);
+        when(localIndex.isReady()).thenReturn(true);
+        when(localIndex.search("UNKNOWN", null, 0, 10)).thenReturn(new FdaResponseDto(
+                new MetaDto(null, null, null, null, new ResultsMetaDto(0, 10, 0)), List.of()));
+        var localService = new DrugApplicationRecordsService(null, null, null, localIndex, null,
+                SearchMode.LOCAL, mock(PlatformTransactionManager.class), UpsertMode.MERGE);
+
+        // OpenFDA answers a search without matches with 404, which FdaClientService wraps
+        var openFdaNoMatches = HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, """
+                {
+                  "error": {
+                    "code": "NOT_FOUND",
+                    "message": "No matches found!"
+                  }
+                }""".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+
+        when(service.searchDrugApplicationRecords("UNKNOWN", null, 0, 10))
+                .thenThrow(new ServiceException("Failed to retrieve drug application records from OpenFDA API",
+                        openFdaNoMatches))
+                .thenAnswer(invocation -> localService.searchDrugApplicationRecords("UNKNOWN", null, 0, 10));
+
+        // when
+        var remoteResponse = mockMvc.perform(get("/v1/drug-application-records/search")
+                        .param("manufacturerName", "UNKNOWN"))
+                .andReturn().getResponse();
+        var localResponse = mockMvc.perform(get("/v1/drug-application-records/search")
+                        .param("manufacturerName", "UNKNOWN"))
+                .andReturn().getResponse();
+
+        // then
+        assertThat(remoteResponse.getStatus()).isEqualTo(HttpStatus.NOT_FOUND.value());
+        assertThat(localResponse.getStatus()).isEqualTo(remoteResponse.getStatus());
+        assertThat(withoutTimestamp(localResponse.getContentAsString()))
+                .isEqualTo(withoutTimestamp(remoteResponse.getContentAsString()));
+    }
+
+    @Test
+    void searchDrugApplicationRecordAsync_ShouldReturnFdaResponse() throws Exception {
+        // given
+        var responseDto = new FdaResponseDto(
+                new MetaDto(null, null, null, null, new ResultsMetaDto(0, 10, 1)),
+                List.of(new DrugApplicationResultDto(null, "ANDA076805", "TARO", null, null))
+        );
+
+        when(service.searchDrugApplicationRecordsAsync(eq("TARO"), eq(null), anyInt(), anyInt()))
+                .thenReturn(CompletableFuture.completedFuture(responseDto));
+
+        // when
+        var result = mockMvc.perform(get("/v1/drug-application-records/search/async")
+                        .param("manufacturerName", "TARO"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results", hasSize(1)))
+                .andExpect(jsonPath("$.results[0].application_number", is("ANDA076805")));
+    }
+
+    @Test
+    void searchDrugApplicationRecordAsync_WithFdaApiTimeout_ShouldReturnGatewayTimeout() throws Exception {
+        // given
+        when(service.searchDrugApplicationRecordsAsync(eq("TARO"), eq(null), anyInt(), anyInt()))
+                .thenReturn(CompletableFuture.failedFuture(
+                        new FdaApiTimeoutException("OpenFDA API did not respond within 5000 ms")));
+
+        // when
+        var result = mockMvc.perform(get("/v1/drug-application-records/search/async")
+                        .param("manufacturerName", "TARO"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isGatewayTimeout())
+                .andExpect(jsonPath("$.error", is("Gateway Timeout")))
+                .andExpect(jsonPath("$.message", is("OpenFDA API did not respond within 5000 ms")));
+    }
+
+    @Test
+    void searchDrugApplicationRecordsBatch_ShouldReturnResultsPerCriteria() throws Exception {
+        // given
+        var criteria = List.of(new SearchCriteriaDto("TARO", null), new SearchCriteriaDto("PFIZER", "LIPITOR"));
+        var response = new BatchSearchResponseDto(List.of(
+                new BatchSearchItemResultDto(0, "TARO", null, 1,
+                        List.of(new DrugApplicationResultDto(null, "ANDA076805", "TARO", null, null))),
+                new BatchSearchItemResultDto(1, "PFIZER", "LIPITOR", 0, List.of())));
+
+        // when
+        when(service.searchDrugApplicationRecordsBatch(criteria, 5)).thenReturn(response);
+
+        // then
+        mockMvc.perform(post("/v1/drug-application-records/search/batch")
+                        .param("limit", "5")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(criteria)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].manufacturerName", is("TARO")))
+                .andExpect(jsonPath("$.items[0].total", is(1)))
+                .andExpect(jsonPath("$.items[0].results[0].application_number", is("ANDA076805")))
+                .andExpect(jsonPath("$.items[1].brandName", is("LIPITOR")))
+                .andExpect(jsonPath("$.items[1].results", hasSize(0)));
+    }
+
+    @Test
+    void searchDrugApplicationRecordsBatch_WithBlankManufacturer_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/v1/drug-application-records/search/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"manufacturerName\":\" \"}]"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getAllDrugApplications_ShouldReturnPageOfApplicationRecords() throws Exception {
         // given
-        List<DrugApplicationRecord> applications = List.of(
-                DrugApplicationRecord.builder()
-                        .applicationNumber("ANDA076805")
-                        .manufacturerName("TARO")
-                        .substanceName("LORATADINE")
-                        .productNumbers(Set.of("001"))
-                        .build(),
-                DrugApplicationRecord.builder()
-                        .applicationNumber("ANDA076806")
-                        .manufacturerName("OTHER")
-                        .substanceName("SUBSTANCE")
-                        .productNumbers(Set.of("002"))
-                        .build()
+        List<DrugApplicationRecordDto> applications = List.of(
+                new DrugApplicationRecordDto("ANDA076805", "TARO", "LORATADINE", Set.of("001")),
+                new DrugApplicationRecordDto("ANDA076806", "OTHER", "SUBSTANCE", Set.of("002"))
         );
 
-        Page<DrugApplicationRecord> page = new PageImpl<>(applications, PageRequest.of(0, 10), applications.size());
+        Page<DrugApplicationRecordDto> page = new PageImpl<>(applications, PageRequest.of(0, 10), applications.size());
 
         //when
         when(service.getAllDrugApplicationRecords(any(PageRequest.class))).thenReturn(page);
@@ -100,16 +294,93 @@ class DrugApplicationRecordsControllerTest {
                 .andExpect(jsonPath("$.totalPages", is(1)));
     }
 
+    @Test
+    void getAllDrugApplications_WithCurrentETag_ShouldReturnNotModifiedWithoutLoadingPage() throws Exception {
+        // given
+        when(service.getDrugApplicationRecordsValidator(PageRequest.of(0, 10)))
+                .thenReturn(Optional.of(new ResourceValidator("\"abc\"", Instant.parse("2025-03-01T10:15:30Z"))));
+
+        // when / then
+        mockMvc.perform(get("/v1/drug-application-records")
+                        .header("If-None-Match", "\"abc\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"abc\""))
+                .andExpect(header().string("Last-Modified", "Sat, 01 Mar 2025 10:15:30 GMT"));
+
+        verify(service, never()).getAllDrugApplicationRecords(any());
+    }
+
+    @Test
+    void scrollDrugApplicationRecords_ShouldReturnPageWithNextCursor() throws Exception {
+        // given
+        var response = new CursorPageResponseDto<>(
+                List.of(new DrugApplicationRecordDto("ANDA076805", "TARO", "LORATADINE", Set.of("001"))),
+                1,
+                "QU5EQTA3NjgwNQ",
+                null);
+
+        // when
+        when(service.getDrugApplicationRecordsAfter("QU5EQTA3NjgwNA", 1, false)).thenReturn(response);
+
+        // then
+        mockMvc.perform(get("/v1/drug-application-records/scroll")
+                        .param("cursor", "QU5EQTA3NjgwNA")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].applicationNumber", is("ANDA076805")))
+                .andExpect(jsonPath("$.size", is(1)))
+                .andExpect(jsonPath("$.nextCursor", is("QU5EQTA3NjgwNQ")))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    @Test
+    void exportDrugApplicationRecords_ShouldStreamNdjson() throws Exception {
+        // given
+        when(exportService.exportDrugApplicationRecords(any())).thenAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(0);
+            outputStream.write("{\"applicationNumber\":\"ANDA076805\"}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        // when
+        var result = mockMvc.perform(get("/v1/drug-application-records/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"applicationNumber\":\"ANDA076805\"}\n"));
+    }
+
+    @Test
+    void exportDrugApplicationRecords_ShouldStreamWithoutAsyncTimeout() throws Exception {
+        // given
+        when(exportService.exportDrugApplicationRecords(any())).thenReturn(0L);
+        when(service.searchDrugApplicationRecordsAsync(eq("TARO"), eq(null), anyInt(), anyInt()))
+                .thenReturn(new CompletableFuture<>());
+
+        // when
+        var export = mockMvc.perform(get("/v1/drug-application-records/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        var search = mockMvc.perform(get("/v1/drug-application-records/search/async")
+                        .param("manufacturerName", "TARO"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        assertThat(export.getRequest().getAsyncContext().getTimeout()).isEqualTo(-1);
+        assertThat(search.getRequest().getAsyncContext().getTimeout()).isPositive();
+    }
+
     @Test
     void getDrugApplicationById_WithExistingId_ShouldReturnApplicationRecord() throws Exception {
         // given
         String applicationNumber = "ANDA076805";
-        var application = DrugApplicationRecord.builder()
-                .applicationNumber(applicationNumber)
-                .manufacturerName("TARO")
-                .substanceName("LORATADINE")
-                .productNumbers(Set.of("001"))
-                .build();
+        var application = new DrugApplicationRecordDto(applicationNumber, "TARO", "LORATADINE", Set.of("001"));
 
         // when
         when(service.getDrugApplicationById(applicationNumber)).thenReturn(Optional.of(application));
@@ -123,6 +394,137 @@ class DrugApplicationRecordsControllerTest {
                 .andExpect(jsonPath("$.productNumbers", contains("001")));
     }
 
+    @Test
+    void getDrugApplicationById_ShouldReturnValidators() throws Exception {
+        // given
+        String applicationNumber = "ANDA076805";
+        var application = new DrugApplicationRecordDto(applicationNumber, "TARO", "LORATADINE", Set.of("001"));
+
+        when(service.getDrugApplicationValidator(applicationNumber))
+                .thenReturn(Optional.of(new ResourceValidator("\"3\"", Instant.parse("2025-03-01T10:15:30Z"))));
+        when(service.getDrugApplicationById(applicationNumber)).thenReturn(Optional.of(application));
+
+        // when / then
+        mockMvc.perform(get("/v1/drug-application-records/{applicationNumber}", applicationNumber)
+                        .header("If-None-Match", "\"2\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(header().string("Last-Modified", "Sat, 01 Mar 2025 10:15:30 GMT"))
+                .andExpect(jsonPath("$.applicationNumber", is(applicationNumber)));
+    }
+
+    @Test
+    void getDrugApplicationById_WithCurrentCopy_ShouldReturnNotModifiedWithoutLoadingRecord() throws Exception {
+        // given
+        String applicationNumber = "ANDA076805";
+
+        when(service.getDrugApplicationValidator(applicationNumber))
+                .thenReturn(Optional.of(new ResourceValidator("\"3\"", Instant.parse("2025-03-01T10:15:30Z"))));
+
+        // when / then
+        mockMvc.perform(get("/v1/drug-application-records/{applicationNumber}", applicationNumber)
+                        .header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/v1/drug-application-records/{applicationNumber}", applicationNumber)
+                        .header("If-Modified-Since", "Sat, 01 Mar 2025 10:15:30 GMT"))
+                .andExpect(status().isNotModified());
+
+        verify(service, never()).getDrugApplicationById(any());
+    }
+
+    @Test
+    void getDrugApplicationById_WithResponseCache_ShouldWriteCachedBytes() throws Exception {
+        // given
+        String applicationNumber = "ANDA076805";
+        byte[] json = "{\"applicationNumber\":\"ANDA076805\"}".getBytes(StandardCharsets.UTF_8);
+
+        when(responseCache.isEnabled()).thenReturn(true);
+        when(responseCache.get(applicationNumber)).thenReturn(Optional.of(new CachedResponse(
+                json, new byte[] {1, 2, 3}, new ResourceValidator("\"3\"", Instant.parse("2025-03-01T10:15:30Z")))));
+
+        // when / then
+        mockMvc.perform(get("/v1/drug-application-records/{applicationNumber}", applicationNumber))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().bytes(json))
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(header().string("Vary", "Accept-Encoding"))
+                .andExpect(header().doesNotExist("Content-Encoding"));
+        mockMvc.perform(get("/v1/drug-application-records/{applicationNumber}", applicationNumber)
+                        .header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(new byte[] {1, 2, 3}))
+                .andExpect(header().string("ETag", "\"3-gzip\""))
+                .andExpect(header().string("Content-Encoding", "gzip"));
+        mockMvc.perform(get("/v1/drug-application-records/{applicationNumber}", applicationNumber)
+                        .header("Accept-Encoding", "gzip")
+                        .header("If-None-Match", "\"3-gzip\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("Vary", "Accept-Encoding"));
+
+        verify(service, never()).getDrugApplicationById(any());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"gzip;q=0", "x-gzip", "identity, *;q=0", "*, gzip;q=0", "gzip;q=abc", "gzipped"})
+    void getDrugApplicationById_WithResponseCacheAndGzipNotAccepted_ShouldWriteUncompressedBytes(
+            String acceptEncoding) throws Exception {
+        // given
+        String applicationNumber = "ANDA076805";
+        byte[] json = "{\"applicationNumber\":\"ANDA076805\"}".getBytes(StandardCharsets.UTF_8);
+
+        when(responseCache.isEnabled()).thenReturn(true);
+        when(responseCache.get(applicationNumber)).thenReturn(Optional.of(new CachedResponse(
+                json, new byte[] {1, 2, 3}, new ResourceValidator("\"3\"", Instant.parse("2025-03-01T10:15:30Z")))));
+
+        // when / then
+        mockMvc.perform(get("/v1/drug-application-records/{applicationNumber}", applicationNumber)
+                        .header("Accept-Encoding", acceptEncoding))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(json))
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(header().doesNotExist("Content-Encoding"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"GZIP", "deflate, gzip;q=0.5", "*", "identity;q=1, *;q=0.1"})
+    void getDrugApplicationById_WithResponseCacheAndGzipAccepted_ShouldWriteCompressedBytes(
+            String acceptEncoding) throws Exception {
+        // given
+        String applicationNumber = "ANDA076805";
+
+        when(responseCache.isEnabled()).thenReturn(true);
+        when(responseCache.get(applicationNumber)).thenReturn(Optional.of(new CachedResponse(
+                new byte[] {'{', '}'}, new byte[] {1, 2, 3},
+                new ResourceValidator("\"3\"", Instant.parse("2025-03-01T10:15:30Z")))));
+
+        // when / then
+        mockMvc.perform(get("/v1/drug-application-records/{applicationNumber}", applicationNumber)
+                        .header("Accept-Encoding", acceptEncoding))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(new byte[] {1, 2, 3}))
+                .andExpect(header().string("Content-Encoding", "gzip"));
+    }
+
+    @Test
+    void getDrugApplicationById_WithResponseCacheAndCurrentCopy_ShouldReturnNotModified() throws Exception {
+        // given
+        String applicationNumber = "ANDA076805";
+
+        when(responseCache.isEnabled()).thenReturn(true);
+        when(responseCache.get(applicationNumber)).thenReturn(Optional.of(new CachedResponse(
+                new byte[] {'{', '}'}, null, new ResourceValidator("\"3\"", Instant.parse("2025-03-01T10:15:30Z")))));
+
+        // when / then
+        mockMvc.perform(get("/v1/drug-application-records/{applicationNumber}", applicationNumber)
+                        .header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/v1/drug-application-records/{applicationNumber}", "NONEXISTENT"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void getDrugApplicationRecordById_WithNonExistentId_ShouldReturnNotFound() throws Exception {
         // given
@@ -168,4 +570,63 @@ class DrugApplicationRecordsControllerTest {
                 .andExpect(jsonPath("$.productNumbers", contains("001")));
     }
 
-}
\ No newline at end of file
+    @Test
+    void storeDrugApplicationRecords_ShouldReturnPerRecordOutcome() throws Exception {
+        // given
+        var request = List.of(
+                new StoreDrugApplicationRecordDto("ANDA076805", "TARO", "LORATADINE", Set.of("001")),
+                new StoreDrugApplicationRecordDto("ANDA076806", "", "LORATADINE", Set.of("001"))
+        );
+
+        var response = BatchStoreResponseDto.from(List.of(
+                new BatchStoreItemResultDto(0, "ANDA076805", Status.CREATED, null),
+                new BatchStoreItemResultDto(1, "ANDA076806", Status.FAILED, "Manufacturer name is required")
+        ));
+
+        // when
+        when(batchService.saveDrugApplicationRecords(request)).thenReturn(response);
+
+        // then
+        mockMvc.perform(post("/v1/drug-application-records/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(1)))
+                .andExpect(jsonPath("$.failed", is(1)))
+                .andExpect(jsonPath("$.items[0].status", is("CREATED")))
+                .andExpect(jsonPath("$.items[0].error").doesNotExist())
+                .andExpect(jsonPath("$.items[1].status", is("FAILED")))
+                .andExpect(jsonPath("$.items[1].error", is("Manufacturer name is required")));
+    }
+
+    @Test
+    void storeDrugApplicationRecords_WithEmptyBatch_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/v1/drug-application-records/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void storeDrugApplicationRecords_WithTooLargeBatch_ShouldReturnBadRequest() throws Exception {
+        // given
+        var request = new ArrayList<StoreDrugApplicationRecordDto>();
+        for (int i = 0; i <= 1000; i++) {
+            request.add(new StoreDrugApplicationRecordDto("ANDA%06d".formatted(i), "TARO", "LORATADINE", Set.of("001")));
+        }
+
+        // when / then
+        mockMvc.perform(post("/v1/drug-application-records/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verify(batchService, never()).saveDrugApplicationRecords(any());
+    }
+
+    private Map<String, Object> withoutTimestamp(String json) throws Exception {
+        Map<String, Object> body = objectMapper.readValue(json, new TypeReference<>() {});
+        body.remove("timestamp");
+        return body;
+    }
+}
@@ -0,0 +1,178 @@
+package com.emerald.fda.records.api.controller;
+
+import com.emerald.fda.records.api.FdaRecordsApiApplication;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+/**
+ * Compares platform and virtual request threads while OpenFDA is slow: fires a burst of concurrent
+ * searches against a stub that answers after a fixed delay, and measures how long cheap lookups of
+ * stored records take meanwhile. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class DrugApplicationRecordsSearchBenchmarkTest {
+    private static final Logger log = LoggerFactory.getLogger(DrugApplicationRecordsSearchBenchmarkTest.class);
+
+    private static final int CONCURRENT_SEARCHES = 1500;
+    private static final int LOOKUPS = 50;
+    private static final Duration OPENFDA_LATENCY = Duration.ofMillis(250);
+    private static final byte[] OPENFDA_RESPONSE = """
+            {"meta": {"results": {"skip": 0, "limit": 1, "total": 1}},
+             "results": [{"application_number": "ANDA076805", "sponsor_name": "TARO"}]}
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private static ServerSocket openFda;
+    private static ExecutorService stubExecutor;
+    private static HttpClient client;
+
+    @BeforeAll
+    static void startOpenFdaStub() throws IOException {
+        openFda = new ServerSocket(0, 4096, InetAddress.getLoopbackAddress());
+        stubExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        stubExecutor.submit(() -> {
+            while (!openFda.isClosed()) {
+                var socket = openFda.accept();
+                stubExecutor.submit(() -> serveSlowly(socket));
+            }
+            return null;
+        });
+
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    @AfterAll
+    static void stopOpenFdaStub() throws IOException {
+        openFda.close();
+        stubExecutor.shutdownNow();
+    }
+
+    /**
+     * Answers every request on a keep-alive connection after {@link #OPENFDA_LATENCY}.
+     */
+    private static Void serveSlowly(Socket socket) throws IOException, InterruptedException {
+        try (socket;
+             var in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             var out = socket.getOutputStream()) {
+
+            for (String line = in.readLine(); line != null; line = in.readLine()) {
+                if (!line.isEmpty()) {
+                    continue;
+                }
+
+                Thread.sleep(OPENFDA_LATENCY);
+                out.write(("HTTP/1.1 200 OK\r\nContent-Type: application/json\r\nContent-Length: "
+                        + OPENFDA_RESPONSE.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+                out.write(OPENFDA_RESPONSE);
+                out.flush();
+            }
+        }
+        return null;
+    }
+
+    @Test
+    void searchUnderSlowOpenFda_WithPlatformThreads() throws Exception {
+        run(false);
+    }
+
+    @Test
+    void searchUnderSlowOpenFda_WithVirtualThreads() throws Exception {
+        run(true);
+    }
+
+    private void run(boolean virtualThreads) throws Exception {
+        try (var context = new SpringApplicationBuilder(FdaRecordsApiApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--fda.api.base-url=http://localhost:" + openFda.getLocalPort() + "/drugsfda.json",
+                        "--openfda.api.cache.enabled=false",
+                        "--openfda.api.read-timeout=30000",
+                        "--openfda.api.pool.max-total=" + CONCURRENT_SEARCHES,
+                        "--openfda.api.pool.max-per-route=" + CONCURRENT_SEARCHES,
+                        "--openfda.api.pool.acquire-timeout=30000",
+                        // measure the server, not the guards in front of the stub
+                        "--openfda.api.bulkhead.max-concurrent-calls=" + CONCURRENT_SEARCHES,
+                        "--openfda.api.circuit-breaker.slow-call-duration=PT30S",
+                        "--openfda.api.rate-limit.enabled=false",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.emerald.fda.records.api.controller.DrugApplicationRecordsSearchBenchmarkTest=INFO")) {
+
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    + "/v1/drug-application-records";
+
+            // warm up both paths
+            send(baseUrl + "/search?manufacturerName=TARO&skip=0").join();
+            send(baseUrl + "/ANDA076805").join();
+
+            long startNanos = System.nanoTime();
+            var searches = new ArrayList<CompletableFuture<Result>>(CONCURRENT_SEARCHES);
+            for (int i = 0; i < CONCURRENT_SEARCHES; i++) {
+                // distinct skips so no two searches share an OpenFDA call
+                searches.add(send(baseUrl + "/search?manufacturerName=TARO&skip=" + (i + 1)));
+            }
+
+            // cheap lookups issued while the searches occupy the server
+            var lookupMillis = new long[LOOKUPS];
+            for (int i = 0; i < LOOKUPS; i++) {
+                lookupMillis[i] = send(baseUrl + "/ANDA076805").join().millis();
+            }
+
+            CompletableFuture.allOf(searches.toArray(CompletableFuture[]::new)).join();
+            long totalMillis = (System.nanoTime() - startNanos) / 1_000_000;
+
+            var searchResults = searches.stream().map(CompletableFuture::join).toList();
+            var searchMillis = searchResults.stream().mapToLong(Result::millis).sorted().toArray();
+            Arrays.sort(lookupMillis);
+
+            log.info("{} threads: {} searches with {} ms OpenFDA latency in {} ms ({} searches/s); "
+                            + "search p50 {} ms, p99 {} ms; concurrent lookup p50 {} ms, max {} ms",
+                    virtualThreads ? "virtual" : "platform", CONCURRENT_SEARCHES, OPENFDA_LATENCY.toMillis(),
+                    totalMillis, "%.0f".formatted(CONCURRENT_SEARCHES * 1000.0 / totalMillis),
+                    percentile(searchMillis, 50), percentile(searchMillis, 99),
+                    percentile(lookupMillis, 50), lookupMillis[LOOKUPS - 1]);
+
+            assertThat(searchResults).allSatisfy(result -> assertThat(result.status()).isEqualTo(200));
+        }
+    }
+
+    private static CompletableFuture<Result> send(String url) {
+        long startNanos = System.nanoTime();
+        var request = HttpRequest.newBuilder(URI.create(url)).GET().build();
+
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .thenApply(response -> new Result(response.statusCode(), (System.nanoTime() - startNanos) / 1_000_000));
+    }
+
+    private static long percentile(long[] sortedMillis, int percentile) {
+        return sortedMillis[Math.min(sortedMillis.length - 1, sortedMillis.length * percentile / 100)];
+    }
+
+    private record Result(int status, long millis) {}
+}
@@ -1,12 +1,16 @@
 package com.emerald.fda.records.api.exception;
 
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import jakarta.validation.ConstraintViolationException;
+import org.hibernate.service.spi.ServiceException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -16,6 +20,7 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -57,6 +62,100 @@ class GlobalExceptionHandlerTest {
         assertThat(responseBody).containsEntry("path", "uri=/test");
     }
 
+    @Test
+    void handleFdaApiTimeoutException_ShouldReturnGatewayTimeout() {
+        // given
+        var exception = new FdaApiTimeoutException("OpenFDA API did not respond within 5000 ms");
+
+        // when
+        ResponseEntity<Object> response = exceptionHandler.handleFdaApiTimeoutException(exception, webRequest);
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+
+        var responseBody = (Map<String, Object>) response.getBody();
+        assertThat(responseBody).containsEntry("status", HttpStatus.GATEWAY_TIMEOUT.value());
+        assertThat(responseBody).containsEntry("error", "Gateway Timeout");
+        assertThat(responseBody).containsEntry("message", "OpenFDA API did not respond within 5000 ms");
+        assertThat(responseBody).containsEntry("path", "uri=/test");
+    }
+
+    @Test
+    void handleFdaApiRejection_WithOpenCircuit_ShouldReturnServiceUnavailable() {
+        // given
+        var circuitBreaker = CircuitBreaker.ofDefaults("openfda");
+        circuitBreaker.transitionToOpenState();
+        var exception = CallNotPermittedException.createCallNotPermittedException(circuitBreaker);
+
+        // when
+        ResponseEntity<Object> response = exceptionHandler.handleFdaApiRejection(exception, webRequest);
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+
+        var responseBody = (Map<String, Object>) response.getBody();
+        assertThat(responseBody).containsEntry("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        assertThat(responseBody).containsEntry("error", "Service Unavailable");
+        assertThat(responseBody).containsEntry("message",
+                "FDA API unavailable: CircuitBreaker 'openfda' is OPEN and does not permit further calls");
+        assertThat(responseBody).containsEntry("path", "uri=/test");
+    }
+
+    @Test
+    void handleFdaRateLimitExceededException_ShouldReturnTooManyRequestsWithRetryAfter() {
+        // given
+        var exception = new FdaRateLimitExceededException(
+                "OpenFDA request quota exhausted, retry after 3 s", Duration.ofSeconds(3));
+
+        // when
+        ResponseEntity<Object> response = exceptionHandler.handleFdaRateLimitExceededException(exception, webRequest);
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("3");
+
+        var responseBody = (Map<String, Object>) response.getBody();
+        assertThat(responseBody).containsEntry("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(responseBody).containsEntry("error", "Too Many Requests");
+        assertThat(responseBody).containsEntry("message", "OpenFDA request quota exhausted, retry after 3 s");
+        assertThat(responseBody).containsEntry("path", "uri=/test");
+    }
+
+    @Test
+    void handleLocalIndexUnavailableException_ShouldReturnServiceUnavailable() {
+        // given
+        var exception = new LocalIndexUnavailableException("Local drug application index is not loaded yet");
+
+        // when
+        ResponseEntity<Object> response = exceptionHandler.handleLocalIndexUnavailableException(exception, webRequest);
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+
+        var responseBody = (Map<String, Object>) response.getBody();
+        assertThat(responseBody).containsEntry("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        assertThat(responseBody).containsEntry("message", "Local drug application index is not loaded yet");
+        assertThat(responseBody).containsEntry("path", "uri=/test");
+    }
+
+    @Test
+    void handleInvalidCursorException_ShouldReturnBadRequest() {
+        // given
+        var exception = new InvalidCursorException("Invalid cursor: ***");
+
+        // when
+        ResponseEntity<Object> response = exceptionHandler.handleInvalidCursorException(exception, webRequest);
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+        Map<String, Object> responseBody = (Map<String, Object>) response.getBody();
+        assertThat(responseBody).containsEntry("status", HttpStatus.BAD_REQUEST.value());
+        assertThat(responseBody).containsEntry("error", "Bad Request");
+        assertThat(responseBody).containsEntry("message", "Invalid cursor: ***");
+        assertThat(responseBody).containsEntry("path", "uri=/test");
+    }
+
     @Test
     void handleHttpClientErrorException_ShouldReturnOriginalStatusCode() {
         // given
@@ -82,6 +181,41 @@ class GlobalExceptionHandlerTest {
         assertThat(responseBody).containsEntry("path", "uri=/test");
     }
 
+    @Test
+    void handleServiceException_WithFdaApiClientError_ShouldReturnOriginalStatusCode() {
+        // given
+        ServiceException exception = new ServiceException("Failed", HttpClientErrorException.create(
+                HttpStatus.NOT_FOUND,
+                "Not Found",
+                null,
+                "No matches found!".getBytes(),
+                null
+        ));
+
+        // when
+        ResponseEntity<Object> response = exceptionHandler.handleServiceException(exception, webRequest);
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+
+        var responseBody = (Map<String, Object>) response.getBody();
+        assertThat(responseBody).containsEntry("status", HttpStatus.NOT_FOUND.value());
+        assertThat(responseBody).containsEntry("error", "FDA API Error");
+        assertThat(responseBody).containsEntry("message", "FDA API error: No matches found!");
+    }
+
+    @Test
+    void handleServiceException_WithOtherFailure_ShouldReturnInternalServerError() {
+        // given
+        ServiceException exception = new ServiceException("Failed", new IllegalStateException("Broken"));
+
+        // when
+        ResponseEntity<Object> response = exceptionHandler.handleServiceException(exception, webRequest);
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
     @Test
     void handleConstraintViolationException_ShouldReturnBadRequest() {
         // given
@@ -1,26 +1,54 @@
 package com.emerald.fda.records.api.repository;
 
+import com.emerald.fda.records.api.config.HibernateCacheConfig;
+import com.emerald.fda.records.api.dto.response.DrugApplicationRecordDto;
 import com.emerald.fda.records.api.entity.DrugApplicationRecord;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import static org.assertj.core.api.Assertions.assertThat;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @DataJpaTest
+@Import(HibernateCacheConfig.class)
 @ActiveProfiles("test")
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 class DrugApplicationRecordRepositoryTest {
     @Autowired
     private DrugApplicationRecordRepository repository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @BeforeEach
     void setUp() {
         repository.deleteAll();
     }
 
+    @AfterEach
+    void tearDown() {
+        // tests running outside a transaction commit their records
+        repository.deleteAll();
+    }
+
     @Test
     void saveAndFindById_ShouldSaveAndRetrieveDrugApplication() {
         // given
@@ -90,6 +118,278 @@ class DrugApplicationRecordRepositoryTest {
                 });
     }
 
+    @Test
+    void upsertAndAddProductNumbers_ShouldInsertNewRecord() {
+        // when
+        repository.upsert("ANDA076805", "TARO", "LORATADINE");
+        repository.addProductNumbers("ANDA076805", new String[] {"001", "002"});
+
+        // then
+        assertThat(repository.findWithProductNumbersByApplicationNumber("ANDA076805")).isPresent()
+                .get()
+                .satisfies(app -> {
+                    assertThat(app.getManufacturerName()).isEqualTo("TARO");
+                    assertThat(app.getSubstanceName()).isEqualTo("LORATADINE");
+                    assertThat(app.getProductNumbers()).containsExactlyInAnyOrder("001", "002");
+                });
+    }
+
+    @Test
+    void upsertAndAddProductNumbers_ShouldUpdateExistingRecordAndMergeProductNumbers() {
+        // given
+        repository.saveAndFlush(createDrugApplication("ANDA076805", "TARO", "LORATADINE", Set.of("001")));
+
+        // when
+        repository.upsert("ANDA076805", "NEW_MANUFACTURER", "NEW_SUBSTANCE");
+        repository.addProductNumbers("ANDA076805", new String[] {"001", "002"});
+        repository.addProductNumbers("ANDA076805", new String[] {"002"});
+
+        // then
+        assertThat(repository.findWithProductNumbersByApplicationNumber("ANDA076805")).isPresent()
+                .get()
+                .satisfies(app -> {
+                    assertThat(app.getManufacturerName()).isEqualTo("NEW_MANUFACTURER");
+                    assertThat(app.getSubstanceName()).isEqualTo("NEW_SUBSTANCE");
+                    assertThat(app.getProductNumbers()).containsExactlyInAnyOrder("001", "002");
+                });
+    }
+
+    @Test
+    void findAllDrugApplicationRecordDtos_ShouldLoadPageWithFixedNumberOfQueries() {
+        // given
+        var applications = new ArrayList<DrugApplicationRecord>();
+        for (int i = 0; i < 150; i++) {
+            applications.add(createDrugApplication("ANDA%06d".formatted(i), "TARO", "LORATADINE", Set.of("001", "002")));
+        }
+        repository.saveAllAndFlush(applications);
+
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // when
+        var page = repository.findAllDrugApplicationRecordDtos(PageRequest.of(0, 100));
+        long preparedStatements = statistics.getPrepareStatementCount();
+
+        // then
+        // one query for the page of records, one for the total count and one for all product numbers
+        assertThat(preparedStatements).isEqualTo(3);
+        assertThat(page.getTotalElements()).isEqualTo(150);
+        assertThat(page.getContent()).hasSize(100)
+                .allSatisfy(dto -> assertThat(dto.productNumbers()).containsExactly("001", "002"));
+        assertThat(page.getContent().getFirst().applicationNumber()).isEqualTo("ANDA000000");
+    }
+
+    @Test
+    void findDrugApplicationRecordDtosAfter_ShouldContinueAfterApplicationNumberWithoutCounting() {
+        // given
+        var applications = new ArrayList<DrugApplicationRecord>();
+        for (int i = 0; i < 150; i++) {
+            applications.add(createDrugApplication("ANDA%06d".formatted(i), "TARO", "LORATADINE", Set.of("001")));
+        }
+        repository.saveAllAndFlush(applications);
+
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // when
+        var firstPage = repository.findDrugApplicationRecordDtosAfter(null, 10);
+        var deepPage = repository.findDrugApplicationRecordDtosAfter("ANDA000139", 20);
+        long preparedStatements = statistics.getPrepareStatementCount();
+
+        // then
+        // one query for the records and one for their product numbers per page
+        assertThat(preparedStatements).isEqualTo(4);
+        assertThat(firstPage).extracting(DrugApplicationRecordDto::applicationNumber)
+                .startsWith("ANDA000000").endsWith("ANDA000009");
+        assertThat(deepPage).extracting(DrugApplicationRecordDto::applicationNumber)
+                .hasSize(10).startsWith("ANDA000140").endsWith("ANDA000149");
+        assertThat(deepPage).allSatisfy(dto -> assertThat(dto.productNumbers()).containsExactly("001"));
+    }
+
+    @Test
+    void findDrugApplicationRecordDtoById_ShouldReturnRecordWithProductNumbers() {
+        // given
+        repository.saveAndFlush(createDrugApplication("ANDA076805", "TARO", "LORATADINE", Set.of("002", "001")));
+
+        // when
+        var found = repository.findDrugApplicationRecordDtoById("ANDA076805");
+
+        // then
+        assertThat(found).contains(new DrugApplicationRecordDto("ANDA076805", "TARO", "LORATADINE", Set.of("001", "002")));
+        assertThat(repository.findDrugApplicationRecordDtoById("NON_EXISTENT_ID")).isEmpty();
+    }
+
+    @Test
+    void save_WithChangedProductNumbersOnly_ShouldIncrementVersionAndLastModified() {
+        // given
+        var application = createDrugApplication("ANDA076805", "TARO", "LORATADINE", new HashSet<>(Set.of("001")));
+        repository.persistAll(List.of(application));
+        repository.flush();
+        var created = repository.findVersionByApplicationNumber("ANDA076805").orElseThrow();
+
+        // when
+        application.getProductNumbers().add("002");
+        repository.saveAndFlush(application);
+        var updated = repository.findVersionByApplicationNumber("ANDA076805").orElseThrow();
+
+        // then
+        assertThat(created.version()).isZero();
+        assertThat(created.lastModified()).isNotNull();
+        assertThat(updated.version()).isEqualTo(1);
+        assertThat(updated.lastModified()).isAfterOrEqualTo(created.lastModified());
+    }
+
+    @Test
+    void upsertAndIncrementVersion_ShouldMaintainVersion() {
+        // given
+        repository.upsert("ANDA076805", "TARO", "LORATADINE");
+        var inserted = repository.findVersionByApplicationNumber("ANDA076805").orElseThrow();
+
+        // when
+        int unchanged = repository.upsert("ANDA076805", "TARO", "LORATADINE");
+        var afterUnchanged = repository.findVersionByApplicationNumber("ANDA076805").orElseThrow();
+        repository.upsert("ANDA076805", "NEW_MANUFACTURER", "LORATADINE");
+        repository.incrementVersion("ANDA076805");
+        var afterChanges = repository.findVersionByApplicationNumber("ANDA076805").orElseThrow();
+
+        // then
+        assertThat(inserted.version()).isZero();
+        assertThat(inserted.lastModified()).isNotNull();
+        assertThat(unchanged).isZero();
+        assertThat(afterUnchanged.version()).isZero();
+        assertThat(afterChanges.version()).isEqualTo(2);
+        assertThat(repository.findVersionByApplicationNumber("NON_EXISTENT_ID")).isEmpty();
+    }
+
+    @Test
+    void findVersionsOrderedByApplicationNumber_ShouldReturnVersionsOfPage() {
+        // given
+        repository.saveAllAndFlush(List.of(
+                createDrugApplication("ANDA000002", "TARO", "LORATADINE", Set.of("001")),
+                createDrugApplication("ANDA000001", "TARO", "LORATADINE", Set.of("001")),
+                createDrugApplication("ANDA000003", "TARO", "LORATADINE", Set.of("001"))));
+
+        // when
+        var versions = repository.findVersionsOrderedByApplicationNumber(PageRequest.of(0, 2));
+        var latestLastModified = repository.findLatestLastModified();
+
+        // then
+        assertThat(versions).extracting(DrugApplicationRecordVersion::applicationNumber)
+                .containsExactly("ANDA000001", "ANDA000002");
+        assertThat(latestLastModified).isPresent();
+    }
+
+    @Test
+    void findLatestLastModified_WithoutRecords_ShouldReturnEmpty() {
+        // when
+        var latestLastModified = repository.findLatestLastModified();
+
+        // then
+        assertThat(latestLastModified).isEmpty();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void findDrugApplicationRecordDtoById_WhenReadAgain_ShouldBeServedFromSecondLevelCache() {
+        // given
+        repository.save(createDrugApplication("ANDA076805", "TARO", "LORATADINE", Set.of("001", "002")));
+        repository.findDrugApplicationRecordDtoById("ANDA076805");
+        repository.findVersionByApplicationNumber("ANDA076805");
+
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // when
+        var found = repository.findDrugApplicationRecordDtoById("ANDA076805");
+        var version = repository.findVersionByApplicationNumber("ANDA076805");
+
+        // then
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getDomainDataRegionStatistics(DrugApplicationRecord.CACHE_REGION).getHitCount())
+                .isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics(DrugApplicationRecord.PRODUCT_NUMBERS_CACHE_REGION)
+                .getHitCount()).isEqualTo(1);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(found).contains(new DrugApplicationRecordDto("ANDA076805", "TARO", "LORATADINE", Set.of("001", "002")));
+        assertThat(version).isPresent();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void save_WhenRecordIsCached_ShouldReplaceCachedRecord() {
+        // given
+        repository.save(createDrugApplication("ANDA076805", "TARO", "LORATADINE", Set.of("001")));
+        repository.findDrugApplicationRecordDtoById("ANDA076805");
+        var cachedVersion = repository.findVersionByApplicationNumber("ANDA076805").orElseThrow();
+
+        // when
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            var application = repository.findById("ANDA076805").orElseThrow();
+            application.setManufacturerName("NEW_MANUFACTURER");
+            application.getProductNumbers().add("002");
+        });
+        var found = repository.findDrugApplicationRecordDtoById("ANDA076805");
+
+        // then
+        assertThat(found).contains(
+                new DrugApplicationRecordDto("ANDA076805", "NEW_MANUFACTURER", "LORATADINE", Set.of("001", "002")));
+        assertThat(repository.findVersionByApplicationNumber("ANDA076805")).isPresent().get()
+                .satisfies(version -> assertThat(version.version()).isEqualTo(cachedVersion.version() + 1));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void upsertAndAddProductNumbers_WhenRecordIsCached_ShouldReplaceCachedRecordAndVersion() {
+        // given
+        repository.save(createDrugApplication("ANDA076805", "TARO", "LORATADINE", Set.of("001")));
+        repository.findDrugApplicationRecordDtoById("ANDA076805");
+        var cachedVersion = repository.findVersionByApplicationNumber("ANDA076805").orElseThrow();
+
+        // when
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            repository.upsert("ANDA076805", "NEW_MANUFACTURER", "LORATADINE");
+            repository.addProductNumbers("ANDA076805", new String[] {"002"});
+            repository.incrementVersion("ANDA076805");
+        });
+        var found = repository.findDrugApplicationRecordDtoById("ANDA076805");
+
+        // then
+        assertThat(found).contains(
+                new DrugApplicationRecordDto("ANDA076805", "NEW_MANUFACTURER", "LORATADINE", Set.of("001", "002")));
+        assertThat(repository.findVersionByApplicationNumber("ANDA076805")).isPresent().get()
+                .satisfies(version -> assertThat(version.version()).isEqualTo(cachedVersion.version() + 2));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void findAllDrugApplicationRecordDtos_WhenPageIsReadAgain_ShouldBeServedFromQueryCacheUntilWrite() {
+        // given
+        repository.saveAll(List.of(
+                createDrugApplication("ANDA000001", "TARO", "LORATADINE", Set.of("001")),
+                createDrugApplication("ANDA000002", "TARO", "LORATADINE", Set.of("001"))));
+        repository.findAllDrugApplicationRecordDtos(PageRequest.of(0, 1));
+
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // when
+        var cachedPage = repository.findAllDrugApplicationRecordDtos(PageRequest.of(0, 1));
+        long cachedPreparedStatements = statistics.getPrepareStatementCount();
+        repository.save(createDrugApplication("ANDA000000", "TARO", "LORATADINE", Set.of("001")));
+        var pageAfterWrite = repository.findAllDrugApplicationRecordDtos(PageRequest.of(0, 1));
+
+        // then
+        // the page of records, the total count and the product numbers
+        assertThat(cachedPreparedStatements).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(3);
+        assertThat(cachedPage.getTotalElements()).isEqualTo(2);
+        assertThat(cachedPage.getContent()).extracting(DrugApplicationRecordDto::applicationNumber)
+                .containsExactly("ANDA000001");
+        assertThat(pageAfterWrite.getTotalElements()).isEqualTo(3);
+        assertThat(pageAfterWrite.getContent()).extracting(DrugApplicationRecordDto::applicationNumber)
+                .containsExactly("ANDA000000");
+    }
+
     private DrugApplicationRecord createDrugApplication(String applicationNumber, String manufacturer, String substance, Set<String> productNumbers) {
         return DrugApplicationRecord.builder()
                 .applicationNumber(applicationNumber)
@@ -0,0 +1,139 @@
+package com.emerald.fda.records.api.service;
+
+import com.emerald.fda.records.api.dto.response.DrugApplicationRecordDto;
+import com.emerald.fda.records.api.repository.DrugApplicationRecordRepository;
+import com.emerald.fda.records.api.repository.DrugApplicationRecordVersion;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class DrugApplicationRecordResponseCacheTest {
+    private static final String APPLICATION_NUMBER = "ANDA076805";
+    private static final Instant LAST_MODIFIED = Instant.parse("2025-03-01T10:15:30Z");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private DrugApplicationRecordRepository repository;
+
+    @Test
+    void get_ShouldSerializeOnceUntilInvalidated() throws IOException {
+        // given
+        var cache = createCache(1024);
+        var record = new DrugApplicationRecordDto(APPLICATION_NUMBER, "TARO", "LORATADINE", Set.of("001"));
+        var version = new DrugApplicationRecordVersion(APPLICATION_NUMBER, 3, LAST_MODIFIED);
+
+        when(repository.findVersionByApplicationNumber(APPLICATION_NUMBER)).thenReturn(Optional.of(version));
+        when(repository.findDrugApplicationRecordDtoById(APPLICATION_NUMBER)).thenReturn(Optional.of(record));
+
+        // when
+        var first = cache.get(APPLICATION_NUMBER);
+        var second = cache.get(APPLICATION_NUMBER);
+        cache.invalidate(APPLICATION_NUMBER);
+        cache.get(APPLICATION_NUMBER);
+
+        // then
+        assertThat(first).isPresent().get().satisfies(cached -> {
+            assertThat(objectMapper.readValue(cached.json(), DrugApplicationRecordDto.class)).isEqualTo(record);
+            assertThat(cached.gzipJson()).isNull();
+            assertThat(cached.validator()).isEqualTo(new ResourceValidator("\"3-1740824130000\"", LAST_MODIFIED));
+        });
+        assertThat(second.get()).isSameAs(first.get());
+        verify(repository, times(2)).findDrugApplicationRecordDtoById(APPLICATION_NUMBER);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "records.response").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void get_WithLargeResponse_ShouldAlsoKeepItCompressed() throws IOException {
+        // given
+        var cache = createCache(0);
+        var record = new DrugApplicationRecordDto(APPLICATION_NUMBER, "TARO", "LORATADINE", Set.of("001", "002"));
+
+        when(repository.findVersionByApplicationNumber(APPLICATION_NUMBER))
+                .thenReturn(Optional.of(new DrugApplicationRecordVersion(APPLICATION_NUMBER, 0, LAST_MODIFIED)));
+        when(repository.findDrugApplicationRecordDtoById(APPLICATION_NUMBER)).thenReturn(Optional.of(record));
+
+        // when
+        var cached = cache.get(APPLICATION_NUMBER).orElseThrow();
+
+        // then
+        try (var gzip = new GZIPInputStream(new ByteArrayInputStream(cached.gzipJson()))) {
+            assertThat(gzip.readAllBytes()).isEqualTo(cached.json());
+        }
+    }
+
+    @Test
+    void get_WithNonExistentRecord_ShouldNotCacheAbsence() {
+        // given
+        var cache = createCache(1024);
+        when(repository.findVersionByApplicationNumber(APPLICATION_NUMBER)).thenReturn(Optional.empty());
+
+        // when
+        var first = cache.get(APPLICATION_NUMBER);
+        var second = cache.get(APPLICATION_NUMBER);
+
+        // then
+        assertThat(first).isEmpty();
+        assertThat(second).isEmpty();
+        verify(repository, times(2)).findVersionByApplicationNumber(APPLICATION_NUMBER);
+    }
+
+    @Test
+    void invalidateAll_WhenDisabled_ShouldDoNothing() {
+        // given
+        var cache = new DrugApplicationRecordResponseCache(repository, objectMapper, meterRegistry, false, 10,
+                Duration.ofHours(1), true, 0);
+
+        // when
+        cache.invalidateAll(List.of(APPLICATION_NUMBER));
+
+        // then
+        assertThat(cache.isEnabled()).isFalse();
+    }
+
+    @Test
+    void get_WhenTimeToLiveElapsed_ShouldReloadRecord() {
+        // given
+        var cache = createCache(Duration.ZERO, 1024);
+        var record = new DrugApplicationRecordDto(APPLICATION_NUMBER, "TARO", "LORATADINE", Set.of("001"));
+        var version = new DrugApplicationRecordVersion(APPLICATION_NUMBER, 3, LAST_MODIFIED);
+
+        when(repository.findVersionByApplicationNumber(APPLICATION_NUMBER)).thenReturn(Optional.of(version));
+        when(repository.findDrugApplicationRecordDtoById(APPLICATION_NUMBER)).thenReturn(Optional.of(record));
+
+        // when
+        cache.get(APPLICATION_NUMBER);
+        cache.get(APPLICATION_NUMBER);
+
+        // then
+        verify(repository, times(2)).findDrugApplicationRecordDtoById(APPLICATION_NUMBER);
+    }
+
+    private DrugApplicationRecordResponseCache createCache(int gzipMinSize) {
+        return createCache(Duration.ofHours(1), gzipMinSize);
+    }
+
+    private DrugApplicationRecordResponseCache createCache(Duration timeToLive, int gzipMinSize) {
+        return new DrugApplicationRecordResponseCache(repository, objectMapper, meterRegistry, true, 10,
+                timeToLive, true, gzipMinSize);
+    }
+}
@@ -0,0 +1,141 @@
+package com.emerald.fda.records.api.service;
+
+import com.emerald.fda.records.api.repository.DrugApplicationRecordRepository;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Stress benchmark of concurrent writers storing overlapping drug application records,
+ * comparing the MERGE upsert path with select-then-save. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.com.emerald.fda.records.api=WARN",
+        "logging.level.com.emerald.fda.records.api.service.DrugApplicationRecordUpsertBenchmarkTest=INFO"
+})
+@ActiveProfiles("test")
+class DrugApplicationRecordUpsertBenchmarkTest {
+    private static final Logger log = LoggerFactory.getLogger(DrugApplicationRecordUpsertBenchmarkTest.class);
+
+    private static final int WRITERS = 32;
+    private static final int WRITES_PER_WRITER = 500;
+    private static final int KEYS = 16;
+    private static final int PRODUCT_NUMBERS = 10;
+
+    @Nested
+    @TestPropertySource(properties = "fda.records.upsert-mode=merge")
+    class MergeUpsert {
+        @Autowired
+        private DrugApplicationRecordsService service;
+
+        @Autowired
+        private DrugApplicationRecordRepository repository;
+
+        @BeforeEach
+        void setUp() {
+            repository.deleteAll();
+        }
+
+        @Test
+        void withOverlappingConcurrentWriters_ShouldNotFail() throws Exception {
+            var result = run(service, UpsertMode.MERGE);
+
+            assertThat(result.failures()).isZero();
+            assertThat(repository.count()).isEqualTo(KEYS);
+            var applicationNumbers = IntStream.range(0, KEYS).mapToObj(DrugApplicationRecordUpsertBenchmarkTest::applicationNumber).toList();
+            assertThat(repository.findAllByApplicationNumberIn(applicationNumbers)).allSatisfy(record ->
+                    assertThat(result.expectedProductNumbers()).containsAll(record.getProductNumbers()));
+        }
+    }
+
+    @Nested
+    @TestPropertySource(properties = "fda.records.upsert-mode=select_then_save")
+    class SelectThenSave {
+        @Autowired
+        private DrugApplicationRecordsService service;
+
+        @Autowired
+        private DrugApplicationRecordRepository repository;
+
+        @BeforeEach
+        void setUp() {
+            repository.deleteAll();
+        }
+
+        @Test
+        void withOverlappingConcurrentWriters_ForComparison() throws Exception {
+            run(service, UpsertMode.SELECT_THEN_SAVE);
+        }
+    }
+
+    private static BenchmarkResult run(DrugApplicationRecordsService service, UpsertMode upsertMode)
+            throws InterruptedException {
+
+        var failures = new AtomicInteger();
+        Set<String> productNumbers = ConcurrentHashMap.newKeySet();
+        var start = new CountDownLatch(1);
+
+        long startNanos;
+        try (var executor = Executors.newFixedThreadPool(WRITERS)) {
+            for (int writer = 0; writer < WRITERS; writer++) {
+                executor.submit(() -> {
+                    start.await();
+                    var random = ThreadLocalRandom.current();
+
+                    for (int i = 0; i < WRITES_PER_WRITER; i++) {
+                        var applicationNumber = applicationNumber(random.nextInt(KEYS));
+                        var productNumber = "%03d".formatted(random.nextInt(PRODUCT_NUMBERS));
+                        productNumbers.add(productNumber);
+
+                        try {
+                            service.saveDrugApplicationRecord(
+                                    applicationNumber, "TARO", "LORATADINE", new HashSet<>(Set.of(productNumber)));
+                        } catch (RuntimeException ex) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+
+            startNanos = System.nanoTime();
+            start.countDown();
+            executor.shutdown();
+            assertThat(executor.awaitTermination(5, TimeUnit.MINUTES)).isTrue();
+        }
+
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        int writes = WRITERS * WRITES_PER_WRITER;
+
+        log.info("{}: {} writers, {} writes over {} keys in {} s: {} writes/s, {} failed",
+                upsertMode, WRITERS, writes, KEYS, "%.2f".formatted(seconds), "%.0f".formatted(writes / seconds),
+                failures.get());
+
+        return new BenchmarkResult(failures.get(), Set.copyOf(productNumbers));
+    }
+
+    private static String applicationNumber(int key) {
+        return "ANDA%06d".formatted(key);
+    }
+
+    private record BenchmarkResult(int failures, Set<String> expectedProductNumbers) {}
+}
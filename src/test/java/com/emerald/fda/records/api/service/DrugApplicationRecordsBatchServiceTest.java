@@ -0,0 +1,172 @@
+package com.emerald.fda.records.api.service;
+
+import com.emerald.fda.records.api.config.HibernateCacheConfig;
+import com.emerald.fda.records.api.dto.request.StoreDrugApplicationRecordDto;
+import com.emerald.fda.records.api.dto.response.BatchStoreItemResultDto;
+import com.emerald.fda.records.api.dto.response.BatchStoreItemResultDto.Status;
+import com.emerald.fda.records.api.entity.DrugApplicationRecord;
+import com.emerald.fda.records.api.repository.DrugApplicationRecordRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({DrugApplicationRecordsBatchService.class, HibernateCacheConfig.class})
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@TestPropertySource(properties = {
+        "fda.records.batch.chunk-size=50",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DrugApplicationRecordsBatchServiceTest {
+    @Autowired
+    private DrugApplicationRecordsBatchService batchService;
+
+    @MockitoBean
+    private DrugApplicationRecordResponseCache responseCache;
+
+    @Autowired
+    private DrugApplicationRecordRepository repository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void saveDrugApplicationRecords_ShouldCreateAndUpdateRecords() {
+        // given
+        repository.save(DrugApplicationRecord.builder()
+                .applicationNumber("ANDA076805")
+                .manufacturerName("TARO")
+                .substanceName("LORATADINE")
+                .productNumbers(new HashSet<>(Set.of("001")))
+                .build());
+
+        var records = List.of(
+                new StoreDrugApplicationRecordDto("ANDA076805", "TARO PHARMA", "LORATADINE", Set.of("002")),
+                new StoreDrugApplicationRecordDto("NDA020702", "PFIZER", "ATORVASTATIN", Set.of("001")),
+                new StoreDrugApplicationRecordDto("NDA020702", "PFIZER", "ATORVASTATIN", Set.of("002"))
+        );
+
+        // when
+        var response = batchService.saveDrugApplicationRecords(records);
+
+        // then
+        assertThat(response.created()).isEqualTo(1);
+        assertThat(response.updated()).isEqualTo(2);
+        assertThat(response.failed()).isZero();
+        assertThat(response.items()).extracting(BatchStoreItemResultDto::status)
+                .containsExactly(Status.UPDATED, Status.CREATED, Status.UPDATED);
+
+        assertThat(repository.findAllByApplicationNumberIn(List.of("ANDA076805", "NDA020702")))
+                .satisfiesExactlyInAnyOrder(
+                        record -> {
+                            assertThat(record.getManufacturerName()).isEqualTo("TARO PHARMA");
+                            assertThat(record.getProductNumbers()).containsExactlyInAnyOrder("001", "002");
+                        },
+                        record -> assertThat(record.getProductNumbers()).containsExactlyInAnyOrder("001", "002"));
+    }
+
+    @Test
+    void saveDrugApplicationRecords_WithInvalidRecord_ShouldFailOnlyThatRecord() {
+        // given
+        var records = new ArrayList<StoreDrugApplicationRecordDto>();
+        records.add(new StoreDrugApplicationRecordDto("ANDA076805", "TARO", "LORATADINE", Set.of("001")));
+        records.add(new StoreDrugApplicationRecordDto("ANDA076806", "", "LORATADINE", Set.of()));
+        records.add(null);
+
+        // when
+        var response = batchService.saveDrugApplicationRecords(records);
+
+        // then
+        assertThat(response.created()).isEqualTo(1);
+        assertThat(response.failed()).isEqualTo(2);
+        assertThat(response.items().get(1)).satisfies(item -> {
+            assertThat(item.status()).isEqualTo(Status.FAILED);
+            assertThat(item.applicationNumber()).isEqualTo("ANDA076806");
+            assertThat(item.error()).isEqualTo("At least one product number is required; Manufacturer name is required");
+        });
+        assertThat(response.items().get(2).status()).isEqualTo(Status.FAILED);
+        assertThat(repository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void saveDrugApplicationRecords_WithFailingChunk_ShouldNotExposeDatabaseError() {
+        // given
+        var records = List.of(
+                new StoreDrugApplicationRecordDto("ANDA076805", "T".repeat(300), "LORATADINE", Set.of("001")));
+
+        // when
+        var response = batchService.saveDrugApplicationRecords(records);
+
+        // then
+        assertThat(response.failed()).isEqualTo(1);
+        assertThat(response.items().get(0).error()).isEqualTo("Drug application violates a data constraint");
+        assertThat(repository.count()).isZero();
+    }
+
+    @Test
+    void saveDrugApplicationRecords_ShouldUseBatchedStatementsPerChunk() {
+        // given
+        var records = new ArrayList<StoreDrugApplicationRecordDto>();
+        for (int i = 0; i < 100; i++) {
+            records.add(new StoreDrugApplicationRecordDto(
+                    "ANDA%06d".formatted(i), "TARO", "LORATADINE", Set.of("001", "002")));
+        }
+
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // when
+        var response = batchService.saveDrugApplicationRecords(records);
+        long preparedStatements = statistics.getPrepareStatementCount();
+
+        // then
+        assertThat(response.created()).isEqualTo(100);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(100);
+
+        // two chunks of 50: one lookup query plus one record and one product number insert batch each
+        assertThat(preparedStatements).isEqualTo(6);
+        assertThat(repository.count()).isEqualTo(100);
+    }
+
+    @Test
+    void saveDrugApplicationRecords_ShouldInvalidateCachedResponsesOfEachChunk() {
+        // given
+        var records = new ArrayList<StoreDrugApplicationRecordDto>();
+        for (int i = 0; i < 60; i++) {
+            records.add(new StoreDrugApplicationRecordDto("ANDA%06d".formatted(i), "TARO", "LORATADINE", Set.of("001")));
+        }
+
+        // when
+        batchService.saveDrugApplicationRecords(records);
+
+        // then
+        verify(responseCache).invalidateAll(records.subList(0, 50).stream()
+                .map(StoreDrugApplicationRecordDto::applicationNumber).toList());
+        verify(responseCache).invalidateAll(records.subList(50, 60).stream()
+                .map(StoreDrugApplicationRecordDto::applicationNumber).toList());
+    }
+}
@@ -0,0 +1,127 @@
+package com.emerald.fda.records.api.service;
+
+import com.emerald.fda.records.api.config.HibernateCacheConfig;
+import com.emerald.fda.records.api.dto.response.DrugApplicationRecordDto;
+import com.emerald.fda.records.api.entity.DrugApplicationRecord;
+import com.emerald.fda.records.api.repository.DrugApplicationRecordRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({DrugApplicationRecordsExportService.class, HibernateCacheConfig.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@TestPropertySource(properties = {
+        "fda.records.export.chunk-size=40",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DrugApplicationRecordsExportServiceTest {
+    @Autowired
+    private DrugApplicationRecordsExportService exportService;
+
+    @Autowired
+    private DrugApplicationRecordRepository repository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void exportDrugApplicationRecords_ShouldWriteOneJsonObjectPerLineInApplicationNumberOrder() throws IOException {
+        // given
+        var records = new ArrayList<DrugApplicationRecord>();
+        for (int i = 99; i >= 0; i--) {
+            records.add(DrugApplicationRecord.builder()
+                    .applicationNumber("ANDA%06d".formatted(i))
+                    .manufacturerName("TARO")
+                    .substanceName("LORATADINE")
+                    .productNumbers(new HashSet<>(Set.of("002", "001")))
+                    .build());
+        }
+        repository.saveAll(records);
+
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        var output = new ByteArrayOutputStream();
+
+        // when
+        long exported = exportService.exportDrugApplicationRecords(output);
+
+        // then
+        assertThat(exported).isEqualTo(100);
+
+        var lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(100);
+        assertThat(objectMapper.readValue(lines[0], DrugApplicationRecordDto.class))
+                .isEqualTo(new DrugApplicationRecordDto("ANDA000000", "TARO", "LORATADINE", Set.of("001", "002")));
+        assertThat(objectMapper.readValue(lines[99], DrugApplicationRecordDto.class).applicationNumber())
+                .isEqualTo("ANDA000099");
+
+        // one streaming query plus one product number query per chunk of 40, and no lazy collection loads
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+    }
+
+    @Test
+    void exportDrugApplicationRecords_ShouldNotPutRecordsIntoSecondLevelCache() throws IOException {
+        // given
+        repository.saveAll(List.of(
+                DrugApplicationRecord.builder()
+                        .applicationNumber("ANDA000001").manufacturerName("TARO").substanceName("LORATADINE").build(),
+                DrugApplicationRecord.builder()
+                        .applicationNumber("ANDA000002").manufacturerName("TARO").substanceName("LORATADINE").build()));
+        entityManagerFactory.getCache().evictAll();
+
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // when
+        long exported = exportService.exportDrugApplicationRecords(new ByteArrayOutputStream());
+
+        // then
+        assertThat(exported).isEqualTo(2);
+        assertThat(statistics.getSecondLevelCachePutCount()).isZero();
+        assertThat(entityManagerFactory.getCache().contains(DrugApplicationRecord.class, "ANDA000001")).isFalse();
+    }
+
+    @Test
+    void exportDrugApplicationRecords_WithNoRecords_ShouldWriteNothing() throws IOException {
+        // given
+        var output = new ByteArrayOutputStream();
+
+        // when
+        long exported = exportService.exportDrugApplicationRecords(output);
+
+        // then
+        assertThat(exported).isZero();
+        assertThat(output.size()).isZero();
+    }
+}
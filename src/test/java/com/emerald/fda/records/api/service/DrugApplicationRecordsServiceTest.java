@@ -6,26 +6,45 @@ import com.emerald.fda.records.api.dto.fda.MetaDto;
 import com.emerald.fda.records.api.dto.fda.OpenFdaDto;
 import com.emerald.fda.records.api.dto.fda.ProductDto;
 import com.emerald.fda.records.api.dto.fda.ResultsMetaDto;
+import com.emerald.fda.records.api.dto.request.SearchCriteriaDto;
+import com.emerald.fda.records.api.dto.response.BatchSearchItemResultDto;
+import com.emerald.fda.records.api.dto.response.BatchSearchResponseDto;
+import com.emerald.fda.records.api.dto.response.DrugApplicationRecordDto;
 import com.emerald.fda.records.api.entity.DrugApplicationRecord;
+import com.emerald.fda.records.api.exception.InvalidCursorException;
+import com.emerald.fda.records.api.exception.LocalIndexUnavailableException;
 import com.emerald.fda.records.api.repository.DrugApplicationRecordRepository;
+import com.emerald.fda.records.api.repository.DrugApplicationRecordVersion;
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
-import org.mockito.InjectMocks;
+import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.Mock;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.client.HttpClientErrorException;
 
 @ExtendWith(MockitoExtension.class)
 class DrugApplicationRecordsServiceTest {
@@ -33,20 +52,36 @@ class DrugApplicationRecordsServiceTest {
     private DrugApplicationRecordRepository repository;
 
     @Mock
-    private FdaClientService fdaClientService;
+    private FdaSearchFanOutService fanOutService;
+
+    @Mock
+    private FdaBatchSearchService batchSearchService;
+
+    @Mock
+    private LocalDrugApplicationIndex localIndex;
+
+    @Mock
+    private DrugApplicationRecordResponseCache responseCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
 
-    @InjectMocks
     private DrugApplicationRecordsService service;
 
+    @BeforeEach
+    void setUp() {
+        service = createService(SearchMode.REMOTE, UpsertMode.SELECT_THEN_SAVE);
+    }
+
     @Test
-    void searchDrugApplications_ShouldDelegateToDdaClientService() {
+    void searchDrugApplications_ShouldDelegateToFanOutService() {
         // Arrange
         var expectedResponse = new FdaResponseDto(
                 new MetaDto(null, null, null, null, new ResultsMetaDto(0, 10, 1)),
                 List.of(new DrugApplicationResultDto(null, "ANDA076805", "TARO", null, null))
         );
 
-        when(fdaClientService.searchDrugApplicationRecords("TARO", "LORATADINE", 0, 10))
+        when(fanOutService.searchDrugApplicationRecords("TARO", "LORATADINE", 0, 10))
                 .thenReturn(expectedResponse);
 
         // Act
@@ -54,7 +89,142 @@ class DrugApplicationRecordsServiceTest {
 
         // Assert
         assertThat(actualResponse).isEqualTo(expectedResponse);
-        verify(fdaClientService).searchDrugApplicationRecords("TARO", "LORATADINE", 0, 10);
+        verify(fanOutService).searchDrugApplicationRecords("TARO", "LORATADINE", 0, 10);
+    }
+
+    @Test
+    void searchDrugApplications_InLocalMode_ShouldDelegateToLocalIndex() {
+        // Arrange
+        service = createService(SearchMode.LOCAL, UpsertMode.SELECT_THEN_SAVE);
+        var expectedResponse = new FdaResponseDto(
+                new MetaDto(null, null, null, null, new ResultsMetaDto(0, 10, 1)),
+                List.of(new DrugApplicationResultDto(null, "ANDA076805", "TARO", null, null))
+        );
+
+        when(localIndex.isReady()).thenReturn(true);
+        when(localIndex.search("TARO", "LORATADINE", 0, 10)).thenReturn(expectedResponse);
+
+        // Act
+        FdaResponseDto actualResponse = service.searchDrugApplicationRecords("TARO", "LORATADINE", 0, 10);
+
+        // Assert
+        assertThat(actualResponse).isEqualTo(expectedResponse);
+        verifyNoInteractions(fanOutService);
+    }
+
+    @Test
+    void searchDrugApplications_InLocalModeWithIndexNotLoaded_ShouldThrow() {
+        // Arrange
+        service = createService(SearchMode.LOCAL, UpsertMode.SELECT_THEN_SAVE);
+        when(localIndex.isReady()).thenReturn(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.searchDrugApplicationRecords("TARO", null, 0, 10))
+                .isInstanceOf(LocalIndexUnavailableException.class);
+        verifyNoInteractions(fanOutService);
+    }
+
+    @Test
+    void searchDrugApplications_InLocalModeWithoutMatches_ShouldThrowNotFoundLikeOpenFda() {
+        // Arrange
+        service = createService(SearchMode.LOCAL, UpsertMode.SELECT_THEN_SAVE);
+        when(localIndex.isReady()).thenReturn(true);
+        when(localIndex.search("UNKNOWN", null, 0, 10)).thenReturn(new FdaResponseDto(
+                new MetaDto(null, null, null, null, new ResultsMetaDto(0, 10, 0)), List.of()));
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.searchDrugApplicationRecords("UNKNOWN", null, 0, 10))
+                .isInstanceOfSatisfying(HttpClientErrorException.NotFound.class, ex ->
+                        assertThat(ex.getResponseBodyAsString()).contains("\"code\": \"NOT_FOUND\""));
+        verifyNoInteractions(fanOutService);
+    }
+
+    @Test
+    void searchDrugApplications_InFallbackModeWithIndexNotLoaded_ShouldDelegateToFanOutService() {
+        // Arrange
+        service = createService(SearchMode.LOCAL_WITH_REMOTE_FALLBACK, UpsertMode.SELECT_THEN_SAVE);
+        var expectedResponse = new FdaResponseDto(null, List.of());
+
+        when(localIndex.isReady()).thenReturn(false);
+        when(fanOutService.searchDrugApplicationRecords("TARO", null, 0, 10)).thenReturn(expectedResponse);
+
+        // Act
+        FdaResponseDto actualResponse = service.searchDrugApplicationRecords("TARO", null, 0, 10);
+
+        // Assert
+        assertThat(actualResponse).isEqualTo(expectedResponse);
+    }
+
+    @Test
+    void searchDrugApplicationsAsync_ShouldDelegateToFanOutService() {
+        // Arrange
+        var expectedResponse = new FdaResponseDto(null, List.of());
+
+        when(fanOutService.searchDrugApplicationRecordsAsync("TARO", null, 0, 5000))
+                .thenReturn(CompletableFuture.completedFuture(expectedResponse));
+
+        // Act
+        var actualResponse = service.searchDrugApplicationRecordsAsync("TARO", null, 0, 5000);
+
+        // Assert
+        assertThat(actualResponse).isCompletedWithValue(expectedResponse);
+        verify(fanOutService, never()).searchDrugApplicationRecords(anyString(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void searchDrugApplicationsAsync_InLocalMode_ShouldCompleteFromLocalIndex() {
+        // Arrange
+        service = createService(SearchMode.LOCAL, UpsertMode.SELECT_THEN_SAVE);
+        var expectedResponse = new FdaResponseDto(null, List.of());
+
+        when(localIndex.isReady()).thenReturn(true);
+        when(localIndex.search("TARO", null, 0, 10)).thenReturn(expectedResponse);
+
+        // Act
+        var actualResponse = service.searchDrugApplicationRecordsAsync("TARO", null, 0, 10);
+
+        // Assert
+        assertThat(actualResponse).isCompletedWithValue(expectedResponse);
+        verifyNoInteractions(fanOutService);
+    }
+
+    @Test
+    void searchDrugApplicationsBatch_ShouldDelegateToBatchSearchService() {
+        // Arrange
+        var criteria = List.of(new SearchCriteriaDto("TARO", null), new SearchCriteriaDto("PFIZER", "LIPITOR"));
+        var expectedResponse = new BatchSearchResponseDto(List.of());
+
+        when(batchSearchService.searchDrugApplicationRecords(criteria, 10)).thenReturn(expectedResponse);
+
+        // Act
+        var actualResponse = service.searchDrugApplicationRecordsBatch(criteria, 10);
+
+        // Assert
+        assertThat(actualResponse).isEqualTo(expectedResponse);
+        verifyNoInteractions(localIndex);
+    }
+
+    @Test
+    void searchDrugApplicationsBatch_InLocalMode_ShouldSearchLocalIndexPerCriteria() {
+        // Arrange
+        service = createService(SearchMode.LOCAL, UpsertMode.SELECT_THEN_SAVE);
+        var taroResult = new DrugApplicationResultDto(null, "ANDA076805", "TARO", null, null);
+
+        when(localIndex.isReady()).thenReturn(true);
+        when(localIndex.search("TARO", null, 0, 10)).thenReturn(new FdaResponseDto(
+                new MetaDto(null, null, null, null, new ResultsMetaDto(0, 10, 1)), List.of(taroResult)));
+        when(localIndex.search("PFIZER", "LIPITOR", 0, 10)).thenReturn(new FdaResponseDto(
+                new MetaDto(null, null, null, null, new ResultsMetaDto(0, 10, 0)), List.of()));
+
+        // Act
+        var actualResponse = service.searchDrugApplicationRecordsBatch(
+                List.of(new SearchCriteriaDto("TARO", null), new SearchCriteriaDto("PFIZER", "LIPITOR")), 10);
+
+        // Assert
+        assertThat(actualResponse.items()).containsExactly(
+                new BatchSearchItemResultDto(0, "TARO", null, 1, List.of(taroResult)),
+                new BatchSearchItemResultDto(1, "PFIZER", "LIPITOR", 0, List.of()));
+        verifyNoInteractions(fanOutService, batchSearchService);
     }
 
     @Test
@@ -145,70 +315,266 @@ class DrugApplicationRecordsServiceTest {
         verify(repository).save(any(DrugApplicationRecord.class));
     }
 
+    @Test
+    void saveDrugApplication_InMergeMode_ShouldUpsertWithoutSelectingFirst() {
+        // Arrange
+        service = createService(SearchMode.REMOTE, UpsertMode.MERGE);
+        var savedApplication = DrugApplicationRecord.builder()
+                .applicationNumber("ANDA076805")
+                .manufacturerName("TARO")
+                .substanceName("LORATADINE")
+                .productNumbers(Set.of("001", "002"))
+                .build();
+
+        when(repository.findWithProductNumbersByApplicationNumber("ANDA076805"))
+                .thenReturn(Optional.of(savedApplication));
+
+        // Act
+        var result = service.saveDrugApplicationRecord("ANDA076805", "TARO", "LORATADINE", Set.of("002"));
+
+        // Assert
+        assertThat(result).isEqualTo(savedApplication);
+        verify(repository).upsert("ANDA076805", "TARO", "LORATADINE");
+        verify(repository).addProductNumbers("ANDA076805", new String[] {"002"});
+        verify(repository, never()).findById(anyString());
+        verify(repository, never()).save(any(DrugApplicationRecord.class));
+    }
+
+    @Test
+    void saveDrugApplication_InMergeModeWithOnlyNewProductNumbers_ShouldIncrementVersion() {
+        // Arrange
+        service = createService(SearchMode.REMOTE, UpsertMode.MERGE);
+        var savedApplication = DrugApplicationRecord.builder()
+                .applicationNumber("ANDA076805")
+                .manufacturerName("TARO")
+                .substanceName("LORATADINE")
+                .productNumbers(Set.of("001", "002"))
+                .build();
+
+        when(repository.upsert("ANDA076805", "TARO", "LORATADINE")).thenReturn(0);
+        when(repository.addProductNumbers("ANDA076805", new String[] {"002"})).thenReturn(1);
+        when(repository.findWithProductNumbersByApplicationNumber("ANDA076805"))
+                .thenReturn(Optional.of(savedApplication));
+
+        // Act
+        service.saveDrugApplicationRecord("ANDA076805", "TARO", "LORATADINE", Set.of("002"));
+
+        // Assert
+        verify(repository).incrementVersion("ANDA076805");
+    }
+
+    @Test
+    void saveDrugApplication_InMergeModeWithoutChanges_ShouldNotIncrementVersion() {
+        // Arrange
+        service = createService(SearchMode.REMOTE, UpsertMode.MERGE);
+        var savedApplication = DrugApplicationRecord.builder()
+                .applicationNumber("ANDA076805")
+                .manufacturerName("TARO")
+                .substanceName("LORATADINE")
+                .productNumbers(Set.of("002"))
+                .build();
+
+        when(repository.findWithProductNumbersByApplicationNumber("ANDA076805"))
+                .thenReturn(Optional.of(savedApplication));
+
+        // Act
+        service.saveDrugApplicationRecord("ANDA076805", "TARO", "LORATADINE", Set.of("002"));
+
+        // Assert
+        verify(repository, never()).incrementVersion(anyString());
+    }
+
+    @Test
+    void saveDrugApplication_InMergeMode_ShouldInvalidateCachedResponse() {
+        // Arrange
+        service = createService(SearchMode.REMOTE, UpsertMode.MERGE);
+        var savedApplication = DrugApplicationRecord.builder()
+                .applicationNumber("ANDA076805")
+                .manufacturerName("TARO")
+                .substanceName("LORATADINE")
+                .productNumbers(Set.of("001"))
+                .build();
+
+        when(repository.findWithProductNumbersByApplicationNumber("ANDA076805"))
+                .thenReturn(Optional.of(savedApplication));
+
+        // Act
+        service.saveDrugApplicationRecord("ANDA076805", "TARO", "LORATADINE", Set.of("001"));
+
+        // Assert
+        var inOrder = inOrder(repository, responseCache);
+        inOrder.verify(repository).upsert("ANDA076805", "TARO", "LORATADINE");
+        inOrder.verify(repository).findWithProductNumbersByApplicationNumber("ANDA076805");
+        inOrder.verify(responseCache).invalidate("ANDA076805");
+    }
+
+    @Test
+    void saveDrugApplication_InMergeModeWithConcurrentInsert_ShouldRetry() {
+        // Arrange
+        service = createService(SearchMode.REMOTE, UpsertMode.MERGE);
+        var savedApplication = DrugApplicationRecord.builder()
+                .applicationNumber("ANDA076805")
+                .manufacturerName("TARO")
+                .substanceName("LORATADINE")
+                .productNumbers(Set.of("001"))
+                .build();
+
+        when(repository.upsert("ANDA076805", "TARO", "LORATADINE"))
+                .thenThrow(new DataIntegrityViolationException("Unique index or primary key violation"))
+                .thenReturn(1);
+        when(repository.findWithProductNumbersByApplicationNumber("ANDA076805"))
+                .thenReturn(Optional.of(savedApplication));
+
+        // Act
+        var result = service.saveDrugApplicationRecord("ANDA076805", "TARO", "LORATADINE", Set.of("001"));
+
+        // Assert
+        assertThat(result).isEqualTo(savedApplication);
+        verify(repository, times(2)).upsert("ANDA076805", "TARO", "LORATADINE");
+        verify(repository, times(1)).addProductNumbers(eq("ANDA076805"), any(String[].class));
+    }
+
     @Test
     void getAllDrugApplications_ShouldReturnPageFromRepository() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        List<DrugApplicationRecord> applications = List.of(
-                DrugApplicationRecord.builder()
-                        .applicationNumber("ANDA076805")
-                        .manufacturerName("TARO")
-                        .substanceName("LORATADINE")
-                        .productNumbers(Set.of("001"))
-                        .build(),
-                DrugApplicationRecord.builder()
-                        .applicationNumber("ANDA076806")
-                        .manufacturerName("OTHER")
-                        .substanceName("SUBSTANCE")
-                        .productNumbers(Set.of("002"))
-                        .build()
+        List<DrugApplicationRecordDto> applications = List.of(
+                new DrugApplicationRecordDto("ANDA076805", "TARO", "LORATADINE", Set.of("001")),
+                new DrugApplicationRecordDto("ANDA076806", "OTHER", "SUBSTANCE", Set.of("002"))
         );
 
-        Page<DrugApplicationRecord> expectedPage = new PageImpl<>(applications, pageable, applications.size());
-        when(repository.findAll(pageable)).thenReturn(expectedPage);
+        Page<DrugApplicationRecordDto> expectedPage = new PageImpl<>(applications, pageable, applications.size());
+        when(repository.findAllDrugApplicationRecordDtos(pageable)).thenReturn(expectedPage);
 
         // Act
-        Page<DrugApplicationRecord> actualPage = service.getAllDrugApplicationRecords(pageable);
+        Page<DrugApplicationRecordDto> actualPage = service.getAllDrugApplicationRecords(pageable);
 
         // Assert
         assertThat(actualPage).isEqualTo(expectedPage);
         assertThat(actualPage.getContent()).hasSize(2);
-        verify(repository).findAll(pageable);
+        verify(repository).findAllDrugApplicationRecordDtos(pageable);
+    }
+
+    @Test
+    void getDrugApplicationRecordsAfter_WithMoreRecords_ShouldReturnNextCursor() {
+        // Arrange
+        when(repository.findDrugApplicationRecordDtosAfter(null, 3)).thenReturn(List.of(
+                new DrugApplicationRecordDto("ANDA000001", "TARO", "LORATADINE", Set.of("001")),
+                new DrugApplicationRecordDto("ANDA000002", "TARO", "LORATADINE", Set.of("001")),
+                new DrugApplicationRecordDto("ANDA000003", "TARO", "LORATADINE", Set.of("001"))));
+
+        // Act
+        var firstPage = service.getDrugApplicationRecordsAfter(null, 2, false);
+
+        // Assert
+        assertThat(firstPage.content()).extracting(DrugApplicationRecordDto::applicationNumber)
+                .containsExactly("ANDA000001", "ANDA000002");
+        assertThat(firstPage.nextCursor()).isNotNull();
+        assertThat(firstPage.totalElements()).isNull();
+        verify(repository, never()).count();
+
+        // Arrange
+        when(repository.findDrugApplicationRecordDtosAfter("ANDA000002", 3)).thenReturn(List.of(
+                new DrugApplicationRecordDto("ANDA000003", "TARO", "LORATADINE", Set.of("001"))));
+        when(repository.count()).thenReturn(3L);
+
+        // Act
+        var lastPage = service.getDrugApplicationRecordsAfter(firstPage.nextCursor(), 2, true);
+
+        // Assert
+        assertThat(lastPage.content()).extracting(DrugApplicationRecordDto::applicationNumber)
+                .containsExactly("ANDA000003");
+        assertThat(lastPage.nextCursor()).isNull();
+        assertThat(lastPage.totalElements()).isEqualTo(3L);
+    }
+
+    @Test
+    void getDrugApplicationRecordsAfter_WithInvalidCursor_ShouldThrow() {
+        // Act & Assert
+        assertThatThrownBy(() -> service.getDrugApplicationRecordsAfter("not base64!", 10, false))
+                .isInstanceOf(InvalidCursorException.class);
+        verify(repository, never()).findDrugApplicationRecordDtosAfter(any(), anyInt());
     }
 
     @Test
     void getDrugApplicationById_ShouldReturnApplicationFromRepository() {
         // Arrange
         String applicationNumber = "ANDA076805";
-        var expectedApplication = DrugApplicationRecord.builder()
-                .applicationNumber(applicationNumber)
-                .manufacturerName("TARO")
-                .substanceName("LORATADINE")
-                .productNumbers(Set.of("001"))
-                .build();
+        var expectedApplication = new DrugApplicationRecordDto(applicationNumber, "TARO", "LORATADINE", Set.of("001"));
 
-        when(repository.findById(applicationNumber)).thenReturn(Optional.of(expectedApplication));
+        when(repository.findDrugApplicationRecordDtoById(applicationNumber)).thenReturn(Optional.of(expectedApplication));
 
         // Act
-        Optional<DrugApplicationRecord> actualApplication = service.getDrugApplicationById(applicationNumber);
+        Optional<DrugApplicationRecordDto> actualApplication = service.getDrugApplicationById(applicationNumber);
 
         // Assert
-        assertThat(actualApplication).isPresent();
-        assertThat(actualApplication.get()).isEqualTo(expectedApplication);
-        verify(repository).findById(applicationNumber);
+        assertThat(actualApplication).contains(expectedApplication);
+        verify(repository).findDrugApplicationRecordDtoById(applicationNumber);
     }
 
     @Test
     void getDrugApplicationById_WithNonExistentId_ShouldReturnEmpty() {
         // Arrange
         String applicationNumber = "NONEXISTENT";
-        when(repository.findById(applicationNumber)).thenReturn(Optional.empty());
+        when(repository.findDrugApplicationRecordDtoById(applicationNumber)).thenReturn(Optional.empty());
 
         // Act
-        Optional<DrugApplicationRecord> actualApplication = service.getDrugApplicationById(applicationNumber);
+        Optional<DrugApplicationRecordDto> actualApplication = service.getDrugApplicationById(applicationNumber);
 
         // Assert
         assertThat(actualApplication).isEmpty();
-        verify(repository).findById(applicationNumber);
+        verify(repository).findDrugApplicationRecordDtoById(applicationNumber);
+    }
+
+    @Test
+    void getDrugApplicationValidator_ShouldReturnValidatorOfVersion() {
+        // Arrange
+        var lastModified = Instant.parse("2025-03-01T10:15:30Z");
+        when(repository.findVersionByApplicationNumber("ANDA076805"))
+                .thenReturn(Optional.of(new DrugApplicationRecordVersion("ANDA076805", 3, lastModified)));
+
+        // Act
+        var validator = service.getDrugApplicationValidator("ANDA076805");
+
+        // Assert
+        assertThat(validator).contains(new ResourceValidator("\"3-1740824130000\"", lastModified));
+        verify(repository, never()).findDrugApplicationRecordDtoById(anyString());
+    }
+
+    @Test
+    void getDrugApplicationRecordsValidator_ShouldReturnValidatorOfPage() {
+        // Arrange
+        var lastModified = Instant.parse("2025-03-01T10:15:30Z");
+        var pageable = PageRequest.of(0, 10);
+        var versions = List.of(new DrugApplicationRecordVersion("ANDA076805", 3, lastModified));
+
+        when(repository.findLatestLastModified()).thenReturn(Optional.of(lastModified));
+        when(repository.findVersionsOrderedByApplicationNumber(pageable)).thenReturn(versions);
+        when(repository.count()).thenReturn(1L);
+
+        // Act
+        var validator = service.getDrugApplicationRecordsValidator(pageable);
+
+        // Assert
+        assertThat(validator).contains(ResourceValidator.ofPage(pageable, versions, 1, lastModified));
+        verify(repository, never()).findAllDrugApplicationRecordDtos(any());
+    }
+
+    @Test
+    void getDrugApplicationRecordsValidator_WithoutRecords_ShouldReturnEmpty() {
+        // Arrange
+        when(repository.findLatestLastModified()).thenReturn(Optional.empty());
+
+        // Act
+        var validator = service.getDrugApplicationRecordsValidator(PageRequest.of(0, 10));
+
+        // Assert
+        assertThat(validator).isEmpty();
+    }
+
+    private DrugApplicationRecordsService createService(SearchMode searchMode, UpsertMode upsertMode) {
+        return new DrugApplicationRecordsService(
+                repository, fanOutService, batchSearchService, localIndex, responseCache, searchMode,
+                transactionManager, upsertMode);
     }
-}
\ No newline at end of file
+}
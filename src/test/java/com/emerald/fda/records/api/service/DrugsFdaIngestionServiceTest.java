@@ -0,0 +1,177 @@
+package com.emerald.fda.records.api.service;
+
+import com.emerald.fda.records.api.config.HibernateCacheConfig;
+import com.emerald.fda.records.api.dto.response.DrugApplicationRecordDto;
+import com.emerald.fda.records.api.repository.DrugApplicationRecordRepository;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({DrugsFdaIngestionService.class, DrugsFdaFileReader.class, HibernateCacheConfig.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@TestPropertySource(properties = "openfda.ingest.chunk-size=2")
+class DrugsFdaIngestionServiceTest {
+    private static final String DRUGSFDA_JSON = """
+            {
+              "meta": {"last_updated": "2025-03-18", "results": {"skip": 0, "limit": 4, "total": 4}},
+              "results": [
+                {
+                  "application_number": "ANDA076805",
+                  "sponsor_name": "TARO",
+                  "openfda": {"manufacturer_name": ["Taro Pharmaceuticals"], "substance_name": ["LORATADINE"]},
+                  "products": [{"product_number": "001"}, {"product_number": "002"}]
+                },
+                {
+                  "application_number": "NDA020702",
+                  "sponsor_name": "PFIZER",
+                  "submissions": [{"submission_type": "ORIG", "submission_number": "1"}],
+                  "products": [{"product_number": "001", "active_ingredients": [{"name": "ATORVASTATIN CALCIUM"}]}]
+                },
+                {
+                  "application_number": "ANDA090001",
+                  "sponsor_name": "UNKNOWN",
+                  "products": []
+                },
+                {
+                  "application_number": "BLA125057",
+                  "sponsor_name": "ABBVIE",
+                  "openfda": {"manufacturer_name": ["AbbVie Inc."], "substance_name": ["ADALIMUMAB"]},
+                  "products": [{"product_number": "001"}]
+                }
+              ]
+            }
+            """;
+
+    @Autowired
+    private DrugsFdaIngestionService ingestionService;
+
+    @MockitoBean
+    private DrugApplicationRecordResponseCache responseCache;
+
+    @Autowired
+    private DrugApplicationRecordRepository repository;
+
+    @TempDir
+    private Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        // tests running outside a transaction commit their records
+        repository.deleteAll();
+    }
+
+    @Test
+    void ingest_WithZippedFile_ShouldWriteMappedRecords() throws IOException {
+        // given
+        var file = writeZip(DRUGSFDA_JSON);
+
+        // when
+        var result = ingestionService.ingest(file);
+
+        // then
+        assertThat(result.recordsRead()).isEqualTo(4);
+        assertThat(result.recordsWritten()).isEqualTo(3);
+        assertThat(result.recordsSkipped()).isEqualTo(1);
+        assertThat(result.recordsPerSecond()).isPositive();
+
+        assertThat(repository.findById("ANDA076805")).isPresent().get().satisfies(record -> {
+            assertThat(record.getManufacturerName()).isEqualTo("Taro Pharmaceuticals");
+            assertThat(record.getSubstanceName()).isEqualTo("LORATADINE");
+            assertThat(record.getProductNumbers()).containsExactlyInAnyOrder("001", "002");
+        });
+        assertThat(repository.findById("NDA020702")).isPresent().get().satisfies(record -> {
+            assertThat(record.getManufacturerName()).isEqualTo("PFIZER");
+            assertThat(record.getSubstanceName()).isEqualTo("ATORVASTATIN CALCIUM");
+        });
+        assertThat(repository.findById("ANDA090001")).isEmpty();
+    }
+
+    @Test
+    void ingest_WhenRunTwice_ShouldBeIdempotent() throws IOException {
+        // given
+        var file = tempDir.resolve("drugsfda.json");
+        Files.writeString(file, DRUGSFDA_JSON);
+
+        // when
+        ingestionService.ingest(file);
+        var result = ingestionService.ingest(file);
+
+        // then
+        assertThat(result.recordsWritten()).isEqualTo(3);
+        assertThat(repository.count()).isEqualTo(3);
+        assertThat(repository.findById("ANDA076805")).isPresent().get()
+                .satisfies(record -> assertThat(record.getProductNumbers()).hasSize(2));
+        assertThat(repository.findVersionByApplicationNumber("ANDA076805")).isPresent().get()
+                .satisfies(version -> assertThat(version.version()).isZero());
+    }
+
+    @Test
+    void ingest_ShouldInvalidateCachedResponsesOfChangedRecordsOnly() throws IOException {
+        // given
+        var file = tempDir.resolve("drugsfda.json");
+        Files.writeString(file, DRUGSFDA_JSON);
+
+        // when
+        ingestionService.ingest(file);
+        ingestionService.ingest(file);
+
+        // then
+        verify(responseCache).invalidateAll(Set.of("ANDA076805", "NDA020702"));
+        verify(responseCache).invalidateAll(Set.of("BLA125057"));
+        verify(responseCache, times(2)).invalidateAll(Set.of());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void ingest_WhenChangedRecordIsCached_ShouldEvictItFromSecondLevelCache() throws IOException {
+        // given
+        var file = tempDir.resolve("drugsfda.json");
+        Files.writeString(file, DRUGSFDA_JSON);
+        ingestionService.ingest(file);
+        repository.findDrugApplicationRecordDtoById("BLA125057");
+
+        // when
+        Files.writeString(file, DRUGSFDA_JSON
+                .replace("AbbVie Inc.", "AbbVie Ltd.")
+                .replace("[{\"product_number\": \"001\"}]", "[{\"product_number\": \"001\"}, {\"product_number\": \"002\"}]"));
+        ingestionService.ingest(file);
+
+        // then
+        assertThat(repository.findDrugApplicationRecordDtoById("BLA125057")).contains(
+                new DrugApplicationRecordDto("BLA125057", "AbbVie Ltd.", "ADALIMUMAB", Set.of("001", "002")));
+    }
+
+    private Path writeZip(String json) throws IOException {
+        var file = tempDir.resolve("drug-drugsfda-0001-of-0001.json.zip");
+
+        try (var zip = new ZipOutputStream(Files.newOutputStream(file))) {
+            zip.putNextEntry(new ZipEntry("drug-drugsfda-0001-of-0001.json"));
+            zip.write(json.getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+
+        return file;
+    }
+}
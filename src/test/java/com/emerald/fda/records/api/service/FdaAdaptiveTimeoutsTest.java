@@ -0,0 +1,90 @@
+package com.emerald.fda.records.api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.core5.util.Timeout;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class FdaAdaptiveTimeoutsTest {
+    private static final URI SMALL_SEARCH = URI.create("https://api.fda.gov/drug/drugsfda.json?search=x&skip=0&limit=10");
+    private static final URI LARGE_SEARCH = URI.create("https://api.fda.gov/drug/drugsfda.json?search=x&skip=0&limit=1000");
+
+    private final RequestConfig baseRequestConfig = RequestConfig.custom()
+            .setConnectionRequestTimeout(Timeout.ofMilliseconds(1000))
+            .build();
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void requestConfig_BeforeEnoughCalls_ShouldUseMaxTimeout() {
+        // given
+        var adaptiveTimeouts = createAdaptiveTimeouts(true);
+
+        // when
+        var requestConfig = adaptiveTimeouts.requestConfig(SMALL_SEARCH);
+
+        // then
+        assertThat(requestConfig.getResponseTimeout().toMilliseconds()).isEqualTo(10000);
+        assertThat(requestConfig.getConnectionRequestTimeout()).isEqualTo(Timeout.ofMilliseconds(1000));
+    }
+
+    @Test
+    void requestConfig_AfterRecordedCalls_ShouldAdaptTimeoutPerSizeClass() {
+        // given
+        var adaptiveTimeouts = createAdaptiveTimeouts(true);
+
+        // when
+        IntStream.range(0, 100).forEach(i -> {
+            adaptiveTimeouts.record(SMALL_SEARCH, TimeUnit.MILLISECONDS.toNanos(100));
+            adaptiveTimeouts.record(LARGE_SEARCH, TimeUnit.MILLISECONDS.toNanos(900));
+        });
+
+        // then
+        assertThat(adaptiveTimeouts.requestConfig(SMALL_SEARCH).getResponseTimeout().toMilliseconds()).isEqualTo(1000);
+        assertThat(adaptiveTimeouts.requestConfig(LARGE_SEARCH).getResponseTimeout().toMilliseconds()).isEqualTo(2700);
+        assertThat(meterRegistry.get("openfda.timeout").tag("size", "limit>500").timeGauge()
+                .value(TimeUnit.MILLISECONDS)).isEqualTo(2700);
+        assertThat(meterRegistry.get("openfda.timeout").tag("size", "limit<=500").timeGauge()
+                .value(TimeUnit.MILLISECONDS)).isEqualTo(10000);
+    }
+
+    @Test
+    void requestConfig_WithSlowOutliers_ShouldCapTimeout() {
+        // given
+        var adaptiveTimeouts = createAdaptiveTimeouts(true);
+
+        // when
+        IntStream.range(0, 100).forEach(i -> adaptiveTimeouts.record(LARGE_SEARCH, TimeUnit.SECONDS.toNanos(8)));
+
+        // then
+        assertThat(adaptiveTimeouts.requestConfig(LARGE_SEARCH).getResponseTimeout().toMilliseconds()).isEqualTo(10000);
+    }
+
+    @Test
+    void requestConfig_WhenDisabled_ShouldUseBaseConfig() {
+        // given
+        var adaptiveTimeouts = createAdaptiveTimeouts(false);
+
+        // when
+        IntStream.range(0, 100).forEach(i -> adaptiveTimeouts.record(SMALL_SEARCH, TimeUnit.MILLISECONDS.toNanos(100)));
+
+        // then
+        assertThat(adaptiveTimeouts.requestConfig(SMALL_SEARCH)).isSameAs(baseRequestConfig);
+    }
+
+    private FdaAdaptiveTimeouts createAdaptiveTimeouts(boolean enabled) {
+        return new FdaAdaptiveTimeouts(enabled, new int[]{100, 500}, 0.99, 3, Duration.ofSeconds(1),
+                Duration.ofSeconds(10), 200, baseRequestConfig, meterRegistry);
+    }
+}
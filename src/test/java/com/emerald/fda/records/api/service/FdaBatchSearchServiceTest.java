@@ -0,0 +1,225 @@
+package com.emerald.fda.records.api.service;
+
+import com.emerald.fda.records.api.dto.fda.DrugApplicationResultDto;
+import com.emerald.fda.records.api.dto.fda.FdaResponseDto;
+import com.emerald.fda.records.api.dto.fda.MetaDto;
+import com.emerald.fda.records.api.dto.fda.OpenFdaDto;
+import com.emerald.fda.records.api.dto.fda.ResultsMetaDto;
+import com.emerald.fda.records.api.dto.request.SearchCriteriaDto;
+import com.emerald.fda.records.api.dto.response.BatchSearchItemResultDto;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.hibernate.service.spi.ServiceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.util.UriUtils;
+
+@ExtendWith(MockitoExtension.class)
+class FdaBatchSearchServiceTest {
+    private static final int CHUNK_LIMIT = 100;
+    private static final int MAX_QUERY_LENGTH = 400;
+
+    @Mock
+    private FdaClientService fdaClientService;
+
+    private FdaBatchSearchService batchSearchService;
+
+    @BeforeEach
+    void setUp() {
+        batchSearchService = new FdaBatchSearchService(fdaClientService, CHUNK_LIMIT, MAX_QUERY_LENGTH);
+        when(fdaClientService.buildSearchKey(anyString(), any(), anyInt(), anyInt())).thenAnswer(invocation ->
+                new FdaSearchKey(query(invocation.getArgument(0), invocation.getArgument(1)),
+                        invocation.getArgument(2), invocation.getArgument(3)));
+    }
+
+    @Test
+    void searchDrugApplicationRecords_ShouldCombineCriteriaIntoOneQueryAndSplitResults() {
+        // given
+        var taroResult = result("ANDA000001", "Taro Pharmaceuticals", "LORATADINE");
+        var pfizerResult = result("NDA000002", "Pfizer Laboratories", "LIPITOR");
+        var otherPfizerResult = result("NDA000003", "Pfizer Laboratories", "ZOLOFT");
+        var combinedQuery = "(" + query("TARO", null) + ") OR (" + query("PFIZER", "LIPITOR") + ")";
+
+        when(fdaClientService.searchDrugApplicationRecordsAsync(
+                new FdaSearchKey(combinedQuery, 0, CHUNK_LIMIT), FdaCallPriority.BULK))
+                .thenReturn(CompletableFuture.completedFuture(response(3, taroResult, pfizerResult, otherPfizerResult)));
+
+        // when
+        var response = batchSearchService.searchDrugApplicationRecords(
+                List.of(new SearchCriteriaDto("TARO", null), new SearchCriteriaDto("PFIZER", "LIPITOR")), 10);
+
+        // then
+        assertThat(response.items()).containsExactly(
+                new BatchSearchItemResultDto(0, "TARO", null, 1, List.of(taroResult)),
+                new BatchSearchItemResultDto(1, "PFIZER", "LIPITOR", 1, List.of(pfizerResult)));
+        verify(fdaClientService, times(1)).searchDrugApplicationRecordsAsync(
+                any(FdaSearchKey.class), eq(FdaCallPriority.BULK));
+    }
+
+    @Test
+    void searchDrugApplicationRecords_WithMoreMatchesThanLimit_ShouldReportTotalOfAllMatches() {
+        // given
+        var taroResults = IntStream.range(0, 5)
+                .mapToObj(i -> result("ANDA00000" + i, "TARO", "LORATADINE"))
+                .toList();
+        var pfizerResult = result("NDA000010", "PFIZER", "LIPITOR");
+        var results = new ArrayList<>(taroResults);
+        results.add(pfizerResult);
+        var combinedQuery = "(" + query("TARO", null) + ") OR (" + query("PFIZER", null) + ")";
+
+        when(fdaClientService.searchDrugApplicationRecordsAsync(
+                new FdaSearchKey(combinedQuery, 0, CHUNK_LIMIT), FdaCallPriority.BULK))
+                .thenReturn(CompletableFuture.completedFuture(
+                        response(results.size(), results.toArray(DrugApplicationResultDto[]::new))));
+
+        // when
+        var response = batchSearchService.searchDrugApplicationRecords(
+                List.of(new SearchCriteriaDto("TARO", null), new SearchCriteriaDto("PFIZER", null)), 2);
+
+        // then
+        assertThat(response.items()).containsExactly(
+                new BatchSearchItemResultDto(0, "TARO", null, 5, taroResults.subList(0, 2)),
+                new BatchSearchItemResultDto(1, "PFIZER", null, 1, List.of(pfizerResult)));
+        verify(fdaClientService, times(1)).searchDrugApplicationRecordsAsync(
+                any(FdaSearchKey.class), eq(FdaCallPriority.BULK));
+    }
+
+    @Test
+    void searchDrugApplicationRecords_WithDuplicateCriteria_ShouldSearchOnceAndAnswerEach() {
+        // given
+        var taroResult = result("ANDA000001", "TARO", "LORATADINE");
+        when(fdaClientService.searchDrugApplicationRecordsAsync(
+                new FdaSearchKey(query("TARO", null), 0, 10), FdaCallPriority.BULK))
+                .thenReturn(CompletableFuture.completedFuture(response(1, taroResult)));
+
+        // when
+        var response = batchSearchService.searchDrugApplicationRecords(
+                List.of(new SearchCriteriaDto("TARO", null), new SearchCriteriaDto("TARO", null)), 10);
+
+        // then
+        assertThat(response.items()).containsExactly(
+                new BatchSearchItemResultDto(0, "TARO", null, 1, List.of(taroResult)),
+                new BatchSearchItemResultDto(1, "TARO", null, 1, List.of(taroResult)));
+        verify(fdaClientService, times(1)).searchDrugApplicationRecordsAsync(
+                any(FdaSearchKey.class), eq(FdaCallPriority.BULK));
+    }
+
+    @Test
+    void searchDrugApplicationRecords_ShouldKeepEachCombinedQueryWithinMaxLength() {
+        // given
+        var criteria = IntStream.range(0, 50)
+                .mapToObj(i -> new SearchCriteriaDto("MANUFACTURER " + i, null))
+                .toList();
+        var searchedKeys = new ArrayList<FdaSearchKey>();
+
+        when(fdaClientService.searchDrugApplicationRecordsAsync(
+                any(FdaSearchKey.class), eq(FdaCallPriority.BULK))).thenAnswer(invocation -> {
+            searchedKeys.add(invocation.getArgument(0));
+            return CompletableFuture.completedFuture(response(0));
+        });
+
+        // when
+        var response = batchSearchService.searchDrugApplicationRecords(criteria, 10);
+
+        // then
+        assertThat(response.items()).hasSize(50).allSatisfy(item -> assertThat(item.results()).isEmpty());
+        assertThat(searchedKeys).hasSizeBetween(2, 49).allSatisfy(key -> assertThat(
+                UriUtils.encodeQueryParam(key.query(), StandardCharsets.UTF_8))
+                .hasSizeLessThanOrEqualTo(MAX_QUERY_LENGTH));
+        assertThat(searchedKeys.stream().mapToLong(key -> key.query().split(" OR ").length).sum()).isEqualTo(50);
+    }
+
+    @Test
+    void searchDrugApplicationRecords_WithTruncatedCombinedResults_ShouldSearchEachCriteria() {
+        // given
+        var taroResult = result("ANDA000001", "TARO", "LORATADINE");
+        var combinedQuery = "(" + query("TARO", null) + ") OR (" + query("PFIZER", null) + ")";
+
+        when(fdaClientService.searchDrugApplicationRecordsAsync(
+                new FdaSearchKey(combinedQuery, 0, CHUNK_LIMIT), FdaCallPriority.BULK))
+                .thenReturn(CompletableFuture.completedFuture(response(CHUNK_LIMIT + 1, taroResult)));
+        when(fdaClientService.searchDrugApplicationRecordsAsync(
+                new FdaSearchKey(query("TARO", null), 0, 10), FdaCallPriority.BULK))
+                .thenReturn(CompletableFuture.completedFuture(response(1, taroResult)));
+        when(fdaClientService.searchDrugApplicationRecordsAsync(
+                new FdaSearchKey(query("PFIZER", null), 0, 10), FdaCallPriority.BULK))
+                .thenReturn(CompletableFuture.completedFuture(response(250, result("NDA000002", "PFIZER", "LIPITOR"))));
+
+        // when
+        var response = batchSearchService.searchDrugApplicationRecords(
+                List.of(new SearchCriteriaDto("TARO", null), new SearchCriteriaDto("PFIZER", null)), 10);
+
+        // then
+        assertThat(response.items()).extracting(BatchSearchItemResultDto::total).containsExactly(1, 250);
+    }
+
+    @Test
+    void searchDrugApplicationRecords_WithNoMatches_ShouldReturnEmptyResults() {
+        // given
+        var notFound = HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null);
+        when(fdaClientService.searchDrugApplicationRecordsAsync(any(FdaSearchKey.class), eq(FdaCallPriority.BULK)))
+                .thenReturn(CompletableFuture.failedFuture(new ServiceException("Failed", notFound)));
+
+        // when
+        var response = batchSearchService.searchDrugApplicationRecords(
+                List.of(new SearchCriteriaDto("UNKNOWN", null), new SearchCriteriaDto("MISSING", null)), 10);
+
+        // then
+        assertThat(response.items()).containsExactly(
+                new BatchSearchItemResultDto(0, "UNKNOWN", null, 0, List.of()),
+                new BatchSearchItemResultDto(1, "MISSING", null, 0, List.of()));
+    }
+
+    @Test
+    void searchDrugApplicationRecords_WithFdaApiError_ShouldThrow() {
+        // given
+        var serverError = HttpServerErrorException.create(HttpStatus.BAD_GATEWAY, "Bad Gateway", null, null, null);
+        when(fdaClientService.searchDrugApplicationRecordsAsync(any(FdaSearchKey.class), eq(FdaCallPriority.BULK)))
+                .thenReturn(CompletableFuture.failedFuture(new ServiceException("Failed", serverError)));
+
+        // when & then
+        assertThatThrownBy(() -> batchSearchService.searchDrugApplicationRecords(
+                List.of(new SearchCriteriaDto("TARO", null), new SearchCriteriaDto("PFIZER", null)), 10))
+                .isInstanceOf(ServiceException.class)
+                .hasCause(serverError);
+    }
+
+    private static String query(String manufacturerName, String brandName) {
+        return "openfda.manufacturer_name:\"" + manufacturerName + "\""
+                + (brandName != null ? " AND openfda.brand_name:\"" + brandName + "\"" : "");
+    }
+
+    private static DrugApplicationResultDto result(String applicationNumber, String manufacturerName, String brandName) {
+        return new DrugApplicationResultDto(
+                null,
+                applicationNumber,
+                manufacturerName,
+                new OpenFdaDto(null, List.of(brandName), null, List.of(manufacturerName),
+                        null, null, null, null, null, null, null, null, null),
+                null);
+    }
+
+    private static FdaResponseDto response(int total, DrugApplicationResultDto... results) {
+        return new FdaResponseDto(
+                new MetaDto(null, null, null, "2025-01-01", new ResultsMetaDto(0, CHUNK_LIMIT, total)),
+                List.of(results));
+    }
+}
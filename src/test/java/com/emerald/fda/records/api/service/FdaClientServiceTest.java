@@ -4,35 +4,104 @@ import com.emerald.fda.records.api.dto.fda.DrugApplicationResultDto;
 import com.emerald.fda.records.api.dto.fda.FdaResponseDto;
 import com.emerald.fda.records.api.dto.fda.MetaDto;
 import com.emerald.fda.records.api.dto.fda.ResultsMetaDto;
+import com.emerald.fda.records.api.exception.FdaApiTimeoutException;
+import com.emerald.fda.records.api.exception.FdaRateLimitExceededException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.net.SocketException;
+import java.net.URI;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.hibernate.service.spi.ServiceException;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.Captor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
 @ExtendWith(MockitoExtension.class)
 class FdaClientServiceTest {
+    private static final Duration ASYNC_TIMEOUT = Duration.ofSeconds(1);
+
+    private static final String RESPONSE_JSON = """
+            {"meta": {"results": {"skip": 0, "limit": 10, "total": 1}},
+             "results": [{"application_number": "ANDA076805", "sponsor_name": "TARO"}]}
+            """;
 
     @Mock
     private RestTemplate restTemplate;
 
-    @InjectMocks
+    @Mock
+    private CloseableHttpAsyncClient asyncHttpClient;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
     private FdaClientService fdaClientService;
 
+    private SimpleMeterRegistry meterRegistry;
+
+    private CircuitBreaker circuitBreaker;
+
+    private Bulkhead bulkhead;
+    private Bulkhead asyncBulkhead;
+
+    private FdaRateLimiter rateLimiter;
+
+    private FdaRequestHedger hedger;
+
+    private FdaRetryPolicy retryPolicy;
+
+    private FdaAdaptiveTimeouts adaptiveTimeouts;
+
     @Captor
     private ArgumentCaptor<String> urlCaptor;
 
@@ -40,7 +109,18 @@ class FdaClientServiceTest {
 
     @BeforeEach
     void setUp() {
-        ReflectionTestUtils.setField(fdaClientService, "openFdaBaseUrl", baseUrl);
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = CircuitBreaker.ofDefaults("openfda");
+        bulkhead = Bulkhead.ofDefaults("openfda");
+        asyncBulkhead = Bulkhead.ofDefaults("openfda-async");
+        rateLimiter = new FdaRateLimiter(false, 240, 10, 120000, 10000, 100, meterRegistry);
+        hedger = new FdaRequestHedger(false, 0.95, Duration.ofMillis(50), Duration.ofMillis(500), 100, 0.1, 10,
+                meterRegistry);
+        retryPolicy = new FdaRetryPolicy(1, Duration.ofMillis(1), 2, Duration.ofMillis(10), 0.5, 0.1, 10,
+                meterRegistry);
+        adaptiveTimeouts = new FdaAdaptiveTimeouts(true, new int[]{100, 500}, 0.99, 3, Duration.ofSeconds(1),
+                Duration.ofSeconds(10), 200, RequestConfig.DEFAULT, meterRegistry);
+        fdaClientService = createService(true);
     }
 
     @Test
@@ -88,4 +168,459 @@ class FdaClientServiceTest {
         assertThat(decodedUrl).contains("search=openfda.manufacturer_name:\"TARO\"");
         assertThat(decodedUrl).doesNotContain("AND openfda.brand_name");
     }
-}
\ No newline at end of file
+
+    @Test
+    void searchDrugApplicationRecords_WithRepeatedSearch_ShouldServeFromCache() {
+        // given
+        var expectedResponse = new FdaResponseDto(
+                new MetaDto(null, null, null, null, new ResultsMetaDto(0, 10, 1)),
+                List.of(new DrugApplicationResultDto(null, "ANDA076805", "TARO", null, null))
+        );
+
+        when(restTemplate.getForObject(anyString(), eq(FdaResponseDto.class)))
+                .thenReturn(expectedResponse);
+
+        // when
+        var firstResponse = fdaClientService.searchDrugApplicationRecords("TARO", "LORATADINE", 0, 10);
+        var secondResponse = fdaClientService.searchDrugApplicationRecords(" taro ", "loratadine", 0, 10);
+
+        // then
+        assertThat(firstResponse).isEqualTo(expectedResponse);
+        assertThat(secondResponse).isSameAs(firstResponse);
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(FdaResponseDto.class));
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "openfda.search").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "openfda.search").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void searchDrugApplicationRecords_WithDifferentPage_ShouldNotShareCacheEntry() {
+        // given
+        when(restTemplate.getForObject(anyString(), eq(FdaResponseDto.class)))
+                .thenReturn(new FdaResponseDto(null, List.of()));
+
+        // when
+        fdaClientService.searchDrugApplicationRecords("TARO", null, 0, 10);
+        fdaClientService.searchDrugApplicationRecords("TARO", null, 10, 10);
+        fdaClientService.searchDrugApplicationRecords("TARO", null, 0, 20);
+
+        // then
+        verify(restTemplate, times(3)).getForObject(anyString(), eq(FdaResponseDto.class));
+    }
+
+    @Test
+    void searchDrugApplicationRecords_WithCacheDisabled_ShouldAlwaysCallFdaApi() {
+        // given
+        fdaClientService = createService(false);
+
+        when(restTemplate.getForObject(anyString(), eq(FdaResponseDto.class)))
+                .thenReturn(new FdaResponseDto(null, List.of()));
+
+        // when
+        fdaClientService.searchDrugApplicationRecords("TARO", null, 0, 10);
+        fdaClientService.searchDrugApplicationRecords("TARO", null, 0, 10);
+
+        // then
+        verify(restTemplate, times(2)).getForObject(anyString(), eq(FdaResponseDto.class));
+    }
+
+    @Test
+    void searchDrugApplicationRecords_WithConcurrentIdenticalSearches_ShouldShareOneCall() throws Exception {
+        // given
+        int callers = 20;
+        var release = new CountDownLatch(1);
+        var expectedResponse = new FdaResponseDto(null, List.of());
+
+        fdaClientService = createService(false);
+
+        when(restTemplate.getForObject(anyString(), eq(FdaResponseDto.class))).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return expectedResponse;
+        });
+
+        // when
+        var responses = new ArrayList<CompletableFuture<FdaResponseDto>>();
+        try (var executor = Executors.newFixedThreadPool(callers)) {
+            for (int i = 0; i < callers; i++) {
+                responses.add(CompletableFuture.supplyAsync(
+                        () -> fdaClientService.searchDrugApplicationRecords("TARO", null, 0, 10), executor));
+            }
+
+            var coalesced = meterRegistry.get("openfda.search.coalesced").counter();
+            await().atMost(5, TimeUnit.SECONDS).until(() -> coalesced.count() == callers - 1);
+            release.countDown();
+
+            // then
+            for (var response : responses) {
+                assertThat(response.get(5, TimeUnit.SECONDS)).isSameAs(expectedResponse);
+            }
+        }
+
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(FdaResponseDto.class));
+    }
+
+    @Test
+    void searchDrugApplicationRecordsAsync_ShouldCallFdaApiWithoutBlockingAndCacheResponse() throws Exception {
+        // given
+        var requestCaptor = ArgumentCaptor.forClass(SimpleHttpRequest.class);
+        answerAsync(SimpleHttpResponse.create(200, RESPONSE_JSON, ContentType.APPLICATION_JSON));
+
+        // when
+        var response = fdaClientService.searchDrugApplicationRecordsAsync("TARO", "LORATADINE", 0, 10)
+                .get(5, TimeUnit.SECONDS);
+        var cachedResponse = fdaClientService.searchDrugApplicationRecords("taro", "loratadine", 0, 10);
+
+        // then
+        assertThat(response.results()).singleElement()
+                .satisfies(result -> assertThat(result.application_number()).isEqualTo("ANDA076805"));
+        assertThat(cachedResponse).isSameAs(response);
+        verify(restTemplate, never()).getForObject(anyString(), eq(FdaResponseDto.class));
+
+        verify(asyncHttpClient).execute(requestCaptor.capture(), any());
+        String decodedUrl = URLDecoder.decode(requestCaptor.getValue().getRequestUri(), StandardCharsets.UTF_8);
+        assertThat(decodedUrl).contains("search=openfda.manufacturer_name:\"TARO\" AND openfda.brand_name:\"LORATADINE\"");
+        assertThat(decodedUrl).contains("skip=0");
+        assertThat(decodedUrl).contains("limit=10");
+    }
+
+    @Test
+    void searchDrugApplicationRecordsAsync_WithGzipResponse_ShouldDecompressBody() throws Exception {
+        // given
+        var compressed = new ByteArrayOutputStream();
+        try (var gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(RESPONSE_JSON.getBytes(StandardCharsets.UTF_8));
+        }
+
+        var httpResponse = SimpleHttpResponse.create(200, compressed.toByteArray(), ContentType.APPLICATION_JSON);
+        httpResponse.addHeader("Content-Encoding", "gzip");
+        answerAsync(httpResponse);
+
+        // when
+        var response = fdaClientService.searchDrugApplicationRecordsAsync("TARO", null, 0, 10)
+                .get(5, TimeUnit.SECONDS);
+
+        // then
+        assertThat(response.results()).hasSize(1);
+        assertThat(meterRegistry.get("openfda.client.response.size").summary().totalAmount())
+                .isEqualTo(RESPONSE_JSON.getBytes(StandardCharsets.UTF_8).length);
+        assertThat(meterRegistry.get("openfda.client.deserialization").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void searchDrugApplicationRecordsAsync_WithErrorStatus_ShouldFailLikeSyncSearch() {
+        // given
+        answerAsync(SimpleHttpResponse.create(500, "{\"error\": \"down\"}", ContentType.APPLICATION_JSON));
+
+        // when
+        var response = fdaClientService.searchDrugApplicationRecordsAsync("TARO", null, 0, 10);
+
+        // then
+        assertThatThrownBy(() -> response.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .isInstanceOf(ServiceException.class)
+                .hasCauseInstanceOf(HttpServerErrorException.class);
+    }
+
+    @Test
+    void searchDrugApplicationRecordsAsync_WithSlowFdaApi_ShouldTimeOut() {
+        // given
+        // the callback is never invoked, as for an upstream that does not answer
+
+        // when
+        var response = fdaClientService.searchDrugApplicationRecordsAsync("TARO", null, 0, 10);
+
+        // then
+        assertThatThrownBy(() -> response.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .isInstanceOf(FdaApiTimeoutException.class)
+                .hasMessage("OpenFDA API did not respond within 1000 ms");
+    }
+
+    @Test
+    void searchDrugApplicationRecordsAsync_WithConcurrentIdenticalSearches_ShouldShareOneCall() throws Exception {
+        // given
+        var callback = ArgumentCaptor.<FutureCallback<SimpleHttpResponse>>captor();
+
+        // when
+        var first = fdaClientService.searchDrugApplicationRecordsAsync("TARO", null, 0, 10);
+        var second = fdaClientService.searchDrugApplicationRecordsAsync("TARO", null, 0, 10);
+
+        verify(asyncHttpClient).execute(any(SimpleHttpRequest.class), callback.capture());
+        callback.getValue().completed(SimpleHttpResponse.create(200, RESPONSE_JSON, ContentType.APPLICATION_JSON));
+
+        // then
+        assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(second.get(5, TimeUnit.SECONDS));
+        assertThat(meterRegistry.get("openfda.search.coalesced").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void searchDrugApplicationRecordsPage_ShouldReturnNextPageLink() {
+        // given
+        var expectedResponse = new FdaResponseDto(null, List.of());
+        String nextPageUrl = "https://api.fda.gov/drug/drugsfda.json?search=x&limit=1000&skip=0&search_after=0%3DNDA000001";
+        var headers = new HttpHeaders();
+        headers.add(HttpHeaders.LINK, "<" + nextPageUrl + ">; rel=\"Next\"");
+
+        when(restTemplate.getForEntity(any(URI.class), eq(FdaResponseDto.class)))
+                .thenReturn(new ResponseEntity<>(expectedResponse, headers, HttpStatus.OK));
+        when(restTemplate.getForEntity(URI.create(nextPageUrl), FdaResponseDto.class))
+                .thenReturn(ResponseEntity.ok(expectedResponse));
+
+        // when
+        var page = fdaClientService.searchDrugApplicationRecordsPage("TARO", null, 25000, 1000);
+        var nextPage = fdaClientService.searchNextDrugApplicationRecordsPage(page.nextPageUrl());
+
+        // then
+        assertThat(page.response()).isSameAs(expectedResponse);
+        assertThat(page.nextPageUrl()).isEqualTo(nextPageUrl);
+        assertThat(nextPage.nextPageUrl()).isNull();
+        verify(restTemplate, never()).getForObject(anyString(), eq(FdaResponseDto.class));
+    }
+
+    @Test
+    void searchDrugApplicationRecords_WithOpenCircuit_ShouldServeLastKnownResponseAsStale() {
+        // given
+        fdaClientService = createService(false);
+        var lastKnownResponse = new FdaResponseDto(
+                new MetaDto(null, null, null, "2025-01-01", new ResultsMetaDto(0, 10, 1)),
+                List.of(new DrugApplicationResultDto(null, "ANDA076805", "TARO", null, null)));
+
+        when(restTemplate.getForObject(anyString(), eq(FdaResponseDto.class))).thenReturn(lastKnownResponse);
+        fdaClientService.searchDrugApplicationRecords("TARO", null, 0, 10);
+        circuitBreaker.transitionToOpenState();
+
+        // when
+        var response = fdaClientService.searchDrugApplicationRecords("TARO", null, 0, 10);
+
+        // then
+        assertThat(response.results()).isEqualTo(lastKnownResponse.results());
+        assertThat(response.meta().stale()).isTrue();
+        assertThat(response.meta().last_updated()).isEqualTo("2025-01-01");
+        assertThat(lastKnownResponse.meta().stale()).isNull();
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(FdaResponseDto.class));
+        assertThat(meterRegistry.get("openfda.search.stale").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void searchDrugApplicationRecords_WithOpenCircuitAndNoLastKnownResponse_ShouldFailFast() {
+        // given
+        circuitBreaker.transitionToOpenState();
+
+        // when & then
+        assertThatThrownBy(() -> fdaClientService.searchDrugApplicationRecords("TARO", null, 0, 10))
+                .isInstanceOf(CallNotPermittedException.class);
+        verify(restTemplate, never()).getForObject(anyString(), eq(FdaResponseDto.class));
+    }
+
+    @Test
+    void searchDrugApplicationRecords_WithRepeatedFailures_ShouldOpenCircuit() {
+        // given
+        circuitBreaker = CircuitBreaker.of("openfda", CircuitBreakerConfig.custom()
+                .slidingWindowSize(2)
+                .minimumNumberOfCalls(2)
+                .build());
+        fdaClientService = createService(true);
+
+        when(restTemplate.getForObject(anyString(), eq(FdaResponseDto.class)))
+                .thenThrow(HttpServerErrorException.create(HttpStatus.BAD_GATEWAY, "Bad Gateway", null, null, null));
+
+        // when
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> fdaClientService.searchDrugApplicationRecords("TARO", null, 0, 10))
+                    .isInstanceOf(ServiceException.class);
+        }
+
+        // then
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> fdaClientService.searchDrugApplicationRecords("TARO", null, 0, 10))
+                .isInstanceOf(CallNotPermittedException.class);
+        verify(restTemplate, times(2)).getForObject(anyString(), eq(FdaResponseDto.class));
+    }
+
+    @Test
+    void searchDrugApplicationRecords_WithFullBulkhead_ShouldRejectCall() {
+        // given
+        bulkhead = Bulkhead.of("openfda", BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        fdaClientService = createService(true);
+        bulkhead.acquirePermission();
+
+        // when & then
+        assertThatThrownBy(() -> fdaClientService.searchDrugApplicationRecords("TARO", null, 0, 10))
+                .isInstanceOf(BulkheadFullException.class);
+        verify(restTemplate, never()).getForObject(anyString(), eq(FdaResponseDto.class));
+    }
+
+    @Test
+    void searchDrugApplicationRecords_WithRateLimiterQueueFull_ShouldRejectWithoutCallingFdaApi() {
+        // given
+        rateLimiter = new FdaRateLimiter(true, 1, 1, 120000, 10000, 0, meterRegistry);
+        fdaClientService = createService(true);
+
+        when(restTemplate.getForObject(anyString(), eq(FdaResponseDto.class)))
+                .thenReturn(new FdaResponseDto(null, List.of()));
+        fdaClientService.searchDrugApplicationRecords("TARO", null, 0, 10);
+
+        // when & then
+        assertThatThrownBy(() -> fdaClientService.searchDrugApplicationRecords("PFIZER", null, 0, 10))
+                .isInstanceOf(FdaRateLimitExceededException.class)
+                .extracting(ex -> ((FdaRateLimitExceededException) ex).getRetryAfter())
+                .isEqualTo(Duration.ofSeconds(60));
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(FdaResponseDto.class));
+    }
+
+    @Test
+    void searchDrugApplicationRecordsAsync_WithFullBulkhead_ShouldRejectWithoutWaiting() {
+        // given
+        asyncBulkhead = Bulkhead.of("openfda-async", BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        fdaClientService = createService(false);
+        asyncBulkhead.acquirePermission();
+
+        // when
+        var response = fdaClientService.searchDrugApplicationRecordsAsync("TARO", null, 0, 10);
+
+        // then
+        assertThat(response).isCompletedExceptionally();
+        assertThatThrownBy(() -> response.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(BulkheadFullException.class);
+        verify(asyncHttpClient, never()).execute(any(SimpleHttpRequest.class), any());
+    }
+
+    @Test
+    void searchDrugApplicationRecordsAsync_WithOpenCircuit_ShouldServeLastKnownResponseAsStale() throws Exception {
+        // given
+        fdaClientService = createService(false);
+        answerAsync(SimpleHttpResponse.create(200, RESPONSE_JSON, ContentType.APPLICATION_JSON));
+        fdaClientService.searchDrugApplicationRecordsAsync("TARO", null, 0, 10).get(5, TimeUnit.SECONDS);
+        circuitBreaker.transitionToOpenState();
+
+        // when
+        var response = fdaClientService.searchDrugApplicationRecordsAsync("TARO", null, 0, 10).get(5, TimeUnit.SECONDS);
+
+        // then
+        assertThat(response.meta().stale()).isTrue();
+        assertThat(response.results()).extracting(DrugApplicationResultDto::application_number)
+                .containsExactly("ANDA076805");
+        verify(asyncHttpClient, times(1)).execute(any(SimpleHttpRequest.class), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void searchDrugApplicationRecords_WithHedgingAndSlowFdaApi_ShouldAnswerWithHedgedCall() {
+        // given
+        hedger = new FdaRequestHedger(true, 0.95, Duration.ofMillis(20), Duration.ofMillis(20), 100, 0.1, 1,
+                meterRegistry);
+        fdaClientService = createService(false);
+
+        Future<SimpleHttpResponse> slowExchange = mock(Future.class);
+        var calls = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (calls.getAndIncrement() == 0) {
+                return slowExchange;
+            }
+            FutureCallback<SimpleHttpResponse> callback = invocation.getArgument(1);
+            callback.completed(SimpleHttpResponse.create(200, RESPONSE_JSON, ContentType.APPLICATION_JSON));
+            return null;
+        }).when(asyncHttpClient).execute(any(SimpleHttpRequest.class), any());
+
+        // when
+        var response = fdaClientService.searchDrugApplicationRecords("TARO", null, 0, 10);
+
+        // then
+        assertThat(response.results()).extracting(DrugApplicationResultDto::application_number)
+                .containsExactly("ANDA076805");
+        verify(slowExchange, timeout(1000)).cancel(true);
+        verify(restTemplate, never()).getForObject(anyString(), eq(FdaResponseDto.class));
+        assertThat(meterRegistry.get("openfda.hedge.fired").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("openfda.hedge.won").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void searchDrugApplicationRecords_WithTransientFailure_ShouldRetry() {
+        // given
+        retryPolicy = new FdaRetryPolicy(3, Duration.ofMillis(1), 2, Duration.ofMillis(10), 0.5, 0.1, 10,
+                meterRegistry);
+        fdaClientService = createService(false);
+        var expectedResponse = new FdaResponseDto(null, List.of());
+
+        when(restTemplate.getForObject(anyString(), eq(FdaResponseDto.class)))
+                .thenThrow(new ResourceAccessException("Connection reset", new SocketException("Connection reset")))
+                .thenReturn(expectedResponse);
+
+        // when
+        var response = fdaClientService.searchDrugApplicationRecords("TARO", null, 0, 10);
+
+        // then
+        assertThat(response).isEqualTo(expectedResponse);
+        verify(restTemplate, times(2)).getForObject(anyString(), eq(FdaResponseDto.class));
+        assertThat(meterRegistry.get("openfda.retry.attempts").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void searchDrugApplicationRecords_WithClientError_ShouldNotRetry() {
+        // given
+        retryPolicy = new FdaRetryPolicy(3, Duration.ofMillis(1), 2, Duration.ofMillis(10), 0.5, 0.1, 10,
+                meterRegistry);
+        fdaClientService = createService(false);
+
+        when(restTemplate.getForObject(anyString(), eq(FdaResponseDto.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.BAD_REQUEST, "Bad Request", null, null, null));
+
+        // when & then
+        assertThatThrownBy(() -> fdaClientService.searchDrugApplicationRecords("TARO", null, 0, 10))
+                .isInstanceOf(ServiceException.class)
+                .hasCauseInstanceOf(HttpClientErrorException.class);
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(FdaResponseDto.class));
+    }
+
+    @Test
+    void searchDrugApplicationRecordsAsync_WithServerError_ShouldRetryWithAdaptiveTimeout() throws Exception {
+        // given
+        retryPolicy = new FdaRetryPolicy(3, Duration.ofMillis(1), 2, Duration.ofMillis(10), 0.5, 0.1, 10,
+                meterRegistry);
+        fdaClientService = createService(false);
+        var requestCaptor = ArgumentCaptor.forClass(SimpleHttpRequest.class);
+        var calls = new AtomicInteger();
+
+        doAnswer(invocation -> {
+            FutureCallback<SimpleHttpResponse> callback = invocation.getArgument(1);
+            callback.completed(calls.getAndIncrement() == 0
+                    ? SimpleHttpResponse.create(503, "{}", ContentType.APPLICATION_JSON)
+                    : SimpleHttpResponse.create(200, RESPONSE_JSON, ContentType.APPLICATION_JSON));
+            return null;
+        }).when(asyncHttpClient).execute(requestCaptor.capture(), any());
+
+        // when
+        var response = fdaClientService.searchDrugApplicationRecordsAsync("TARO", null, 0, 1000)
+                .get(5, TimeUnit.SECONDS);
+
+        // then
+        assertThat(response.results()).hasSize(1);
+        assertThat(requestCaptor.getAllValues()).hasSize(2).allSatisfy(request ->
+                assertThat(request.getConfig().getResponseTimeout().toMilliseconds()).isEqualTo(10000));
+    }
+
+    private FdaClientService createService(boolean cacheEnabled) {
+        return new FdaClientService(restTemplate, asyncHttpClient, objectMapper, baseUrl,
+                cacheEnabled, 100, Duration.ofHours(24), Duration.ofHours(1), ASYNC_TIMEOUT,
+                circuitBreaker, bulkhead, asyncBulkhead, rateLimiter, hedger, retryPolicy, adaptiveTimeouts,
+                new FdaPayloadMetrics(meterRegistry), 100, ForkJoinPool.commonPool(), meterRegistry);
+    }
+
+    private void answerAsync(SimpleHttpResponse response) {
+        doAnswer(invocation -> {
+            FutureCallback<SimpleHttpResponse> callback = invocation.getArgument(1);
+            callback.completed(response);
+            return null;
+        }).when(asyncHttpClient).execute(any(SimpleHttpRequest.class), any());
+    }
+}
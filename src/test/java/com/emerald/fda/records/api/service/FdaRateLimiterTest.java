@@ -0,0 +1,117 @@
+package com.emerald.fda.records.api.service;
+
+import com.emerald.fda.records.api.exception.FdaRateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class FdaRateLimiterTest {
+    private SimpleMeterRegistry meterRegistry;
+
+    private FdaRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (rateLimiter != null) {
+            rateLimiter.shutdown();
+        }
+    }
+
+    @Test
+    void acquireAsync_WithinBurst_ShouldPermitImmediately() {
+        // given
+        rateLimiter = new FdaRateLimiter(true, 60, 3, 120000, 10000, 10, meterRegistry);
+
+        // when
+        var permits = IntStream.range(0, 3)
+                .mapToObj(i -> rateLimiter.acquireAsync(FdaCallPriority.INTERACTIVE))
+                .toList();
+
+        // then
+        assertThat(permits).allSatisfy(permit -> assertThat(permit).isCompleted());
+        assertThat(rateLimiter.acquireAsync(FdaCallPriority.INTERACTIVE)).isNotDone();
+    }
+
+    @Test
+    void acquireAsync_BeyondQuota_ShouldPermitQueuedCallsByPriorityThenArrival() throws Exception {
+        // given
+        rateLimiter = new FdaRateLimiter(true, 600, 1, 120000, 10000, 10, meterRegistry);
+        rateLimiter.acquire(FdaCallPriority.INTERACTIVE);
+        List<String> order = new CopyOnWriteArrayList<>();
+
+        // when
+        var permits = List.of(
+                rateLimiter.acquireAsync(FdaCallPriority.BACKGROUND).thenRun(() -> order.add("background")),
+                rateLimiter.acquireAsync(FdaCallPriority.BULK).thenRun(() -> order.add("bulk 1")),
+                rateLimiter.acquireAsync(FdaCallPriority.INTERACTIVE).thenRun(() -> order.add("interactive")),
+                rateLimiter.acquireAsync(FdaCallPriority.BULK).thenRun(() -> order.add("bulk 2")));
+
+        // then
+        CompletableFuture.allOf(permits.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+        assertThat(order).containsExactly("interactive", "bulk 1", "bulk 2", "background");
+        assertThat(meterRegistry.get("openfda.rate-limiter.wait").timer().count()).isEqualTo(4);
+    }
+
+    @Test
+    void acquireAsync_WithFullQueue_ShouldRejectWithRetryAfter() {
+        // given
+        rateLimiter = new FdaRateLimiter(true, 60, 1, 120000, 10000, 2, meterRegistry);
+        rateLimiter.acquire(FdaCallPriority.INTERACTIVE);
+        rateLimiter.acquireAsync(FdaCallPriority.INTERACTIVE);
+        rateLimiter.acquireAsync(FdaCallPriority.INTERACTIVE);
+
+        // when
+        var permit = rateLimiter.acquireAsync(FdaCallPriority.INTERACTIVE);
+
+        // then
+        assertThat(permit).isCompletedExceptionally();
+        assertThatThrownBy(() -> rateLimiter.acquire(FdaCallPriority.INTERACTIVE))
+                .isInstanceOf(FdaRateLimitExceededException.class)
+                .extracting(ex -> ((FdaRateLimitExceededException) ex).getRetryAfter())
+                .isEqualTo(Duration.ofSeconds(3));
+        assertThat(meterRegistry.get("openfda.rate-limiter.rejected").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("openfda.rate-limiter.queued").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void acquireAsync_WithFullQueue_ShouldDisplaceLatestCallOfLowerPriority() {
+        // given
+        rateLimiter = new FdaRateLimiter(true, 60, 1, 120000, 10000, 2, meterRegistry);
+        rateLimiter.acquire(FdaCallPriority.INTERACTIVE);
+        var firstBulk = rateLimiter.acquireAsync(FdaCallPriority.BULK);
+        var secondBulk = rateLimiter.acquireAsync(FdaCallPriority.BULK);
+
+        // when
+        var interactive = rateLimiter.acquireAsync(FdaCallPriority.INTERACTIVE);
+
+        // then
+        assertThat(interactive).isNotDone();
+        assertThat(firstBulk).isNotDone();
+        assertThat(secondBulk).isCompletedExceptionally();
+        assertThatThrownBy(secondBulk::join).hasCauseInstanceOf(FdaRateLimitExceededException.class);
+    }
+
+    @Test
+    void acquireAsync_WhenDisabled_ShouldAlwaysPermit() {
+        // given
+        rateLimiter = new FdaRateLimiter(false, 1, 1, 1, 1, 0, meterRegistry);
+
+        // when & then
+        IntStream.range(0, 100).forEach(i ->
+                assertThat(rateLimiter.acquireAsync(FdaCallPriority.BACKGROUND)).isCompleted());
+    }
+}
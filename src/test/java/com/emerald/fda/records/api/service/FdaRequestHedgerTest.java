@@ -0,0 +1,177 @@
+package com.emerald.fda.records.api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class FdaRequestHedgerTest {
+    private static final Duration HEDGE_DELAY = Duration.ofMillis(20);
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private FdaRequestHedger hedger;
+
+    private List<CompletableFuture<String>> attempts;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        attempts = new CopyOnWriteArrayList<>();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (hedger != null) {
+            hedger.shutdown();
+        }
+    }
+
+    @Test
+    void execute_WithSlowCall_ShouldAnswerWithHedgeAndCancelOriginalCall() throws Exception {
+        // given
+        hedger = createHedger(true, 10);
+
+        // when
+        var result = hedger.execute(call(), () -> true);
+        await().atMost(Duration.ofSeconds(1)).until(() -> attempts.size() == 2);
+        attempts.get(1).complete("hedge");
+
+        // then
+        assertThat(result.get(1, TimeUnit.SECONDS)).isEqualTo("hedge");
+        assertThat(attempts.getFirst()).isCancelled();
+        assertThat(meterRegistry.get("openfda.hedge.fired").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("openfda.hedge.won").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_WithCallAnsweringBeforeDelay_ShouldNotHedge() throws Exception {
+        // given
+        hedger = createHedger(true, 10);
+
+        // when
+        var result = hedger.execute(call(), () -> true);
+        attempts.getFirst().complete("original");
+        Thread.sleep(HEDGE_DELAY.multipliedBy(3).toMillis());
+
+        // then
+        assertThat(result.get(1, TimeUnit.SECONDS)).isEqualTo("original");
+        assertThat(attempts).hasSize(1);
+        assertThat(meterRegistry.get("openfda.hedge.fired").counter().count()).isZero();
+    }
+
+    @Test
+    void execute_WithOriginalCallFailingAfterHedge_ShouldWaitForHedge() throws Exception {
+        // given
+        hedger = createHedger(true, 10);
+
+        // when
+        var result = hedger.execute(call(), () -> true);
+        await().atMost(Duration.ofSeconds(1)).until(() -> attempts.size() == 2);
+        attempts.getFirst().completeExceptionally(new IllegalStateException("connection reset"));
+
+        // then
+        assertThat(result).isNotDone();
+        attempts.get(1).complete("hedge");
+        assertThat(result.get(1, TimeUnit.SECONDS)).isEqualTo("hedge");
+    }
+
+    @Test
+    void execute_WithEveryCallFailing_ShouldFailWithFirstFailure() {
+        // given
+        hedger = createHedger(true, 10);
+        var failure = new IllegalStateException("connection reset");
+
+        // when
+        var result = hedger.execute(call(), () -> true);
+        await().atMost(Duration.ofSeconds(1)).until(() -> attempts.size() == 2);
+        attempts.getFirst().completeExceptionally(failure);
+        attempts.get(1).completeExceptionally(new IllegalStateException("timeout"));
+
+        // then
+        assertThatThrownBy(() -> result.get(1, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCause(failure);
+    }
+
+    @Test
+    void execute_WithSpentBudget_ShouldNotHedge() throws Exception {
+        // given
+        hedger = createHedger(true, 0);
+
+        // when
+        var result = hedger.execute(call(), () -> true);
+        Thread.sleep(HEDGE_DELAY.multipliedBy(3).toMillis());
+
+        // then
+        assertThat(attempts).hasSize(1);
+        assertThat(result).isNotDone();
+        assertThat(meterRegistry.get("openfda.hedge.fired").counter().count()).isZero();
+    }
+
+    @Test
+    void execute_WithoutHedgePermit_ShouldNotHedge() throws Exception {
+        // given
+        hedger = createHedger(true, 10);
+
+        // when
+        hedger.execute(call(), () -> false);
+        Thread.sleep(HEDGE_DELAY.multipliedBy(3).toMillis());
+
+        // then
+        assertThat(attempts).hasSize(1);
+        assertThat(meterRegistry.get("openfda.hedge.fired").counter().count()).isZero();
+    }
+
+    @Test
+    void execute_AfterFastCalls_ShouldLowerHedgeDelayToRecentLatencies() {
+        // given
+        hedger = new FdaRequestHedger(true, 0.95, Duration.ofMillis(5), Duration.ofMillis(500), 100, 0.1, 10,
+                meterRegistry);
+        var hedgeDelay = meterRegistry.get("openfda.hedge.delay").timeGauge();
+        assertThat(hedgeDelay.value(TimeUnit.MILLISECONDS)).isEqualTo(500);
+
+        // when
+        for (int i = 0; i < 32; i++) {
+            hedger.execute(() -> CompletableFuture.completedFuture("original"), () -> true);
+        }
+
+        // then
+        assertThat(hedgeDelay.value(TimeUnit.MILLISECONDS)).isEqualTo(5);
+    }
+
+    @Test
+    void execute_WhenDisabled_ShouldCallOnce() throws Exception {
+        // given
+        hedger = createHedger(false, 10);
+
+        // when
+        hedger.execute(call(), () -> true);
+        Thread.sleep(HEDGE_DELAY.multipliedBy(3).toMillis());
+
+        // then
+        assertThat(attempts).hasSize(1);
+    }
+
+    private FdaRequestHedger createHedger(boolean enabled, double budgetBurst) {
+        return new FdaRequestHedger(enabled, 0.95, HEDGE_DELAY, HEDGE_DELAY, 100, 0.1, budgetBurst, meterRegistry);
+    }
+
+    private Supplier<CompletableFuture<String>> call() {
+        return () -> {
+            var attempt = new CompletableFuture<String>();
+            attempts.add(attempt);
+            return attempt;
+        };
+    }
+}
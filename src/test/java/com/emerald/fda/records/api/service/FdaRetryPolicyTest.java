@@ -0,0 +1,204 @@
+package com.emerald.fda.records.api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.hibernate.service.spi.ServiceException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+class FdaRetryPolicyTest {
+    private SimpleMeterRegistry meterRegistry;
+
+    private FdaRetryPolicy retryPolicy;
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (retryPolicy != null) {
+            retryPolicy.shutdown();
+        }
+    }
+
+    @Test
+    void execute_WithTransientFailures_ShouldRetryUntilSuccess() {
+        // given
+        retryPolicy = createRetryPolicy(3, 10);
+
+        // when
+        var result = retryPolicy.execute(() -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new ServiceException("Failed", new SocketTimeoutException("Read timed out"));
+            }
+            return "answer";
+        });
+
+        // then
+        assertThat(result).isEqualTo("answer");
+        assertThat(calls).hasValue(3);
+        assertThat(meterRegistry.get("openfda.retry.attempts").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void execute_WithPersistentFailure_ShouldStopAfterMaxAttempts() {
+        // given
+        retryPolicy = createRetryPolicy(3, 10);
+        var serverError = HttpServerErrorException.create(HttpStatus.BAD_GATEWAY, "Bad Gateway", null, null, null);
+
+        // when & then
+        assertThatThrownBy(() -> retryPolicy.execute(() -> {
+            calls.incrementAndGet();
+            throw new ServiceException("Failed", serverError);
+        })).isInstanceOf(ServiceException.class).hasCause(serverError);
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    void execute_WithClientError_ShouldNotRetry() {
+        // given
+        retryPolicy = createRetryPolicy(3, 10);
+        var notFound = HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null);
+
+        // when & then
+        assertThatThrownBy(() -> retryPolicy.execute(() -> {
+            calls.incrementAndGet();
+            throw new ServiceException("Failed", notFound);
+        })).hasCause(notFound);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void execute_WithTooManyRequests_ShouldRetry() {
+        // given
+        retryPolicy = createRetryPolicy(2, 10);
+        var tooManyRequests = HttpClientErrorException.create(
+                HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", null, null, null);
+
+        // when & then
+        assertThatThrownBy(() -> retryPolicy.execute(() -> {
+            calls.incrementAndGet();
+            throw new ServiceException("Failed", tooManyRequests);
+        })).hasCause(tooManyRequests);
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void execute_WithTooManyRequestsAndRetryAfter_ShouldWaitAtLeastRetryAfter() {
+        // given
+        retryPolicy = new FdaRetryPolicy(2, Duration.ofMillis(1), 2, Duration.ofSeconds(2), 0.5, 0.1, 10,
+                meterRegistry);
+        var tooManyRequests = tooManyRequests("1");
+        long startedAt = System.nanoTime();
+
+        // when
+        var result = retryPolicy.execute(() -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new ServiceException("Failed", tooManyRequests);
+            }
+            return "answer";
+        });
+
+        // then
+        assertThat(result).isEqualTo("answer");
+        assertThat(calls).hasValue(2);
+        assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isGreaterThanOrEqualTo(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void execute_WithTooManyRequestsAndRetryAfterBeyondMaxBackoff_ShouldNotRetry() {
+        // given
+        retryPolicy = createRetryPolicy(3, 10);
+        var tooManyRequests = tooManyRequests("60");
+
+        // when & then
+        assertThatThrownBy(() -> retryPolicy.execute(() -> {
+            calls.incrementAndGet();
+            throw new ServiceException("Failed", tooManyRequests);
+        })).hasCause(tooManyRequests);
+        assertThat(calls).hasValue(1);
+        assertThat(meterRegistry.get("openfda.retry.attempts").counter().count()).isZero();
+    }
+
+    @Test
+    void execute_WithSpentBudget_ShouldNotRetry() {
+        // given
+        retryPolicy = createRetryPolicy(3, 1);
+        Runnable failingCall = () -> retryPolicy.execute(() -> {
+            calls.incrementAndGet();
+            throw new ServiceException("Failed", new SocketTimeoutException("Read timed out"));
+        });
+
+        // when
+        assertThatThrownBy(failingCall::run).isInstanceOf(ServiceException.class);
+        assertThatThrownBy(failingCall::run).isInstanceOf(ServiceException.class);
+
+        // then
+        assertThat(calls).hasValue(3);
+        assertThat(meterRegistry.get("openfda.retry.attempts").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("openfda.retry.budget-exhausted").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void executeAsync_WithTransientFailure_ShouldRetryAfterBackoff() throws Exception {
+        // given
+        retryPolicy = createRetryPolicy(3, 10);
+
+        // when
+        var result = retryPolicy.executeAsync(() -> calls.incrementAndGet() == 1
+                ? CompletableFuture.failedFuture(new ServiceException("Failed", new SocketTimeoutException("Read timed out")))
+                : CompletableFuture.completedFuture("answer"));
+
+        // then
+        assertThat(result.get(1, TimeUnit.SECONDS)).isEqualTo("answer");
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void executeAsync_WithPersistentFailure_ShouldFailWithLastFailure() {
+        // given
+        retryPolicy = createRetryPolicy(2, 10);
+        var serverError = HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE, "Unavailable", null, null, null);
+
+        // when
+        var result = retryPolicy.executeAsync(() -> {
+            calls.incrementAndGet();
+            return CompletableFuture.failedFuture(new ServiceException("Failed", serverError));
+        });
+
+        // then
+        assertThatThrownBy(() -> result.get(1, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .isInstanceOf(ServiceException.class)
+                .hasCause(serverError);
+        assertThat(calls).hasValue(2);
+    }
+
+    private static HttpClientErrorException tooManyRequests(String retryAfter) {
+        var headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, retryAfter);
+        return HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", headers, null, null);
+    }
+
+    private FdaRetryPolicy createRetryPolicy(int maxAttempts, double budgetBurst) {
+        return new FdaRetryPolicy(maxAttempts, Duration.ofMillis(1), 2, Duration.ofMillis(10), 0.5, 0.1, budgetBurst,
+                meterRegistry);
+    }
+}
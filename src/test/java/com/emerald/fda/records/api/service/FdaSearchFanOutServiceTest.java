@@ -0,0 +1,260 @@
+package com.emerald.fda.records.api.service;
+
+import com.emerald.fda.records.api.dto.fda.DrugApplicationResultDto;
+import com.emerald.fda.records.api.dto.fda.FdaResponseDto;
+import com.emerald.fda.records.api.dto.fda.MetaDto;
+import com.emerald.fda.records.api.dto.fda.ResultsMetaDto;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class FdaSearchFanOutServiceTest {
+    private static final int PAGE_SIZE = 10;
+    private static final int MAX_SKIP = 30;
+    private static final int TOTAL = 100;
+
+    @Mock
+    private FdaClientService fdaClientService;
+
+    private FdaSearchFanOutService fanOutService;
+
+    @BeforeEach
+    void setUp() {
+        fanOutService = new FdaSearchFanOutService(fdaClientService, true, PAGE_SIZE, MAX_SKIP, 2, Runnable::run);
+        lenient().when(fdaClientService.buildSearchKey(anyString(), any(), anyInt(), anyInt())).thenAnswer(invocation ->
+                new FdaSearchKey(invocation.getArgument(0), invocation.getArgument(2), invocation.getArgument(3)));
+    }
+
+    @Test
+    void searchDrugApplicationRecords_WithinSingleCall_ShouldPassThrough() {
+        // given
+        var expectedResponse = page(0, 10);
+        when(fdaClientService.searchDrugApplicationRecords("TARO", null, 0, 10)).thenReturn(expectedResponse);
+
+        // when
+        var response = fanOutService.searchDrugApplicationRecords("TARO", null, 0, 10);
+
+        // then
+        assertThat(response).isSameAs(expectedResponse);
+        verify(fdaClientService).searchDrugApplicationRecords("TARO", null, 0, 10);
+        verifyNoMoreInteractions(fdaClientService);
+    }
+
+    @Test
+    void searchDrugApplicationRecords_WithLargeLimit_ShouldMergeParallelPagesInOrder() {
+        // given
+        when(fdaClientService.searchDrugApplicationRecords("TARO", null, 0, 10)).thenReturn(page(0, 10));
+        when(fdaClientService.searchDrugApplicationRecordsAsync(any(FdaSearchKey.class), eq(FdaCallPriority.BULK)))
+                .thenAnswer(invocation -> {
+                    FdaSearchKey key = invocation.getArgument(0);
+                    return CompletableFuture.completedFuture(page(key.skip(), key.limit()));
+                });
+
+        // when
+        var response = fanOutService.searchDrugApplicationRecords("TARO", null, 0, 25);
+
+        // then
+        assertThat(response.meta().results()).isEqualTo(new ResultsMetaDto(0, 25, TOTAL));
+        assertThat(applicationNumbers(response)).isEqualTo(expectedApplicationNumbers(0, 25));
+        verify(fdaClientService).searchDrugApplicationRecordsAsync(new FdaSearchKey("TARO", 10, 10), FdaCallPriority.BULK);
+        verify(fdaClientService).searchDrugApplicationRecordsAsync(new FdaSearchKey("TARO", 20, 5), FdaCallPriority.BULK);
+    }
+
+    @Test
+    void searchDrugApplicationRecords_WithLimitBeyondTotal_ShouldOnlyFetchExistingPages() {
+        // given
+        when(fdaClientService.searchDrugApplicationRecords("TARO", null, 0, 10)).thenReturn(page(0, 10, 15));
+        when(fdaClientService.searchDrugApplicationRecordsAsync(new FdaSearchKey("TARO", 10, 5), FdaCallPriority.BULK))
+                .thenReturn(CompletableFuture.completedFuture(page(10, 5, 15)));
+
+        // when
+        var response = fanOutService.searchDrugApplicationRecords("TARO", null, 0, 1000);
+
+        // then
+        assertThat(response.meta().results()).isEqualTo(new ResultsMetaDto(0, 1000, 15));
+        assertThat(applicationNumbers(response)).isEqualTo(expectedApplicationNumbers(0, 15));
+    }
+
+    @Test
+    void searchDrugApplicationRecords_ShouldBoundConcurrentCalls() throws Exception {
+        // given
+        var pending = new CopyOnWriteArrayList<CompletableFuture<FdaResponseDto>>();
+        when(fdaClientService.searchDrugApplicationRecords("TARO", null, 0, 10)).thenReturn(page(0, 10));
+        when(fdaClientService.searchDrugApplicationRecordsAsync(any(FdaSearchKey.class), eq(FdaCallPriority.BULK)))
+                .thenAnswer(invocation -> {
+                    FdaSearchKey key = invocation.getArgument(0);
+                    var future = new CompletableFuture<FdaResponseDto>();
+                    pending.add(future);
+                    return future.thenApply(ignored -> page(key.skip(), key.limit()));
+                });
+
+        // when
+        var response = CompletableFuture.supplyAsync(
+                () -> fanOutService.searchDrugApplicationRecords("TARO", null, 0, 40));
+
+        // then
+        await().atMost(5, TimeUnit.SECONDS).until(() -> pending.size() == 2);
+        Thread.sleep(100);
+        assertThat(pending).hasSize(2);
+
+        pending.getFirst().complete(null);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> pending.size() == 3);
+        pending.forEach(future -> future.complete(null));
+
+        assertThat(applicationNumbers(response.get(5, TimeUnit.SECONDS))).isEqualTo(expectedApplicationNumbers(0, 40));
+    }
+
+    @Test
+    void searchDrugApplicationRecords_BeyondMaxSkip_ShouldFollowSearchAfterLinks() {
+        // given
+        when(fdaClientService.searchDrugApplicationRecords("TARO", null, 0, 10)).thenReturn(page(0, 10));
+        when(fdaClientService.searchDrugApplicationRecordsAsync(any(FdaSearchKey.class), eq(FdaCallPriority.BULK)))
+                .thenAnswer(invocation -> {
+                    FdaSearchKey key = invocation.getArgument(0);
+                    return CompletableFuture.completedFuture(page(key.skip(), key.limit()));
+                });
+        when(fdaClientService.searchDrugApplicationRecordsPage("TARO", null, MAX_SKIP, PAGE_SIZE))
+                .thenReturn(new FdaSearchPage(page(30, 10), "https://api.fda.gov/drug/drugsfda.json?search_after=40"));
+        when(fdaClientService.searchNextDrugApplicationRecordsPage("https://api.fda.gov/drug/drugsfda.json?search_after=40"))
+                .thenReturn(new FdaSearchPage(page(40, 10), "https://api.fda.gov/drug/drugsfda.json?search_after=50"));
+
+        // when
+        var response = fanOutService.searchDrugApplicationRecords("TARO", null, 0, 45);
+
+        // then
+        assertThat(response.meta().results()).isEqualTo(new ResultsMetaDto(0, 45, TOTAL));
+        assertThat(applicationNumbers(response)).isEqualTo(expectedApplicationNumbers(0, 45));
+        verify(fdaClientService).searchDrugApplicationRecordsAsync(new FdaSearchKey("TARO", 10, 10), FdaCallPriority.BULK);
+        verify(fdaClientService).searchDrugApplicationRecordsAsync(new FdaSearchKey("TARO", 20, 10), FdaCallPriority.BULK);
+        verify(fdaClientService, times(2)).searchDrugApplicationRecordsAsync(any(FdaSearchKey.class), eq(FdaCallPriority.BULK));
+        verify(fdaClientService).searchDrugApplicationRecordsPage("TARO", null, MAX_SKIP, PAGE_SIZE);
+        verify(fdaClientService).searchNextDrugApplicationRecordsPage("https://api.fda.gov/drug/drugsfda.json?search_after=40");
+    }
+
+    @Test
+    void searchDrugApplicationRecords_WhenFirstPageIsDeepestSkipPage_ShouldFollowItsLinkWithoutFetchingItAgain() {
+        // given
+        when(fdaClientService.searchDrugApplicationRecordsPage("TARO", null, 25, PAGE_SIZE))
+                .thenReturn(new FdaSearchPage(page(25, 10), "https://api.fda.gov/drug/drugsfda.json?search_after=35"));
+        when(fdaClientService.searchNextDrugApplicationRecordsPage("https://api.fda.gov/drug/drugsfda.json?search_after=35"))
+                .thenReturn(new FdaSearchPage(page(35, 10), "https://api.fda.gov/drug/drugsfda.json?search_after=45"));
+
+        // when
+        var response = fanOutService.searchDrugApplicationRecords("TARO", null, 25, 20);
+
+        // then
+        assertThat(response.meta().results()).isEqualTo(new ResultsMetaDto(25, 20, TOTAL));
+        assertThat(applicationNumbers(response)).isEqualTo(expectedApplicationNumbers(25, 20));
+        verify(fdaClientService).searchDrugApplicationRecordsPage("TARO", null, 25, PAGE_SIZE);
+        verify(fdaClientService).searchNextDrugApplicationRecordsPage("https://api.fda.gov/drug/drugsfda.json?search_after=35");
+        verifyNoMoreInteractions(fdaClientService);
+    }
+
+    @Test
+    void searchDrugApplicationRecords_WithSkipBeyondMaxSkip_ShouldStartFromDeepestSkipPage() {
+        // given
+        when(fdaClientService.searchDrugApplicationRecordsPage("TARO", null, MAX_SKIP, PAGE_SIZE))
+                .thenReturn(new FdaSearchPage(page(30, 10), "https://api.fda.gov/drug/drugsfda.json?search_after=40"));
+        when(fdaClientService.searchNextDrugApplicationRecordsPage("https://api.fda.gov/drug/drugsfda.json?search_after=40"))
+                .thenReturn(new FdaSearchPage(page(40, 10), null));
+
+        // when
+        var response = fanOutService.searchDrugApplicationRecords("TARO", null, 42, 5);
+
+        // then
+        assertThat(response.meta().results()).isEqualTo(new ResultsMetaDto(42, 5, TOTAL));
+        assertThat(applicationNumbers(response)).isEqualTo(expectedApplicationNumbers(42, 5));
+    }
+
+    @Test
+    void searchDrugApplicationRecordsAsync_WithinSingleCall_ShouldPassThrough() {
+        // given
+        var expectedResponse = page(0, 10);
+        when(fdaClientService.searchDrugApplicationRecordsAsync("TARO", null, 0, 10))
+                .thenReturn(CompletableFuture.completedFuture(expectedResponse));
+
+        // when
+        var response = fanOutService.searchDrugApplicationRecordsAsync("TARO", null, 0, 10);
+
+        // then
+        assertThat(response).isCompletedWithValue(expectedResponse);
+        verify(fdaClientService).searchDrugApplicationRecordsAsync("TARO", null, 0, 10);
+        verifyNoMoreInteractions(fdaClientService);
+    }
+
+    @Test
+    void searchDrugApplicationRecordsAsync_WithLargeLimit_ShouldFanOutLikeSyncSearch() {
+        // given
+        when(fdaClientService.searchDrugApplicationRecords("TARO", null, 0, 10)).thenReturn(page(0, 10));
+        when(fdaClientService.searchDrugApplicationRecordsAsync(any(FdaSearchKey.class), eq(FdaCallPriority.BULK)))
+                .thenAnswer(invocation -> {
+                    FdaSearchKey key = invocation.getArgument(0);
+                    return CompletableFuture.completedFuture(page(key.skip(), key.limit()));
+                });
+
+        // when
+        var response = fanOutService.searchDrugApplicationRecordsAsync("TARO", null, 0, 25).join();
+
+        // then
+        assertThat(response.meta().results()).isEqualTo(new ResultsMetaDto(0, 25, TOTAL));
+        assertThat(applicationNumbers(response)).isEqualTo(expectedApplicationNumbers(0, 25));
+        verify(fdaClientService, never()).searchDrugApplicationRecordsAsync(anyString(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void searchDrugApplicationRecords_WhenDisabled_ShouldPassThrough() {
+        // given
+        fanOutService = new FdaSearchFanOutService(fdaClientService, false, PAGE_SIZE, MAX_SKIP, 2, Runnable::run);
+        var expectedResponse = page(0, 10);
+        when(fdaClientService.searchDrugApplicationRecords("TARO", null, 0, 50)).thenReturn(expectedResponse);
+
+        // when
+        var response = fanOutService.searchDrugApplicationRecords("TARO", null, 0, 50);
+
+        // then
+        assertThat(response).isSameAs(expectedResponse);
+    }
+
+    private static FdaResponseDto page(int skip, int limit) {
+        return page(skip, limit, TOTAL);
+    }
+
+    /**
+     * Builds an OpenFDA page whose results are numbered by their position in the whole result set.
+     */
+    private static FdaResponseDto page(int skip, int limit, int total) {
+        return new FdaResponseDto(
+                new MetaDto(null, null, null, "2025-01-01", new ResultsMetaDto(skip, limit, total)),
+                IntStream.range(skip, Math.min(skip + limit, total))
+                        .mapToObj(position -> new DrugApplicationResultDto(null, "NDA%06d".formatted(position), "TARO", null, null))
+                        .toList());
+    }
+
+    private static List<String> applicationNumbers(FdaResponseDto response) {
+        return response.results().stream().map(DrugApplicationResultDto::application_number).toList();
+    }
+
+    private static List<String> expectedApplicationNumbers(int skip, int limit) {
+        return IntStream.range(skip, skip + limit).mapToObj("NDA%06d"::formatted).toList();
+    }
+}
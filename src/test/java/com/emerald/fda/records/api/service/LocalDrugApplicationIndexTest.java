@@ -0,0 +1,124 @@
+package com.emerald.fda.records.api.service;
+
+import com.emerald.fda.records.api.dto.fda.DrugApplicationResultDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LocalDrugApplicationIndexTest {
+    private static final String DRUGSFDA_JSON = """
+            {
+              "meta": {"disclaimer": "Do not rely on openFDA", "last_updated": "2025-03-18"},
+              "results": [
+                {
+                  "application_number": "ANDA076805",
+                  "openfda": {"manufacturer_name": ["Taro Pharmaceuticals U.S.A., Inc."], "brand_name": ["LORATADINE"],
+                              "substance_name": ["LORATADINE"], "generic_name": ["LORATADINE"]}
+                },
+                {
+                  "application_number": "ANDA020001",
+                  "openfda": {"manufacturer_name": ["Taro Pharmaceuticals U.S.A., Inc."], "brand_name": ["CLOTRIMAZOLE"],
+                              "substance_name": ["CLOTRIMAZOLE"], "generic_name": ["CLOTRIMAZOLE"]}
+                },
+                {
+                  "application_number": "NDA020702",
+                  "openfda": {"manufacturer_name": ["Pfizer Laboratories Div Pfizer Inc"], "brand_name": ["LIPITOR"],
+                              "substance_name": ["ATORVASTATIN CALCIUM TRIHYDRATE"], "generic_name": ["ATORVASTATIN CALCIUM"]}
+                },
+                {
+                  "application_number": "ANDA090001",
+                  "sponsor_name": "NO OPENFDA SECTION"
+                }
+              ]
+            }
+            """;
+
+    @TempDir
+    private Path tempDir;
+
+    private LocalDrugApplicationIndex index;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        var file = tempDir.resolve("drugsfda.json");
+        Files.writeString(file, DRUGSFDA_JSON);
+
+        index = new LocalDrugApplicationIndex(new DrugsFdaFileReader(new ObjectMapper()), "");
+        index.load(file);
+    }
+
+    @Test
+    void search_ByManufacturer_ShouldReturnMatchesOrderedByApplicationNumber() {
+        // when
+        var response = index.search("taro pharmaceuticals", null, 0, 10);
+
+        // then
+        assertThat(response.results()).extracting(DrugApplicationResultDto::application_number)
+                .containsExactly("ANDA020001", "ANDA076805");
+        assertThat(response.meta().results().total()).isEqualTo(2);
+        assertThat(response.meta().last_updated()).isEqualTo("2025-03-18");
+        assertThat(response.meta().disclaimer()).isEqualTo("Do not rely on openFDA");
+    }
+
+    @Test
+    void search_ByManufacturerAndBrand_ShouldIntersectFields() {
+        // when
+        var response = index.search("TARO", "LORATADINE", 0, 10);
+
+        // then
+        assertThat(response.results()).extracting(DrugApplicationResultDto::application_number)
+                .containsExactly("ANDA076805");
+    }
+
+    @Test
+    void search_WithPhraseNotConsecutive_ShouldNotMatch() {
+        // when
+        var response = index.search("pharmaceuticals taro", null, 0, 10);
+
+        // then
+        assertThat(response.results()).isEmpty();
+        assertThat(response.meta().results().total()).isZero();
+    }
+
+    @Test
+    void search_WithSkipAndLimit_ShouldPageResultsAndReportTotal() {
+        // when
+        var response = index.search("taro", null, 1, 1);
+
+        // then
+        assertThat(response.results()).extracting(DrugApplicationResultDto::application_number)
+                .containsExactly("ANDA076805");
+        assertThat(response.meta().results().skip()).isEqualTo(1);
+        assertThat(response.meta().results().limit()).isEqualTo(1);
+        assertThat(response.meta().results().total()).isEqualTo(2);
+    }
+
+    @Test
+    void search_BySubstanceAndGenericName_ShouldMatch() {
+        // when
+        var response = index.search(Map.of(
+                LocalDrugApplicationIndex.Field.SUBSTANCE_NAME, "atorvastatin calcium",
+                LocalDrugApplicationIndex.Field.GENERIC_NAME, "ATORVASTATIN"), 0, 10);
+
+        // then
+        assertThat(response.results()).extracting(DrugApplicationResultDto::application_number)
+                .containsExactly("NDA020702");
+    }
+
+    @Test
+    void search_BeforeLoad_ShouldThrow() {
+        // given
+        var emptyIndex = new LocalDrugApplicationIndex(new DrugsFdaFileReader(new ObjectMapper()), "");
+
+        // then
+        assertThat(emptyIndex.isReady()).isFalse();
+        assertThatThrownBy(() -> emptyIndex.search("TARO", null, 0, 10)).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,92 @@
+package com.emerald.fda.records.api.service;
+
+import com.emerald.fda.records.api.dto.fda.FdaResponseDto;
+import com.emerald.fda.records.api.dto.fda.MetaDto;
+import com.emerald.fda.records.api.dto.fda.ResultsMetaDto;
+import com.emerald.fda.records.api.repository.DrugApplicationRecordVersion;
+import java.time.Instant;
+import java.util.List;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+class ResourceValidatorTest {
+    private static final Instant LAST_MODIFIED = Instant.parse("2025-03-01T10:15:30Z");
+
+    @Test
+    void of_ShouldChangeWithVersionAndLastModified() {
+        // given
+        var version = new DrugApplicationRecordVersion("ANDA076805", 0, LAST_MODIFIED);
+
+        // when
+        var validator = ResourceValidator.of(version);
+
+        // then
+        assertThat(validator).isEqualTo(new ResourceValidator("\"0-1740824130000\"", LAST_MODIFIED));
+        assertThat(ResourceValidator.of(new DrugApplicationRecordVersion("ANDA076805", 1, LAST_MODIFIED)).eTag())
+                .isNotEqualTo(validator.eTag());
+        assertThat(ResourceValidator.of(new DrugApplicationRecordVersion(
+                "ANDA076805", 0, LAST_MODIFIED.plusSeconds(1))).eTag())
+                .isNotEqualTo(validator.eTag());
+    }
+
+    @Test
+    void ofPage_ShouldChangeWithVersionsMembershipAndTotal() {
+        // given
+        var pageable = PageRequest.of(0, 2);
+        var versions = List.of(
+                new DrugApplicationRecordVersion("ANDA000001", 0, LAST_MODIFIED),
+                new DrugApplicationRecordVersion("ANDA000002", 4, LAST_MODIFIED));
+
+        // when
+        var validator = ResourceValidator.ofPage(pageable, versions, 2, LAST_MODIFIED);
+
+        // then
+        assertThat(validator.eTag()).matches("\"[0-9a-f]{32}\"");
+        assertThat(validator.lastModified()).isEqualTo(LAST_MODIFIED);
+        assertThat(ResourceValidator.ofPage(pageable, versions, 2, LAST_MODIFIED)).isEqualTo(validator);
+        assertThat(ResourceValidator.ofPage(pageable, versions, 3, LAST_MODIFIED).eTag())
+                .isNotEqualTo(validator.eTag());
+        assertThat(ResourceValidator.ofPage(pageable, List.of(versions.getFirst(),
+                new DrugApplicationRecordVersion("ANDA000002", 5, LAST_MODIFIED)), 2, LAST_MODIFIED).eTag())
+                .isNotEqualTo(validator.eTag());
+        assertThat(ResourceValidator.ofPage(pageable, List.of(versions.getFirst(),
+                new DrugApplicationRecordVersion("ANDA000002", 4, LAST_MODIFIED.plusSeconds(1))), 2, LAST_MODIFIED)
+                .eTag()).isNotEqualTo(validator.eTag());
+        assertThat(ResourceValidator.ofPage(PageRequest.of(1, 2), versions, 2, LAST_MODIFIED).eTag())
+                .isNotEqualTo(validator.eTag());
+    }
+
+    @Test
+    void ofSearch_ShouldBeWeakAndChangeWithLastUpdatedAndStaleness() {
+        // given
+        var meta = new MetaDto(null, null, null, "2025-03-01", new ResultsMetaDto(0, 10, 1));
+
+        // when
+        var validator = ResourceValidator.ofSearch("TARO", null, 0, 10, new FdaResponseDto(meta, List.of()));
+
+        // then
+        assertThat(validator).isPresent().get().satisfies(value -> {
+            assertThat(value.eTag()).matches("W/\"[0-9a-f]{32}\"");
+            assertThat(value.lastModified()).isNull();
+        });
+        assertThat(ResourceValidator.ofSearch("TARO", null, 0, 10, new FdaResponseDto(
+                new MetaDto(null, null, null, "2025-03-02", meta.results()), List.of())))
+                .get().isNotEqualTo(validator.get());
+        assertThat(ResourceValidator.ofSearch("TARO", null, 0, 10, new FdaResponseDto(meta.asStale(), List.of())))
+                .get().isNotEqualTo(validator.get());
+    }
+
+    @Test
+    void ofSearch_WithoutLastUpdated_ShouldReturnEmpty() {
+        // given
+        var response = new FdaResponseDto(
+                new MetaDto(null, null, null, null, new ResultsMetaDto(0, 10, 1)), List.of());
+
+        // when
+        var validator = ResourceValidator.ofSearch("TARO", null, 0, 10, response);
+
+        // then
+        assertThat(validator).isEmpty();
+    }
+}
@@ -0,0 +1,54 @@
+package com.emerald.fda.records.api.timing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+
+class RequestTimingTest {
+
+    @Test
+    void toHeaderValue_WithStages_ShouldListThemInOrderFollowedByTotal() {
+        // given
+        var timing = RequestTiming.start();
+
+        // when
+        timing.recordDuration("openfda", 182_400_000);
+        timing.recordDuration("db", 1_000_000);
+        timing.recordDuration("db", 2_500_000);
+        timing.mark("cache", "hit");
+
+        // then
+        assertThat(timing.toHeaderValue())
+                .startsWith("openfda;dur=182.4, db;dur=3.5;desc=\"2 calls\", cache;desc=\"hit\", total;dur=");
+    }
+
+    @Test
+    void current_WithoutBoundTiming_ShouldRecordNothing() {
+        // given
+        var timing = RequestTiming.current();
+
+        // when
+        timing.recordDuration("db", 1_000_000);
+
+        // then
+        assertThat(timing.isEnabled()).isFalse();
+        assertThat(timing.now()).isZero();
+        assertThat(timing.toHeaderValue()).startsWith("total;dur=");
+    }
+
+    @Test
+    void bind_ShouldBindUntilClosedThenRestorePreviousTiming() {
+        // given
+        var outer = RequestTiming.start();
+        var inner = RequestTiming.start();
+
+        // when
+        try (var outerScope = outer.bind()) {
+            try (var innerScope = inner.bind()) {
+                // then
+                assertThat(RequestTiming.current()).isSameAs(inner);
+            }
+            assertThat(RequestTiming.current()).isSameAs(outer);
+        }
+        assertThat(RequestTiming.current().isEnabled()).isFalse();
+    }
+}
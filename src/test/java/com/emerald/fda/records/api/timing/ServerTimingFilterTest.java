@@ -0,0 +1,64 @@
+package com.emerald.fda.records.api.timing;
+
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class ServerTimingFilterTest {
+    private final ServerTimingFilter filter = new ServerTimingFilter(1.0);
+
+    @Test
+    void doFilter_WithBodyWritten_ShouldAddHeaderWithStagesRecordedBefore() throws Exception {
+        // given
+        var request = new MockHttpServletRequest("GET", "/v1/drug-application-records/search");
+        var response = new MockHttpServletResponse();
+        var chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                RequestTiming.current().recordDuration("openfda", 5_000_000);
+                resp.getOutputStream().write("{}".getBytes(StandardCharsets.UTF_8));
+                resp.flushBuffer();
+                RequestTiming.current().recordDuration("late", 1_000_000);
+            }
+        });
+
+        // when
+        filter.doFilter(request, response, chain);
+
+        // then
+        assertThat(response.getHeader(ServerTimingFilter.SERVER_TIMING))
+                .startsWith("openfda;dur=5.0, total;dur=")
+                .doesNotContain("late");
+        assertThat(RequestTiming.current().isEnabled()).isFalse();
+    }
+
+    @Test
+    void doFilter_WithoutBody_ShouldAddHeaderAfterChain() throws Exception {
+        // given
+        var request = new MockHttpServletRequest("GET", "/v1/drug-application-records/NDA000001");
+        var response = new MockHttpServletResponse();
+        var chain = new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest req, ServletResponse resp) {
+                RequestTiming.current().recordDuration("db", 2_000_000);
+                ((HttpServletResponse) resp).setStatus(304);
+            }
+        };
+
+        // when
+        filter.doFilter(request, response, chain);
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getHeader(ServerTimingFilter.SERVER_TIMING)).startsWith("db;dur=2.0, total;dur=");
+    }
+}